@@ -0,0 +1,60 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.generators.WorkDataGenerator;
+import com.plamen.employees.generators.WorkDataGeneratorSettings;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Seeded work data for the benchmarks, so every run measures the same input.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+    private static final int DAY_RANGE = 15_000;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates CSV rows with ISO dates with the {@link WorkDataGenerator}.
+     *
+     * @param recordCount  the number of rows
+     * @param projectCount the number of distinct projects
+     * @param skew         the Zipf exponent of the project sizes
+     * @return the rows as {@code EmpID, ProjectID, DateFrom, DateTo}
+     */
+    static List<String[]> createRows(final int recordCount, final int projectCount, final double skew) {
+        final List<String[]> rows = new ArrayList<>(recordCount);
+        new WorkDataGenerator(WorkDataGeneratorSettings.of(recordCount)
+                .withSeed(SEED)
+                .withProjectCount(projectCount)
+                .withProjectSkew(skew))
+                .forEachRow(rows::add);
+        return rows;
+    }
+
+    /**
+     * Formats random dates with the given pattern.
+     *
+     * @param count   the number of dates
+     * @param pattern a {@link DateTimeFormatter} pattern
+     * @return the formatted dates
+     */
+    static String[] createDates(final int count, final String pattern) {
+        final Random random = new Random(SEED);
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH);
+        final String[] dates = new String[count];
+        for (int i = 0; i < count; i++) {
+            dates[i] = formatter.format(FIRST_DAY.plusDays(random.nextInt(DAY_RANGE)));
+        }
+        return dates;
+    }
+}
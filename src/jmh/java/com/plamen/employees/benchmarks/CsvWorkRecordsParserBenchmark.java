@@ -0,0 +1,32 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CsvWorkRecordsParser#createWorkRecords(List)} on rows that are already split into fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CsvWorkRecordsParserBenchmark extends WorkDataState {
+
+    private List<String[]> rows;
+
+    @Setup
+    public void setUp() {
+        rows = createRows();
+    }
+
+    @Benchmark
+    public List<WorkRecord> createWorkRecords() {
+        return CsvWorkRecordsParser.createWorkRecords(rows);
+    }
+}
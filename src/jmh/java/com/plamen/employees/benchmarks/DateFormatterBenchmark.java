@@ -0,0 +1,44 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.dates.DateFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DateFormatter#parseDate(String)} for each supported format. The time is reported per date.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DateFormatterBenchmark {
+
+    private static final int DATE_COUNT = 1024;
+
+    @Param({"yyyy-MM-dd", "dd-MM-yyyy", "yyyy/MM/dd", "dd/MM/yyyy", "dd MMM yyyy", "yyyy MMM dd"})
+    public String pattern;
+
+    private String[] dates;
+
+    @Setup
+    public void setUp() {
+        dates = BenchmarkData.createDates(DATE_COUNT, pattern);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DATE_COUNT)
+    public void parseDate(final Blackhole blackhole) {
+        for (final String date : dates) {
+            blackhole.consume(DateFormatter.parseDate(date));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
+
+/**
+ * Measures selecting the pair with the longest overlap, from the boxed map and from the primitive accumulator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FindMaxPairBenchmark extends WorkDataState {
+
+    private Map<EmployeePair, Long> overlapMap;
+    private PairOverlapAccumulator overlaps;
+
+    @Setup
+    public void setUp() {
+        overlaps = EmployeeOverlapCalculator.computeOverlapAccumulator(
+                CsvWorkRecordsParser.createWorkRecordStore(createRows()), SWEEP_LINE);
+        overlapMap = overlaps.toMap();
+    }
+
+    @Benchmark
+    public Optional<Map.Entry<EmployeePair, Long>> findMaxPairInMap() {
+        return EmployeeOverlapCalculator.findMaxPair(overlapMap);
+    }
+
+    @Benchmark
+    public Optional<Map.Entry<EmployeePair, Long>> findMaxPairInAccumulator() {
+        return overlaps.findMaxPair();
+    }
+}
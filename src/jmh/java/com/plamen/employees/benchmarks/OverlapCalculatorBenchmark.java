@@ -0,0 +1,40 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EmployeeOverlapCalculator#computeOverlaps(List, OverlapEngine)} with both engines.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class OverlapCalculatorBenchmark extends WorkDataState {
+
+    @Param({"PAIRWISE", "SWEEP_LINE"})
+    public OverlapEngine engine;
+
+    private List<WorkRecord> records;
+
+    @Setup
+    public void setUp() {
+        records = CsvWorkRecordsParser.createWorkRecords(createRows());
+    }
+
+    @Benchmark
+    public Map<EmployeePair, Long> computeOverlaps() {
+        return EmployeeOverlapCalculator.computeOverlaps(records, engine);
+    }
+}
@@ -0,0 +1,42 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.calculators.ParallelOverlapCalculator;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
+
+/**
+ * Measures the overlaps of all projects computed sequentially and concurrently. With skewed project sizes the
+ * concurrent computation relies on splitting the biggest projects into tiles.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ParallelOverlapBenchmark extends WorkDataState {
+
+    private WorkRecordStore store;
+
+    @Setup
+    public void setUp() {
+        store = CsvWorkRecordsParser.createWorkRecordStore(createRows());
+    }
+
+    @Benchmark
+    public PairOverlapAccumulator computeSequentially() {
+        return EmployeeOverlapCalculator.computeOverlapAccumulator(store, SWEEP_LINE);
+    }
+
+    @Benchmark
+    public PairOverlapAccumulator computeConcurrently() {
+        return ParallelOverlapCalculator.computeOverlapAccumulator(store, SWEEP_LINE);
+    }
+}
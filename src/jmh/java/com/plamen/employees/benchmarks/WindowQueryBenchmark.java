@@ -0,0 +1,57 @@
+package com.plamen.employees.benchmarks;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.indexes.WindowOverlapIndex;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
+
+/**
+ * Measures the overlaps within a 90-day window, from the window index and by clipping and recomputing all records.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WindowQueryBenchmark extends WorkDataState {
+
+    private static final int WINDOW_FROM = WorkRecordStore.toEpochDay(LocalDate.of(2010, 1, 1));
+    private static final int WINDOW_TO = WorkRecordStore.toEpochDay(LocalDate.of(2010, 3, 31));
+
+    private WorkRecordStore store;
+    private WindowOverlapIndex index;
+
+    @Setup
+    public void setUp() {
+        store = CsvWorkRecordsParser.createWorkRecordStore(createRows());
+        index = WindowOverlapIndex.of(store);
+    }
+
+    @Benchmark
+    public PairOverlapAccumulator queryWindowIndex() {
+        final PairOverlapAccumulator overlaps = new PairOverlapAccumulator();
+        index.computeOverlaps(WINDOW_FROM, WINDOW_TO, overlaps);
+        return overlaps;
+    }
+
+    @Benchmark
+    public PairOverlapAccumulator clipAndRecompute() {
+        final WorkRecordStore.Builder clipped = WorkRecordStore.builder(store.size());
+        for (int i = 0; i < store.size(); i++) {
+            final int from = Math.max(store.fromEpochDay(i), WINDOW_FROM);
+            final int to = Math.min(store.toEpochDay(i), WINDOW_TO);
+            if (to >= from) {
+                clipped.accept(store.empId(i), store.projectId(i), from, to);
+            }
+        }
+        return EmployeeOverlapCalculator.computeOverlapAccumulator(clipped.build(), SWEEP_LINE);
+    }
+}
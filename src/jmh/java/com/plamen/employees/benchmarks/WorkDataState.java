@@ -0,0 +1,31 @@
+package com.plamen.employees.benchmarks;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * The input shape shared by the pipeline benchmarks: how many records, over how many projects, and how skewed the
+ * project sizes are.
+ */
+@State(Scope.Benchmark)
+public class WorkDataState {
+
+    @Param({"10000", "50000"})
+    public int recordCount;
+
+    @Param({"10", "1000"})
+    public int projectCount;
+
+    @Param({"0.0", "1.2"})
+    public double skew;
+
+    /**
+     * @return the CSV rows of this input shape
+     */
+    protected List<String[]> createRows() {
+        return BenchmarkData.createRows(recordCount, projectCount, skew);
+    }
+}
@@ -1,36 +1,233 @@
 package com.plamen.employees;
 
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.SpillingPairOverlapAccumulator;
+import com.plamen.employees.caches.ResultCache;
+import com.plamen.employees.calculators.ApproximateOverlapCalculator;
+import com.plamen.employees.calculators.ParallelOverlapCalculator;
+import com.plamen.employees.dto.ApproximateOverlapResult;
+import com.plamen.employees.dto.ApproximatePairOverlap;
+import com.plamen.employees.dto.CoalesceResult;
 import com.plamen.employees.dto.EmployeePair;
-import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.dto.FileLoadError;
+import com.plamen.employees.dto.WorkDataLoadResult;
+import com.plamen.employees.loaders.WorkDataLoader;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.normalizers.IntervalCoalescer;
+import com.plamen.employees.readers.WorkDataFiles;
 import com.plamen.employees.registries.FileWorkDataParserRegistry;
+import com.plamen.employees.servers.OverlapQueryServer;
+import com.plamen.employees.stores.WorkRecordStore;
+import com.plamen.employees.workers.PartitionedOverlapCoordinator;
+import com.plamen.employees.writers.BinaryWorkDataWriter;
 
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
+import static com.plamen.employees.calculators.EmployeeOverlapCalculator.computeOverlapAccumulator;
 import static com.plamen.employees.calculators.EmployeeOverlapCalculator.computeOverlaps;
-import static com.plamen.employees.calculators.EmployeeOverlapCalculator.findMaxPair;
-import static com.plamen.employees.enums.FileWorkDataType.CSV;
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
 
 public class Application {
 
+    /**
+     * The exit status when none of the input files could be loaded.
+     */
+    static final int EXIT_NO_INPUT = 1;
+
+    /**
+     * The exit status when the result was printed, but some of the input files could not be loaded.
+     */
+    static final int EXIT_PARTIAL_INPUT = 2;
+
     public static void main(final String[] args) {
+        final int status = run(args);
+        if (status != 0) {
+            System.exit(status);
+        }
+    }
+
+    /**
+     * Runs the application without exiting the JVM.
+     *
+     * @param args the command line arguments
+     * @return {@code 0} on success, otherwise {@link #EXIT_NO_INPUT} or {@link #EXIT_PARTIAL_INPUT}
+     */
+    static int run(final String[] args) {
+        final ApplicationOptions options = ApplicationOptions.parse(args);
 
         final FileWorkDataParserRegistry fileWorkDataParserRegistry = new FileWorkDataParserRegistry();
 
-        final List<WorkRecord> records =
-                fileWorkDataParserRegistry.getFileWorkDataParser(CSV).getWorkRecords("work-data.csv");
+        if (options.metrics()) {
+            PipelineMetrics.enable();
+        }
+
+        if (options.serverPort() > 0) {
+            final OverlapQueryServer server = OverlapQueryServer.start(new InetSocketAddress(options.serverPort()),
+                    () -> coalesce(loadRecords(fileWorkDataParserRegistry, options).records(), options));
+            Runtime.getRuntime().addShutdownHook(Thread.ofPlatform().unstarted(server::close));
+            System.out.println("Serving overlap queries on port " + server.getPort());
+            return 0;
+        }
+
+        final ResultCache cache = options.cacheDirectory() == null
+                ? null
+                : new ResultCache(Path.of(options.cacheDirectory()), options.cacheSizeMb() * 1024L * 1024L);
+        final String cacheKey = cache == null ? null : PipelineMetrics.time("fingerprint", () -> getCacheKey(options));
+        final Optional<List<Map.Entry<EmployeePair, Long>>> cachedPairs =
+                cache == null ? Optional.empty() : cache.get(cacheKey);
+        if (cachedPairs.isPresent()) {
+            System.err.println("Loaded the result from the cache.");
+            printTopPairs(cachedPairs.get(), options);
+            return 0;
+        }
+
+        final WorkDataLoadResult loadResult =
+                PipelineMetrics.time("load", () -> loadRecords(fileWorkDataParserRegistry, options));
+        WorkRecordStore records = loadResult.records();
+        if (loadResult.hasErrors() && records.isEmpty()) {
+            // Answering "no overlaps" would hide that there was nothing to compute them from
+            System.err.println("None of the input files could be loaded.");
+            return EXIT_NO_INPUT;
+        }
+        final int status = loadResult.hasErrors() ? EXIT_PARTIAL_INPUT : 0;
+
+        if (options.binaryFileName() != null) {
+            final WorkRecordStore loaded = records;
+            PipelineMetrics.time("write binary",
+                    () -> BinaryWorkDataWriter.write(loaded, Path.of(options.binaryFileName())));
+        }
+
+        records = coalesce(records, options);
+
+        if (options.sketchCapacity() > 0) {
+            printApproximateTopPairs(records, options);
+            return status;
+        }
+
+        final List<Map.Entry<EmployeePair, Long>> topPairs = findTopPairs(records, options);
 
-        final Map<EmployeePair, Long> overlaps = computeOverlaps(records);
-        final var optionalMaxPair = findMaxPair(overlaps);
+        // A partial input must not answer a later run in which all files can be read
+        if (cache != null && !loadResult.hasErrors()) {
+            cache.put(cacheKey, topPairs);
+        }
+
+        printTopPairs(topPairs, options);
+        return status;
+    }
 
-        if (optionalMaxPair.isPresent()) {
-            final var maxPair = optionalMaxPair.get();
+    private static void printTopPairs(final List<Map.Entry<EmployeePair, Long>> topPairs,
+                                      final ApplicationOptions options) {
+        if (topPairs.isEmpty()) {
+            System.out.println("No overlapping work periods found.");
+        }
+        for (final Map.Entry<EmployeePair, Long> pair : topPairs) {
             System.out.printf("%d, %d, %d%n",
-                    maxPair.getKey().emp1(),
-                    maxPair.getKey().emp2(),
-                    maxPair.getValue());
-        } else {
+                    pair.getKey().emp1(),
+                    pair.getKey().emp2(),
+                    pair.getValue());
+        }
+
+        if (options.metrics()) {
+            System.err.print(PipelineMetrics.getSummary());
+        }
+    }
+
+    /**
+     * Fingerprints the input files together with every option that changes their top pairs, including the date that
+     * open-ended periods are resolved to.
+     */
+    private static String getCacheKey(final ApplicationOptions options) {
+        final List<String> files = options.fileNames().stream()
+                .flatMap(location -> WorkDataFiles.expand(location).stream())
+                .toList();
+        final String parameters = "type=" + options.fileType()
+                + ";top=" + options.top()
+                + ";coalesce=" + options.coalesce()
+                + ";today=" + LocalDate.now();
+        return ResultCache.fingerprint(files, parameters);
+    }
+
+    private static WorkDataLoadResult loadRecords(final FileWorkDataParserRegistry fileWorkDataParserRegistry,
+                                                  final ApplicationOptions options) {
+        final WorkDataLoadResult loadResult =
+                new WorkDataLoader(fileWorkDataParserRegistry.getFileWorkDataParser(options.fileType()))
+                        .load(options.fileNames());
+        for (final FileLoadError error : loadResult.errors()) {
+            System.err.println("Could not load " + error.describe());
+        }
+        return loadResult;
+    }
+
+    private static WorkRecordStore coalesce(final WorkRecordStore records, final ApplicationOptions options) {
+        if (!options.coalesce()) {
+            return records;
+        }
+
+        final CoalesceResult coalesceResult =
+                PipelineMetrics.time("coalesce", () -> IntervalCoalescer.coalesce(records));
+        System.err.printf("Merged %d of %d records.%n", coalesceResult.mergedRecords(), records.size());
+        return coalesceResult.records();
+    }
+
+    private static void printApproximateTopPairs(final WorkRecordStore records, final ApplicationOptions options) {
+        final int capacity = options.sketchCapacity();
+        final ApproximateOverlapResult result = PipelineMetrics.time("compute overlaps", () -> options.exactRecount()
+                ? ApproximateOverlapCalculator.findExactTopPairs(records, SWEEP_LINE, capacity, options.top())
+                : ApproximateOverlapCalculator.findTopPairs(records, SWEEP_LINE, capacity, options.top()));
+
+        if (result.pairs().isEmpty()) {
             System.out.println("No overlapping work periods found.");
         }
+        for (final ApproximatePairOverlap pair : result.pairs()) {
+            System.out.printf("%d, %d, %d%n", pair.pair().emp1(), pair.pair().emp2(), pair.estimatedDays());
+        }
+        if (result.exact()) {
+            System.err.println("The result is exact.");
+        } else {
+            System.err.printf("Totals may be overestimated by up to %d days; pairs not listed have at most %d days.%n",
+                    result.pairs().stream().mapToLong(ApproximatePairOverlap::maxError).max().orElse(0L),
+                    result.maxError());
+        }
+
+        if (options.metrics()) {
+            System.err.print(PipelineMetrics.getSummary());
+        }
+    }
+
+    private static List<Map.Entry<EmployeePair, Long>> findTopPairs(final WorkRecordStore records,
+                                                                    final ApplicationOptions options) {
+        if (options.workers() > 0) {
+            return PipelineMetrics.time("compute overlaps", () -> PartitionedOverlapCoordinator.findTopPairs(
+                    records, SWEEP_LINE, options.workers(), options.workerHeapMb(), options.top()));
+        }
+
+        if (options.memoryBudgetMb() == 0) {
+            final PairOverlapAccumulator overlaps =
+                    PipelineMetrics.time("compute overlaps", () -> computeInProcess(records, options));
+            PipelineMetrics.recordPairCount(overlaps.size());
+            return PipelineMetrics.time("select top pairs", () -> overlaps.findTopPairs(options.top()));
+        }
+
+        try (SpillingPairOverlapAccumulator overlaps =
+                     new SpillingPairOverlapAccumulator(options.memoryBudgetMb() * 1024L * 1024L)) {
+            PipelineMetrics.time("compute overlaps", () -> computeOverlaps(records, SWEEP_LINE, overlaps));
+            return PipelineMetrics.time("select top pairs", () -> overlaps.findTopPairs(options.top()));
+        }
+    }
+
+    private static PairOverlapAccumulator computeInProcess(final WorkRecordStore records,
+                                                           final ApplicationOptions options) {
+        if (options.threads() == 0) {
+            return computeOverlapAccumulator(records, SWEEP_LINE);
+        }
+        try (ForkJoinPool pool = new ForkJoinPool(options.threads())) {
+            return ParallelOverlapCalculator.computeOverlapAccumulator(records, SWEEP_LINE, pool);
+        }
     }
 }
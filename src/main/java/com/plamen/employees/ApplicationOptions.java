@@ -0,0 +1,193 @@
+package com.plamen.employees;
+
+import com.plamen.employees.enums.FileWorkDataType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The command line options of {@link Application}.
+ * <p>
+ * Options are passed as {@code --name=value}, e.g. {@code --file=work-data.csv --top=10}. The {@code --file} option
+ * may be given several times.
+ *
+ * @param fileNames      the work data to read: classpath resources, filesystem paths, directories or glob patterns
+ * @param fileType       the format of the work data file
+ * @param top            the number of pairs with the longest overlap to print
+ * @param binaryFileName the file to write the parsed records to as a binary snapshot, or {@code null} to not write one
+ * @param memoryBudgetMb the megabytes the pair totals may use before they are spilled to disk, or {@code 0} to keep
+ *                       them in memory
+ * @param coalesce       whether to merge the overlapping and adjacent periods of each employee on each project first
+ * @param serverPort     the port to serve overlap queries on, or {@code 0} to print the result and exit
+ * @param metrics        whether to print the timings and counters of the pipeline at the end of the run
+ * @param sketchCapacity the number of pairs to estimate the top pairs with in bounded memory, or {@code 0} to sum
+ *                       all pairs exactly
+ * @param exactRecount   whether to recount the estimated top pairs exactly in a second pass over the records
+ * @param threads        the number of threads to compute the overlaps of the projects on, or {@code 0} to compute
+ *                       them on the calling thread
+ * @param workers        the number of worker processes to compute the overlaps in, or {@code 0} to compute them in
+ *                       this process
+ * @param workerHeapMb   the maximum heap of every worker process in megabytes, or {@code 0} to share the maximum
+ *                       heap of this process equally between the workers
+ * @param cacheDirectory the directory to reuse the results of earlier runs on the same input from, or {@code null}
+ *                       to always compute them
+ * @param cacheSizeMb    the megabytes the cached results may use before the least recently used ones are deleted
+ */
+public record ApplicationOptions(List<String> fileNames, FileWorkDataType fileType, int top, String binaryFileName,
+                                 int memoryBudgetMb, boolean coalesce, int serverPort,
+                                 boolean metrics, int sketchCapacity, boolean exactRecount, int threads,
+                                 int workers, int workerHeapMb, String cacheDirectory, int cacheSizeMb) {
+
+    private static final String DEFAULT_FILE_NAME = "work-data.csv";
+    private static final FileWorkDataType DEFAULT_FILE_TYPE = FileWorkDataType.CSV;
+    private static final int DEFAULT_TOP = 1;
+    private static final int DEFAULT_CACHE_SIZE_MB = 64;
+
+    static final String USAGE = """
+            Usage: Application [options]
+              --file=<file>          a work data file, directory or glob pattern to read (default: work-data.csv)
+              --type=<type>          the format of the file: csv, mapped_csv, parallel_csv or binary
+                                     (default: csv)
+              --top=<k>              print the k pairs with the longest overlap (default: 1)
+              --write-binary=<file>  also save the parsed records as a binary snapshot
+              --memory-budget=<mb>   spill the pair totals to disk beyond this many megabytes
+              --coalesce             merge overlapping periods of an employee on a project first
+              --serve=<port>         keep running and answer overlap queries over HTTP on this port
+              --metrics              print the time per phase and the pipeline counters at the end
+              --approximate=<pairs>  estimate the top pairs in memory for this many pairs only
+              --exact-recount        recount the approximate candidates exactly in a second pass
+              --threads=<n>          compute the projects concurrently on n threads of this process
+              --workers=<n>          compute the overlaps in n worker processes, partitioned by project
+              --worker-heap=<mb>     the maximum heap of every worker process
+                                     (default: the heap of this process divided by the workers)
+              --cache=<dir>          reuse the result of an earlier run on the same input from this directory
+              --cache-size=<mb>      delete the least recently used cached results beyond this size
+                                     (default: 64)""";
+
+    /**
+     * Parses the command line arguments.
+     *
+     * @param args the command line arguments
+     * @return the parsed options, with defaults for the options that are not given
+     * @throws IllegalArgumentException if an argument is unknown or has an invalid value
+     */
+    public static ApplicationOptions parse(final String[] args) {
+        final List<String> fileNames = new ArrayList<>();
+        FileWorkDataType fileType = DEFAULT_FILE_TYPE;
+        int top = DEFAULT_TOP;
+        String binaryFileName = null;
+        int memoryBudgetMb = 0;
+        boolean coalesce = false;
+        int serverPort = 0;
+        boolean metrics = false;
+        int sketchCapacity = 0;
+        boolean exactRecount = false;
+        int threads = 0;
+        int workers = 0;
+        int workerHeapMb = 0;
+        String cacheDirectory = null;
+        int cacheSizeMb = DEFAULT_CACHE_SIZE_MB;
+
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            final String name = separator < 0 ? arg : arg.substring(0, separator);
+            final String value = separator < 0 ? "" : arg.substring(separator + 1);
+
+            switch (name) {
+                case "--file" -> fileNames.add(requireValue(name, value));
+                case "--type" -> fileType = parseFileType(name, value);
+                case "--top" -> top = parsePositiveInt(name, value);
+                case "--write-binary" -> binaryFileName = requireValue(name, value);
+                case "--memory-budget" -> memoryBudgetMb = parsePositiveInt(name, value);
+                case "--coalesce" -> coalesce = parseFlag(name, value);
+                case "--serve" -> serverPort = parsePort(name, value);
+                case "--metrics" -> metrics = parseFlag(name, value);
+                case "--approximate" -> sketchCapacity = parsePositiveInt(name, value);
+                case "--exact-recount" -> exactRecount = parseFlag(name, value);
+                case "--threads" -> threads = parsePositiveInt(name, value);
+                case "--workers" -> workers = parsePositiveInt(name, value);
+                case "--worker-heap" -> workerHeapMb = parsePositiveInt(name, value);
+                case "--cache" -> cacheDirectory = requireValue(name, value);
+                case "--cache-size" -> cacheSizeMb = parsePositiveInt(name, value);
+                default -> throw new IllegalArgumentException(
+                        "Unknown option: " + arg + System.lineSeparator() + USAGE);
+            }
+        }
+        if (sketchCapacity > 0 && sketchCapacity < top) {
+            throw new IllegalArgumentException("Option --approximate must be at least --top: " + sketchCapacity);
+        }
+        if (exactRecount && sketchCapacity == 0) {
+            throw new IllegalArgumentException("Option --exact-recount requires --approximate");
+        }
+        if (workers > 0 && (sketchCapacity > 0 || memoryBudgetMb > 0 || metrics)) {
+            // The pipeline counters of the workers stay in their own processes
+            throw new IllegalArgumentException(
+                    "Option --workers cannot be combined with --approximate, --memory-budget or --metrics");
+        }
+        if (threads > 0 && (workers > 0 || sketchCapacity > 0 || memoryBudgetMb > 0 || serverPort > 0)) {
+            throw new IllegalArgumentException(
+                    "Option --threads cannot be combined with --workers, --approximate, --memory-budget or --serve");
+        }
+        if (workerHeapMb > 0 && workers == 0) {
+            throw new IllegalArgumentException("Option --worker-heap requires --workers");
+        }
+        if (cacheDirectory != null && (sketchCapacity > 0 || serverPort > 0 || binaryFileName != null)) {
+            throw new IllegalArgumentException(
+                    "Option --cache cannot be combined with --approximate, --serve or --write-binary");
+        }
+        if (fileNames.isEmpty()) {
+            fileNames.add(DEFAULT_FILE_NAME);
+        }
+        return new ApplicationOptions(List.copyOf(fileNames), fileType, top, binaryFileName, memoryBudgetMb,
+                coalesce, serverPort, metrics, sketchCapacity, exactRecount, threads, workers, workerHeapMb,
+                cacheDirectory, cacheSizeMb);
+    }
+
+    private static String requireValue(final String name, final String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Missing value for option: " + name);
+        }
+        return value;
+    }
+
+    private static FileWorkDataType parseFileType(final String name, final String value) {
+        try {
+            return FileWorkDataType.valueOf(requireValue(name, value).toUpperCase(Locale.ROOT));
+        }
+        catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException("Option " + name + " must be one of "
+                    + Arrays.toString(FileWorkDataType.values()).toLowerCase(Locale.ROOT) + ": " + value);
+        }
+    }
+
+    private static boolean parseFlag(final String name, final String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "", "true" -> true;
+            case "false" -> false;
+            default -> throw new IllegalArgumentException("Option " + name + " must be true or false: " + value);
+        };
+    }
+
+    private static int parsePort(final String name, final String value) {
+        final int port = parsePositiveInt(name, value);
+        if (port > 65535) {
+            throw new IllegalArgumentException("Option " + name + " must be a port number: " + value);
+        }
+        return port;
+    }
+
+    private static int parsePositiveInt(final String name, final String value) {
+        try {
+            final int parsed = Integer.parseInt(requireValue(name, value));
+            if (parsed > 0) {
+                return parsed;
+            }
+        }
+        catch (final NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Option " + name + " must be a positive number: " + value);
+    }
+}
@@ -0,0 +1,305 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.EmployeePair;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * An open-addressing hash map from a pair of employees to their total overlapping days.
+ * <p>
+ * The ordered pair of employee IDs is packed into a single {@code long} key, and the totals are kept in a
+ * {@code long[]}, so adding an overlap allocates nothing. Both employee IDs must therefore fit into an {@code int}.
+ * <p>
+ * The key {@code 0} would be the pair of employee {@code 0} with itself, which can never overlap, so it marks an
+ * empty slot. This class is not thread-safe.
+ */
+public class PairOverlapAccumulator implements PairOverlapConsumer {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final double LOAD_FACTOR = 0.7;
+
+    private long[] keys;
+    private long[] days;
+    private int size;
+    private int threshold;
+
+    public PairOverlapAccumulator() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedPairs the number of pairs the accumulator should hold before it has to grow
+     */
+    public PairOverlapAccumulator(final int expectedPairs) {
+        allocate(tableSizeFor((long) Math.ceil(Math.max(expectedPairs, 1) / LOAD_FACTOR)));
+    }
+
+    /**
+     * Adds overlapping days to the total of a pair of employees. The order of the employees does not matter.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the number of overlapping days to add
+     * @throws IllegalArgumentException if the IDs are equal or do not fit into an {@code int}
+     */
+    @Override
+    public void accept(final long emp1, final long emp2, final long days) {
+        add(pairKey(emp1, emp2), days);
+    }
+
+    /**
+     * Adds overlapping days to the total of a pair of employees and returns the new total.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the number of overlapping days to add
+     * @return the total overlapping days of the pair after the addition
+     * @throws IllegalArgumentException if the IDs are equal or do not fit into an {@code int}
+     */
+    public long addAndGet(final long emp1, final long emp2, final long days) {
+        return add(pairKey(emp1, emp2), days);
+    }
+
+    /**
+     * Returns the total overlapping days of a pair of employees. The order of the employees does not matter.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @return the total overlapping days, or {@code 0} if the pair has never overlapped
+     */
+    public long get(final long emp1, final long emp2) {
+        if (emp1 == emp2 || !fitsInInt(emp1) || !fitsInInt(emp2)) {
+            return 0L;
+        }
+        return getByKey(pairKey(emp1, emp2));
+    }
+
+    /**
+     * @return the number of distinct pairs in the accumulator
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every pair and its total overlapping days to the given consumer, in no particular order. The first
+     * employee ID is always the smaller one.
+     *
+     * @param consumer the consumer that receives the pairs
+     */
+    public void forEach(final PairOverlapConsumer consumer) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            final long key = keys[slot];
+            if (key != EMPTY_KEY) {
+                consumer.accept(firstEmployee(key), secondEmployee(key), days[slot]);
+            }
+        }
+    }
+
+    /**
+     * Adds the totals of another accumulator to this one.
+     *
+     * @param other the accumulator whose totals are added
+     */
+    public void addAll(final PairOverlapAccumulator other) {
+        // Growing first keeps the table at its load factor. Otherwise the other keys, visited in slot order, would
+        // crowd into one region of the table before it grows and make the probe sequences there very long.
+        final long combinedSize = (long) size + other.size;
+        if (combinedSize > threshold) {
+            rehash(tableSizeFor((long) Math.ceil(combinedSize / LOAD_FACTOR)));
+        }
+        final long[] otherKeys = other.keys;
+        final long[] otherDays = other.days;
+        for (int slot = 0; slot < otherKeys.length; slot++) {
+            if (otherKeys[slot] != EMPTY_KEY) {
+                add(otherKeys[slot], otherDays[slot]);
+            }
+        }
+    }
+
+    /**
+     * Copies the totals into a boxed map, as returned by
+     * {@link com.plamen.employees.calculators.EmployeeOverlapCalculator#computeOverlaps}.
+     *
+     * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
+     */
+    public Map<EmployeePair, Long> toMap() {
+        final Map<EmployeePair, Long> overlapMap = HashMap.newHashMap(size);
+        forEach((emp1, emp2, total) -> overlapMap.put(new EmployeePair(emp1, emp2), total));
+        return overlapMap;
+    }
+
+    /**
+     * Finds the employee pair with the maximum total overlap duration. Ties are resolved in favour of the pair with
+     * the smallest employee IDs.
+     *
+     * @return an {@link Optional} containing the pair with the longest overlap, or empty if there are no pairs
+     */
+    public Optional<Map.Entry<EmployeePair, Long>> findMaxPair() {
+        int maxSlot = -1;
+        for (int slot = 0; slot < keys.length; slot++) {
+            final long key = keys[slot];
+            if (key != EMPTY_KEY && (maxSlot < 0 || days[slot] > days[maxSlot]
+                    || (days[slot] == days[maxSlot] && compareKeys(key, keys[maxSlot]) < 0))) {
+                maxSlot = slot;
+            }
+        }
+        if (maxSlot < 0) {
+            return Optional.empty();
+        }
+        final long key = keys[maxSlot];
+        return Optional.of(Map.entry(new EmployeePair(firstEmployee(key), secondEmployee(key)), days[maxSlot]));
+    }
+
+    /**
+     * Finds the pairs with the longest total overlap, see {@link TopPairSelector}.
+     *
+     * @param k the maximum number of pairs to return
+     * @return up to {@code k} pairs, longest overlap first
+     */
+    public List<Map.Entry<EmployeePair, Long>> findTopPairs(final int k) {
+        final TopPairSelector selector = new TopPairSelector(k);
+        forEach(selector);
+        return selector.getTopPairs();
+    }
+
+    /**
+     * Returns the keys of all pairs, sorted with {@link #compareKeys(long, long)}.
+     */
+    long[] sortedKeys() {
+        final long[] sortedKeys = new long[size];
+        int count = 0;
+        for (final long key : keys) {
+            if (key != EMPTY_KEY) {
+                sortedKeys[count++] = key ^ 0x80000000L;
+            }
+        }
+        Arrays.sort(sortedKeys);
+        for (int i = 0; i < count; i++) {
+            sortedKeys[i] ^= 0x80000000L;
+        }
+        return sortedKeys;
+    }
+
+    /**
+     * Returns the total of a packed key, or {@code 0} if the pair is not in the accumulator.
+     */
+    long getByKey(final long key) {
+        final int slot = findSlot(key);
+        return keys[slot] == EMPTY_KEY ? 0L : days[slot];
+    }
+
+    /**
+     * Removes all pairs but keeps the allocated table.
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY_KEY);
+        size = 0;
+    }
+
+    /**
+     * Compares two keys by their first and then by their second employee ID.
+     */
+    static int compareKeys(final long key1, final long key2) {
+        // Flipping the sign bit of the lower half makes the signed second IDs compare correctly
+        return Long.compare(key1 ^ 0x80000000L, key2 ^ 0x80000000L);
+    }
+
+    /**
+     * Packs a pair of employee IDs into a single key, with the smaller ID in the upper half.
+     */
+    static long pairKey(final long emp1, final long emp2) {
+        if (!fitsInInt(emp1) || !fitsInInt(emp2)) {
+            throw new IllegalArgumentException("Employee IDs must fit into an int: " + emp1 + ", " + emp2);
+        }
+        if (emp1 == emp2) {
+            throw new IllegalArgumentException("An employee cannot be paired with itself: " + emp1);
+        }
+        final long first = Math.min(emp1, emp2);
+        final long second = Math.max(emp1, emp2);
+        return (first << 32) | (second & 0xFFFFFFFFL);
+    }
+
+    static long firstEmployee(final long key) {
+        return key >> 32;
+    }
+
+    static long secondEmployee(final long key) {
+        return (int) key;
+    }
+
+    private long add(final long key, final long value) {
+        final int slot = findSlot(key);
+        if (keys[slot] != EMPTY_KEY) {
+            return days[slot] += value;
+        }
+
+        keys[slot] = key;
+        days[slot] = value;
+        if (++size > threshold) {
+            rehash(keys.length * 2);
+        }
+        return value;
+    }
+
+    private int findSlot(final long key) {
+        final int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        final long[] oldKeys = keys;
+        final long[] oldDays = days;
+        allocate(capacity);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY_KEY) {
+                final int newSlot = findSlot(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                days[newSlot] = oldDays[slot];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        days = new long[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int tableSizeFor(final long capacity) {
+        final long size = Long.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        if (size > 1 << 30) {
+            throw new IllegalArgumentException("Too many pairs for a single accumulator: " + capacity);
+        }
+        return (int) size;
+    }
+
+    private static boolean fitsInInt(final long value) {
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+    /**
+     * The finalisation step of MurmurHash3, which spreads the bits of both employee IDs over the whole slot index.
+     */
+    static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,18 @@
+package com.plamen.employees.accumulators;
+
+/**
+ * Receives the overlapping days of a pair of employees without boxing the employee IDs or the number of days.
+ */
+@FunctionalInterface
+public interface PairOverlapConsumer {
+
+    /**
+     * Accepts the overlapping days of a pair of employees.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the number of overlapping days
+     */
+    void accept(long emp1, long emp2, long days);
+
+}
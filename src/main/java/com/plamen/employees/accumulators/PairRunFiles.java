@@ -0,0 +1,165 @@
+package com.plamen.employees.accumulators;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Utility class for run files: sorted partial pair totals on disk that can be merged into final totals.
+ * <p>
+ * A run file is a sequence of {@code (key, days)} pairs of {@code long}s, sorted by the packed pair key of
+ * {@link PairOverlapAccumulator}, with every key at most once. Any number of runs can be merged in a single streaming
+ * pass, which only keeps one buffered reader per run in memory.
+ */
+public class PairRunFiles {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * Writes the totals of an accumulator to a run file, replacing the file if it exists.
+     *
+     * @param accumulator the totals to write
+     * @param path        the run file to write
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void write(final PairOverlapAccumulator accumulator, final Path path) {
+        try (DataOutputStream output = openOutput(path)) {
+            for (final long key : accumulator.sortedKeys()) {
+                output.writeLong(key);
+                output.writeLong(accumulator.getByKey(key));
+            }
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write run file: " + path, e);
+        }
+    }
+
+    /**
+     * Merges run files and passes the summed total of every pair to the consumer, ordered by the first and then the
+     * second employee ID.
+     *
+     * @param runs     the run files to merge
+     * @param consumer the consumer that receives the final totals
+     * @throws UncheckedIOException if a run file cannot be read
+     */
+    public static void merge(final List<Path> runs, final PairOverlapConsumer consumer) {
+        mergeKeys(runs, (key, days) -> consumer.accept(
+                PairOverlapAccumulator.firstEmployee(key), PairOverlapAccumulator.secondEmployee(key), days));
+    }
+
+    /**
+     * Merges run files into a single new run file.
+     *
+     * @param runs   the run files to merge
+     * @param output the run file to write
+     * @throws UncheckedIOException if a run file cannot be read or written
+     */
+    public static void merge(final List<Path> runs, final Path output) {
+        try (DataOutputStream outputStream = openOutput(output)) {
+            mergeKeys(runs, (key, days) -> {
+                try {
+                    outputStream.writeLong(key);
+                    outputStream.writeLong(days);
+                }
+                catch (final IOException e) {
+                    throw new UncheckedIOException("Could not write run file: " + output, e);
+                }
+            });
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write run file: " + output, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface KeyConsumer {
+        void accept(long key, long days);
+    }
+
+    private static void mergeKeys(final List<Path> runs, final KeyConsumer consumer) {
+        final List<RunReader> readers = new ArrayList<>(runs.size());
+        try {
+            final PriorityQueue<RunReader> queue = new PriorityQueue<>(Math.max(runs.size(), 1),
+                    (a, b) -> PairOverlapAccumulator.compareKeys(a.key, b.key));
+            for (final Path run : runs) {
+                final RunReader reader = new RunReader(run);
+                readers.add(reader);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                final RunReader smallest = queue.poll();
+                final long key = smallest.key;
+                long days = smallest.days;
+                if (smallest.next()) {
+                    queue.add(smallest);
+                }
+                while (!queue.isEmpty() && queue.peek().key == key) {
+                    final RunReader same = queue.poll();
+                    days += same.days;
+                    if (same.next()) {
+                        queue.add(same);
+                    }
+                }
+                consumer.accept(key, days);
+            }
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not read run file.", e);
+        }
+        finally {
+            for (final RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static DataOutputStream openOutput(final Path path) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), BUFFER_SIZE));
+    }
+
+    /**
+     * Reads one run file entry by entry.
+     */
+    private static final class RunReader {
+
+        private final DataInputStream input;
+        private long key;
+        private long days;
+
+        RunReader(final Path path) throws IOException {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        }
+
+        boolean next() throws IOException {
+            try {
+                key = input.readLong();
+            }
+            catch (final EOFException e) {
+                return false;
+            }
+            days = input.readLong();
+            return true;
+        }
+
+        void close() {
+            try {
+                input.close();
+            }
+            catch (final IOException ignored) {
+                // Nothing left to read
+            }
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.ApproximatePairOverlap;
+import com.plamen.employees.dto.EmployeePair;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A weighted Space-Saving sketch that finds the pairs with the longest total overlap in a fixed amount of memory,
+ * without keeping the total of every pair.
+ * <p>
+ * The sketch monitors at most {@code capacity} pairs. The overlap of a monitored pair is added to its counter. A pair
+ * that is not monitored while the sketch is full replaces the pair with the smallest counter and inherits that
+ * counter as its error. Therefore:
+ * <ul>
+ *     <li>the counter of a pair is never less than its true total, and exceeds it by at most its error</li>
+ *     <li>a pair that is not monitored has a true total of at most {@link #getMaxError()}, so every pair with a
+ *     longer overlap is monitored</li>
+ * </ul>
+ * Monitored pairs are found through an open-addressing index, and the smallest counter is kept at the root of an
+ * indexed min-heap. Counters only grow, so every update costs {@code O(log capacity)} at most. This class is not
+ * thread-safe.
+ */
+public class SpaceSavingPairSketch implements PairOverlapConsumer {
+
+    private static final long EMPTY_KEY = 0L;
+    private static final int NOT_FOUND = -1;
+
+    private final int capacity;
+    // Monitored pairs by counter slot
+    private final long[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    // Min-heap of counter slots ordered by count, and the heap position of every slot
+    private final int[] heap;
+    private final int[] heapPositions;
+    // Open-addressing index from pair key to counter slot
+    private final long[] indexKeys;
+    private final int[] indexSlots;
+    private int size;
+    private long totalDays;
+    private boolean dropped;
+
+    /**
+     * @param capacity the maximum number of pairs to monitor
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public SpaceSavingPairSketch(final int capacity) {
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("The capacity must be between 1 and " + (1 << 28) + ": " + capacity);
+        }
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.heap = new int[capacity];
+        this.heapPositions = new int[capacity];
+        final int indexSize = Integer.highestOneBit(capacity) << 2;
+        this.indexKeys = new long[indexSize];
+        this.indexSlots = new int[indexSize];
+    }
+
+    /**
+     * Adds overlapping days to the counter of a pair of employees. The order of the employees does not matter.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the number of overlapping days to add
+     * @throws IllegalArgumentException if the IDs are equal or do not fit into an {@code int}
+     */
+    @Override
+    public void accept(final long emp1, final long emp2, final long days) {
+        final long key = PairOverlapAccumulator.pairKey(emp1, emp2);
+        totalDays += days;
+
+        final int slot = findSlot(key);
+        if (slot != NOT_FOUND) {
+            counts[slot] += days;
+            siftDown(heapPositions[slot]);
+        } else if (size < capacity) {
+            final int newSlot = size++;
+            keys[newSlot] = key;
+            counts[newSlot] = days;
+            errors[newSlot] = 0;
+            heap[newSlot] = newSlot;
+            heapPositions[newSlot] = newSlot;
+            siftUp(newSlot);
+            insertIntoIndex(key, newSlot);
+        } else {
+            // Replace the pair with the smallest counter, which becomes the error of the new pair
+            final int minSlot = heap[0];
+            dropped = true;
+            removeFromIndex(keys[minSlot]);
+            keys[minSlot] = key;
+            errors[minSlot] = counts[minSlot];
+            counts[minSlot] += days;
+            siftDown(0);
+            insertIntoIndex(key, minSlot);
+        }
+    }
+
+    /**
+     * @return the maximum number of pairs the sketch monitors
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the number of pairs the sketch monitors
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the sum of all overlapping days added to the sketch
+     */
+    public long getTotalDays() {
+        return totalDays;
+    }
+
+    /**
+     * Returns the largest true total a pair that is not monitored can have. A pair with a longer overlap is always
+     * monitored. The bound is never more than {@link #getTotalDays()} divided by the capacity.
+     *
+     * @return the smallest counter once a pair has been dropped, or {@code 0} while every pair is counted exactly
+     */
+    public long getMaxError() {
+        return dropped ? counts[heap[0]] : 0L;
+    }
+
+    /**
+     * Passes every monitored pair and its estimated total to the given consumer, in no particular order.
+     *
+     * @param consumer the consumer that receives the pairs
+     */
+    public void forEach(final PairOverlapConsumer consumer) {
+        for (int slot = 0; slot < size; slot++) {
+            consumer.accept(PairOverlapAccumulator.firstEmployee(keys[slot]),
+                    PairOverlapAccumulator.secondEmployee(keys[slot]), counts[slot]);
+        }
+    }
+
+    /**
+     * Returns the monitored pairs with the largest estimates. Pairs with the same estimate are ordered by their
+     * employee IDs.
+     *
+     * @param k the maximum number of pairs to return
+     * @return up to {@code k} pairs, sorted by their estimated total in descending order
+     */
+    public List<ApproximatePairOverlap> findTopPairs(final int k) {
+        final List<ApproximatePairOverlap> pairs = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            pairs.add(new ApproximatePairOverlap(
+                    new EmployeePair(PairOverlapAccumulator.firstEmployee(keys[slot]),
+                            PairOverlapAccumulator.secondEmployee(keys[slot])),
+                    counts[slot], errors[slot]));
+        }
+        pairs.sort(Comparator.comparingLong(ApproximatePairOverlap::estimatedDays).reversed()
+                .thenComparingLong(pair -> pair.pair().emp1())
+                .thenComparingLong(pair -> pair.pair().emp2()));
+        return pairs.subList(0, Math.min(k, pairs.size()));
+    }
+
+    private int findSlot(final long key) {
+        final int mask = indexKeys.length - 1;
+        int position = PairOverlapAccumulator.mix(key) & mask;
+        while (indexKeys[position] != EMPTY_KEY) {
+            if (indexKeys[position] == key) {
+                return indexSlots[position];
+            }
+            position = (position + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    private void insertIntoIndex(final long key, final int slot) {
+        final int mask = indexKeys.length - 1;
+        int position = PairOverlapAccumulator.mix(key) & mask;
+        while (indexKeys[position] != EMPTY_KEY) {
+            position = (position + 1) & mask;
+        }
+        indexKeys[position] = key;
+        indexSlots[position] = slot;
+    }
+
+    /**
+     * Removes a key from the index and shifts the keys after it back, so no tombstones are needed.
+     */
+    private void removeFromIndex(final long key) {
+        final int mask = indexKeys.length - 1;
+        int position = PairOverlapAccumulator.mix(key) & mask;
+        while (indexKeys[position] != key) {
+            position = (position + 1) & mask;
+        }
+
+        int next = (position + 1) & mask;
+        while (indexKeys[next] != EMPTY_KEY) {
+            final int home = PairOverlapAccumulator.mix(indexKeys[next]) & mask;
+            // Move the key into the gap unless its home lies cyclically between the gap and its position
+            if (((next - home) & mask) >= ((next - position) & mask)) {
+                indexKeys[position] = indexKeys[next];
+                indexSlots[position] = indexSlots[next];
+                position = next;
+            }
+            next = (next + 1) & mask;
+        }
+        indexKeys[position] = EMPTY_KEY;
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            final int parent = (position - 1) >> 1;
+            if (counts[heap[parent]] <= counts[heap[position]]) {
+                return;
+            }
+            swap(parent, position);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            final int left = 2 * position + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int smallest = right < size && counts[heap[right]] < counts[heap[left]] ? right : left;
+            if (counts[heap[position]] <= counts[heap[smallest]]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(final int a, final int b) {
+        final int slot = heap[a];
+        heap[a] = heap[b];
+        heap[b] = slot;
+        heapPositions[heap[a]] = a;
+        heapPositions[heap[b]] = b;
+    }
+}
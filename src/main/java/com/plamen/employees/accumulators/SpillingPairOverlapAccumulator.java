@@ -0,0 +1,205 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.EmployeePair;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sums pair overlaps like {@link PairOverlapAccumulator}, but within a fixed memory budget, so any number of distinct
+ * pairs can be handled.
+ * <p>
+ * The pairs are summed in a preallocated in-memory accumulator. When it is full, its totals are sorted and written to
+ * a run file in a temporary directory, see {@link PairRunFiles}, and the accumulator starts over. The final totals are
+ * produced by a k-way merge of all runs. If nothing has been spilled, the totals come straight from memory.
+ * <p>
+ * A table slot takes 16 bytes, and spilling needs another 8 bytes per pair to sort the keys, so the budget is spent on
+ * as many slots as fit into it at about 22 bytes each. The merge keeps one 64 KB buffer per run and merges at most
+ * {@value #DEFAULT_MAX_MERGE_FAN_IN} runs at a time. The run files are deleted when the accumulator is closed, and so
+ * is the directory if the accumulator created it. This class is not thread-safe.
+ */
+public class SpillingPairOverlapAccumulator implements PairOverlapConsumer, Closeable {
+
+    private static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+    private static final int BYTES_PER_SLOT = 22;
+    private static final int MIN_SLOTS = 16;
+    private static final double LOAD_FACTOR = 0.7;
+
+    private final PairOverlapAccumulator memory;
+    private final int maxPairs;
+    private final int maxMergeFanIn;
+    private final Path directory;
+    private final boolean ownsDirectory;
+    private final List<Path> runs = new ArrayList<>();
+    private int spillCount;
+    private boolean finished;
+
+    /**
+     * Creates an accumulator that spills to a new directory in the default temporary-file directory.
+     *
+     * @param memoryBudget the number of bytes the in-memory totals may use
+     */
+    public SpillingPairOverlapAccumulator(final long memoryBudget) {
+        this(memoryBudget, createTempDirectory(), DEFAULT_MAX_MERGE_FAN_IN, true);
+    }
+
+    /**
+     * @param memoryBudget the number of bytes the in-memory totals may use
+     * @param directory    an existing directory for the run files
+     */
+    public SpillingPairOverlapAccumulator(final long memoryBudget, final Path directory) {
+        this(memoryBudget, directory, DEFAULT_MAX_MERGE_FAN_IN);
+    }
+
+    SpillingPairOverlapAccumulator(final long memoryBudget, final Path directory, final int maxMergeFanIn) {
+        this(memoryBudget, directory, maxMergeFanIn, false);
+    }
+
+    private SpillingPairOverlapAccumulator(final long memoryBudget, final Path directory, final int maxMergeFanIn,
+                                           final boolean ownsDirectory) {
+        if (memoryBudget < (long) MIN_SLOTS * BYTES_PER_SLOT) {
+            throw new IllegalArgumentException("Memory budget is too small: " + memoryBudget);
+        }
+        final long slots = Long.highestOneBit(Math.min(memoryBudget / BYTES_PER_SLOT, 1L << 30));
+        this.maxPairs = (int) (slots * LOAD_FACTOR);
+        this.memory = new PairOverlapAccumulator(maxPairs);
+        this.maxMergeFanIn = maxMergeFanIn;
+        this.directory = directory;
+        this.ownsDirectory = ownsDirectory;
+    }
+
+    /**
+     * Adds overlapping days to the total of a pair of employees, spilling the in-memory totals first if they are full.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the number of overlapping days to add
+     * @throws IllegalStateException if the final totals have already been read
+     */
+    @Override
+    public void accept(final long emp1, final long emp2, final long days) {
+        if (finished) {
+            throw new IllegalStateException("Overlaps cannot be added after the totals have been read.");
+        }
+        memory.accept(emp1, emp2, days);
+        if (memory.size() >= maxPairs) {
+            spill();
+        }
+    }
+
+    /**
+     * @return the number of times the in-memory totals have been spilled to disk
+     */
+    public int getSpillCount() {
+        return spillCount;
+    }
+
+    /**
+     * Passes the final total of every pair to the consumer. If any totals have been spilled, they are passed ordered
+     * by the first and then the second employee ID. No more overlaps can be added afterwards.
+     *
+     * @param consumer the consumer that receives the pairs
+     */
+    public void forEach(final PairOverlapConsumer consumer) {
+        finished = true;
+        if (runs.isEmpty()) {
+            memory.forEach(consumer);
+            return;
+        }
+
+        if (!memory.isEmpty()) {
+            spill();
+        }
+        while (runs.size() > maxMergeFanIn) {
+            final List<Path> merged = List.copyOf(runs.subList(0, maxMergeFanIn));
+            final Path run = newRunFile();
+            PairRunFiles.merge(merged, run);
+            runs.subList(0, maxMergeFanIn).clear();
+            runs.add(run);
+            merged.forEach(SpillingPairOverlapAccumulator::deleteQuietly);
+        }
+        PairRunFiles.merge(runs, consumer);
+    }
+
+    /**
+     * Finds the employee pair with the maximum total overlap duration. Ties are resolved in favour of the pair with
+     * the smallest employee IDs.
+     *
+     * @return an {@link Optional} containing the pair with the longest overlap, or empty if there are no pairs
+     */
+    public Optional<Map.Entry<EmployeePair, Long>> findMaxPair() {
+        return findTopPairs(1).stream().findFirst();
+    }
+
+    /**
+     * Finds the pairs with the longest total overlap, see {@link TopPairSelector}.
+     *
+     * @param k the maximum number of pairs to return
+     * @return up to {@code k} pairs, longest overlap first
+     */
+    public List<Map.Entry<EmployeePair, Long>> findTopPairs(final int k) {
+        final TopPairSelector selector = new TopPairSelector(k);
+        forEach(selector);
+        return selector.getTopPairs();
+    }
+
+    /**
+     * Deletes all run files, and the directory if the accumulator created it.
+     */
+    @Override
+    public void close() {
+        runs.forEach(SpillingPairOverlapAccumulator::deleteQuietly);
+        runs.clear();
+        if (ownsDirectory) {
+            deleteQuietly(directory);
+        }
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    private void spill() {
+        final Path run = newRunFile();
+        PairRunFiles.write(memory, run);
+        runs.add(run);
+        spillCount++;
+        memory.clear();
+    }
+
+    private Path newRunFile() {
+        try {
+            return Files.createTempFile(directory, "pairs-", ".run");
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not create run file in: " + directory, e);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            final Path directory = Files.createTempDirectory("pair-overlaps-");
+            directory.toFile().deleteOnExit();
+            return directory;
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not create a temporary directory.", e);
+        }
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (final IOException ignored) {
+            // A leftover run file or directory in the temporary directory does no harm
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.EmployeePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the {@code k} pairs with the longest total overlap from a stream of pair totals, without sorting all of
+ * them.
+ * <p>
+ * The selected pairs are kept in a bounded min-heap of primitive arrays, with the weakest selected pair at the root,
+ * so every offered pair costs {@code O(log k)} at most and usually a single comparison. Pairs with the same total are
+ * ordered by their first and then by their second employee ID, which makes the result deterministic.
+ * <p>
+ * Every pair must be offered once, with its final total, e.g. through {@link PairOverlapAccumulator#forEach}. This
+ * class is not thread-safe.
+ */
+public class TopPairSelector implements PairOverlapConsumer {
+
+    /**
+     * Orders pairs by their total overlap, longest first, and then by their first and second employee ID.
+     */
+    public static final Comparator<Map.Entry<EmployeePair, Long>> TOP_PAIRS_ORDER =
+            Comparator.<Map.Entry<EmployeePair, Long>>comparingLong(Map.Entry::getValue).reversed()
+                    .thenComparingLong(entry -> entry.getKey().emp1())
+                    .thenComparingLong(entry -> entry.getKey().emp2());
+
+    // The heap starts small and grows up to k, so a large k costs nothing for a stream with few pairs
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int k;
+    private long[] keys;
+    private long[] days;
+    private int size;
+
+    /**
+     * @param k the maximum number of pairs to select
+     */
+    public TopPairSelector(final int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("The number of pairs must not be negative: " + k);
+        }
+        this.k = k;
+        this.keys = new long[Math.min(k, INITIAL_CAPACITY)];
+        this.days = new long[keys.length];
+    }
+
+    /**
+     * Offers the total overlapping days of a pair of employees.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @param days the total number of overlapping days of the pair
+     */
+    @Override
+    public void accept(final long emp1, final long emp2, final long days) {
+        final long key = PairOverlapAccumulator.pairKey(emp1, emp2);
+        if (size < k) {
+            if (size == keys.length) {
+                final int capacity = (int) Math.min(k, 2L * size);
+                keys = Arrays.copyOf(keys, capacity);
+                this.days = Arrays.copyOf(this.days, capacity);
+            }
+            keys[size] = key;
+            this.days[size] = days;
+            siftUp(size++);
+        } else if (k > 0 && isWeaker(keys[0], this.days[0], key, days)) {
+            keys[0] = key;
+            this.days[0] = days;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * @return the selected pairs, longest overlap first
+     */
+    public List<Map.Entry<EmployeePair, Long>> getTopPairs() {
+        final List<Map.Entry<EmployeePair, Long>> topPairs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final EmployeePair pair = new EmployeePair(
+                    PairOverlapAccumulator.firstEmployee(keys[i]), PairOverlapAccumulator.secondEmployee(keys[i]));
+            topPairs.add(Map.entry(pair, days[i]));
+        }
+        topPairs.sort(TOP_PAIRS_ORDER);
+        return topPairs;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (!isWeaker(keys[index], days[index], keys[parent], days[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            final int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            final int right = left + 1;
+            final int weakest = right < size && isWeaker(keys[right], days[right], keys[left], days[left])
+                    ? right
+                    : left;
+            if (!isWeaker(keys[weakest], days[weakest], keys[index], days[index])) {
+                return;
+            }
+            swap(index, weakest);
+            index = weakest;
+        }
+    }
+
+    /**
+     * A pair is weaker than another one if it has fewer days or, with the same number of days, greater IDs.
+     */
+    private static boolean isWeaker(final long key1, final long days1, final long key2, final long days2) {
+        return days1 < days2 || (days1 == days2 && PairOverlapAccumulator.compareKeys(key1, key2) > 0);
+    }
+
+    private void swap(final int i, final int j) {
+        final long key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+
+        final long value = days[i];
+        days[i] = days[j];
+        days[j] = value;
+    }
+}
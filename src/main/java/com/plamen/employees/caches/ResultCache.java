@@ -0,0 +1,313 @@
+package com.plamen.employees.caches;
+
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.readers.WorkDataFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A cache of the top pairs in a local directory, so the same analysis of an unchanged input is not computed again.
+ * <p>
+ * Results are content-addressed: the key is a fingerprint of the bytes of every input file together with all
+ * parameters that influence the result, see {@link #fingerprint(List, String)}. A changed file therefore never returns
+ * a stale result, and nothing has to be invalidated.
+ * <p>
+ * Every result is stored in its own small binary file. Reading a result marks it as recently used by touching its
+ * modification time, and after every write the least recently used results are deleted until the directory fits
+ * into the size limit again. Results are written to a temporary file first and then moved into place, so concurrent
+ * runs never see a partial result.
+ */
+public class ResultCache {
+
+    private static final int MAGIC = 0x52534C54;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".top";
+    private static final int HEADER_SIZE = 3 * Integer.BYTES;
+    private static final int PAIR_SIZE = 3 * Long.BYTES;
+    private static final int HASH_CHUNK_SIZE = 1 << 16;
+    private static final long SEED_1 = 0x9E3779B97F4A7C15L;
+    private static final long SEED_2 = 0xC2B2AE3D27D4EB4FL;
+
+    private final Path directory;
+    private final long maxBytes;
+
+    /**
+     * @param directory the directory to keep the results in, which is created if it does not exist
+     * @param maxBytes  the total size of the results beyond which the least recently used ones are deleted
+     * @throws IllegalArgumentException if the size limit is not positive
+     * @throws UncheckedIOException     if the directory cannot be created
+     */
+    public ResultCache(final Path directory, final long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive: " + maxBytes);
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        try {
+            Files.createDirectories(directory);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not create cache directory: " + directory, e);
+        }
+    }
+
+    /**
+     * Computes the cache key of an analysis from the raw bytes of its input files and its parameters.
+     * <p>
+     * The files are hashed in the given order with two independent 64-bit lanes of a multiply-rotate hash, which
+     * reads eight bytes per step and runs close to the speed of reading the file. Compressed files are hashed as they
+     * are stored, without decompressing them.
+     *
+     * @param fileNames  the input files, as classpath resources or filesystem paths
+     * @param parameters every parameter that influences the result, e.g. the date used for open-ended periods
+     * @return the key as 32 hexadecimal digits
+     * @throws IllegalArgumentException if a file cannot be found
+     * @throws UncheckedIOException     if a file cannot be read
+     */
+    public static String fingerprint(final List<String> fileNames, final String parameters) {
+        final Hasher hasher = new Hasher();
+        hasher.update(parameters.getBytes(StandardCharsets.UTF_8));
+        for (final String fileName : fileNames) {
+            hasher.update(fileName.getBytes(StandardCharsets.UTF_8));
+            try (InputStream inputStream = WorkDataFiles.openRawInputStream(fileName)) {
+                hasher.update(inputStream);
+            }
+            catch (final IOException e) {
+                throw new UncheckedIOException("Could not read file: " + fileName, e);
+            }
+        }
+        return hasher.toHex();
+    }
+
+    /**
+     * Returns the cached result of the given key and marks it as recently used. A result that cannot be read is
+     * deleted and treated as missing.
+     *
+     * @param key the key of the analysis, see {@link #fingerprint(List, String)}
+     * @return the cached pairs with their total overlap, in the order they were stored, or empty if there is none
+     */
+    public Optional<List<Map.Entry<EmployeePair, Long>>> get(final String key) {
+        final Path path = resolve(key);
+        try {
+            final List<Map.Entry<EmployeePair, Long>> pairs = read(path);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis()));
+            return Optional.of(pairs);
+        }
+        catch (final NoSuchFileException e) {
+            return Optional.empty();
+        }
+        catch (final IOException | IllegalArgumentException e) {
+            deleteQuietly(path);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the result of the given key, replacing an existing one, and evicts the least recently used results
+     * beyond the size limit. The new result itself is always kept.
+     *
+     * @param key   the key of the analysis, see {@link #fingerprint(List, String)}
+     * @param pairs the pairs with their total overlap
+     * @throws UncheckedIOException if the result cannot be written
+     */
+    public void put(final String key, final List<Map.Entry<EmployeePair, Long>> pairs) {
+        final Path path = resolve(key);
+        try {
+            final Path temporary = Files.createTempFile(directory, "result-", ".tmp");
+            try {
+                write(temporary, pairs);
+                moveIntoPlace(temporary, path);
+            }
+            finally {
+                deleteQuietly(temporary);
+            }
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write cached result: " + path, e);
+        }
+        evict(path);
+    }
+
+    /**
+     * @return the total size in bytes of all cached results
+     */
+    public long getSizeBytes() {
+        return listResults().stream().mapToLong(CachedResult::size).sum();
+    }
+
+    private Path resolve(final String key) {
+        if (!key.matches("[0-9a-f]+")) {
+            throw new IllegalArgumentException("Invalid cache key: " + key);
+        }
+        return directory.resolve(key + EXTENSION);
+    }
+
+    private static List<Map.Entry<EmployeePair, Long>> read(final Path path) throws IOException {
+        final long fileSize = Files.size(path);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (fileSize < HEADER_SIZE || input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IllegalArgumentException("Not a cached result: " + path);
+            }
+            final int count = input.readInt();
+            if (count < 0 || fileSize != HEADER_SIZE + (long) count * PAIR_SIZE) {
+                throw new IllegalArgumentException("Cached result is truncated or corrupt: " + path);
+            }
+            final List<Map.Entry<EmployeePair, Long>> pairs = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final EmployeePair pair = new EmployeePair(input.readLong(), input.readLong());
+                pairs.add(Map.entry(pair, input.readLong()));
+            }
+            return pairs;
+        }
+    }
+
+    private static void write(final Path path, final List<Map.Entry<EmployeePair, Long>> pairs) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(pairs.size());
+            for (final Map.Entry<EmployeePair, Long> pair : pairs) {
+                output.writeLong(pair.getKey().emp1());
+                output.writeLong(pair.getKey().emp2());
+                output.writeLong(pair.getValue());
+            }
+        }
+    }
+
+    private static void moveIntoPlace(final Path source, final Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the least recently used results, apart from the one just written, until the rest fits into the limit.
+     */
+    private void evict(final Path keep) {
+        final List<CachedResult> results = new ArrayList<>(listResults());
+        results.sort(Comparator.comparingLong(CachedResult::lastUsed).reversed());
+        long totalBytes = 0;
+        for (final CachedResult result : results) {
+            totalBytes += result.size();
+            if (totalBytes > maxBytes && !result.path().equals(keep)) {
+                deleteQuietly(result.path());
+                totalBytes -= result.size();
+            }
+        }
+    }
+
+    private List<CachedResult> listResults() {
+        try (Stream<Path> paths = Files.list(directory)) {
+            final List<CachedResult> results = new ArrayList<>();
+            for (final Path path : paths.filter(path -> path.toString().endsWith(EXTENSION)).toList()) {
+                try {
+                    results.add(new CachedResult(path, Files.size(path),
+                            Files.getLastModifiedTime(path).toMillis()));
+                }
+                catch (final NoSuchFileException ignored) {
+                    // Evicted by a concurrent run
+                }
+            }
+            return results;
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not list cache directory: " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(final Path path) {
+        try {
+            Files.deleteIfExists(path);
+        }
+        catch (final IOException ignored) {
+            // A leftover result is evicted by a later run
+        }
+    }
+
+    private record CachedResult(Path path, long size, long lastUsed) {
+    }
+
+    /**
+     * A 128-bit streaming hash made of two 64-bit multiply-rotate lanes with different seeds, finalised with the
+     * MurmurHash3 mixer. It is not cryptographic, but a changed input file changes the key with overwhelming
+     * probability.
+     */
+    private static final class Hasher {
+
+        private final byte[] chunk = new byte[HASH_CHUNK_SIZE];
+        private long lane1 = SEED_1;
+        private long lane2 = SEED_2;
+        private long length;
+
+        void update(final InputStream inputStream) throws IOException {
+            int read;
+            // Full chunks are a multiple of eight bytes, so only the last one can have a tail
+            while ((read = inputStream.readNBytes(chunk, 0, chunk.length)) > 0) {
+                update(chunk, read);
+            }
+        }
+
+        void update(final byte[] bytes) {
+            update(bytes, bytes.length);
+        }
+
+        private void update(final byte[] bytes, final int size) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.remaining() >= Long.BYTES) {
+                add(buffer.getLong());
+            }
+            long tail = 0;
+            for (int shift = 0; buffer.hasRemaining(); shift += Byte.SIZE) {
+                tail |= (buffer.get() & 0xFFL) << shift;
+            }
+            add(tail);
+            // Moving bytes from one input to the next changes the hash
+            add(size);
+            length += size;
+        }
+
+        private void add(final long word) {
+            lane1 = Long.rotateLeft(lane1 ^ (word * SEED_2), 31) * SEED_1;
+            lane2 = Long.rotateLeft(lane2 + (word * SEED_1), 27) * SEED_2 + 0x52DCE729L;
+        }
+
+        String toHex() {
+            final long hash1 = mix(lane1 ^ length);
+            final long hash2 = mix(lane2 ^ lane1 ^ length);
+            return String.format("%016x%016x", hash1, hash2);
+        }
+
+        private static long mix(long value) {
+            value ^= value >>> 33;
+            value *= 0xFF51AFD7ED558CCDL;
+            value ^= value >>> 33;
+            value *= 0xC4CEB9FE1A85EC53L;
+            value ^= value >>> 33;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.plamen.employees.calculators;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.SpaceSavingPairSketch;
+import com.plamen.employees.dto.ApproximateOverlapResult;
+import com.plamen.employees.dto.ApproximatePairOverlap;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A class that finds the pairs with the longest total overlap in a fixed amount of memory, for workforces where the
+ * totals of all pairs do not fit into the heap.
+ * <p>
+ * The overlaps are counted by a {@link SpaceSavingPairSketch}, which keeps at most a given number of pairs. Its
+ * estimates can be too high by a bounded error. An optional second pass recounts only the candidate pairs, which
+ * makes the totals exact and, in most cases, the whole answer.
+ */
+public class ApproximateOverlapCalculator {
+
+    /**
+     * Counts the overlaps of the given records into a sketch of the given capacity.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param capacity the maximum number of pairs the sketch keeps
+     * @return the sketch with the estimated totals
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public static SpaceSavingPairSketch computeSketch(final WorkRecordStore store, final OverlapEngine engine,
+                                                      final int capacity) {
+        final SpaceSavingPairSketch sketch = new SpaceSavingPairSketch(capacity);
+        EmployeeOverlapCalculator.computeOverlaps(store, engine, sketch);
+        return sketch;
+    }
+
+    /**
+     * Estimates the {@code k} pairs with the longest total overlap in a single pass.
+     * <p>
+     * Every pair with a longer total than {@link ApproximateOverlapResult#maxError()} is listed if it is among the
+     * {@code k} longest. The result is exact if the sketch never had to drop a pair.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param capacity the maximum number of pairs the sketch keeps, at least {@code k}
+     * @param k        the number of pairs to return
+     * @return up to {@code k} pairs with their estimated totals and error bounds
+     * @throws IllegalArgumentException if {@code k} is not positive or larger than the capacity
+     */
+    public static ApproximateOverlapResult findTopPairs(final WorkRecordStore store, final OverlapEngine engine,
+                                                        final int capacity, final int k) {
+        validate(capacity, k);
+        final SpaceSavingPairSketch sketch = computeSketch(store, engine, capacity);
+        return new ApproximateOverlapResult(sketch.findTopPairs(k), sketch.getMaxError(), sketch.getMaxError() == 0);
+    }
+
+    /**
+     * Finds the {@code k} pairs with the longest total overlap with a sketch, then counts the candidate pairs again
+     * exactly.
+     * <p>
+     * A pair is a candidate if its estimate is not below the {@code k}-th largest lower bound, so only a handful of
+     * pairs are kept in the second pass. The returned totals are always exact. The answer is exact as well if the
+     * {@code k}-th total is longer than the total any pair the sketch dropped can have, which is the case unless the
+     * capacity is too small for the skew of the data.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param capacity the maximum number of pairs the sketch keeps, at least {@code k}
+     * @param k        the number of pairs to return
+     * @return up to {@code k} pairs with their exact totals
+     * @throws IllegalArgumentException if {@code k} is not positive or larger than the capacity
+     */
+    public static ApproximateOverlapResult findExactTopPairs(final WorkRecordStore store, final OverlapEngine engine,
+                                                             final int capacity, final int k) {
+        validate(capacity, k);
+        final SpaceSavingPairSketch sketch = computeSketch(store, engine, capacity);
+        final long maxError = sketch.getMaxError();
+
+        final List<ApproximatePairOverlap> estimates = sketch.findTopPairs(capacity);
+        final long threshold = estimates.stream()
+                .mapToLong(ApproximatePairOverlap::lowerBound)
+                .sorted()
+                .skip(Math.max(estimates.size() - k, 0))
+                .findFirst()
+                .orElse(0L);
+        final PairOverlapAccumulator candidates = new PairOverlapAccumulator();
+        for (final ApproximatePairOverlap estimate : estimates) {
+            if (estimate.estimatedDays() >= threshold) {
+                candidates.accept(estimate.pair().emp1(), estimate.pair().emp2(), 1);
+            }
+        }
+
+        final PairOverlapAccumulator totals = new PairOverlapAccumulator(candidates.size());
+        EmployeeOverlapCalculator.computeOverlaps(store, engine, (emp1, emp2, days) -> {
+            if (candidates.get(emp1, emp2) != 0) {
+                totals.accept(emp1, emp2, days);
+            }
+        });
+
+        final List<ApproximatePairOverlap> pairs = totals.findTopPairs(k).stream()
+                .map(ApproximateOverlapCalculator::toExactOverlap)
+                .toList();
+        final boolean exact = maxError == 0
+                || pairs.size() == k && pairs.get(k - 1).estimatedDays() > maxError;
+        return new ApproximateOverlapResult(pairs, maxError, exact);
+    }
+
+    private static ApproximatePairOverlap toExactOverlap(final Map.Entry<EmployeePair, Long> entry) {
+        return new ApproximatePairOverlap(entry.getKey(), entry.getValue(), 0L);
+    }
+
+    private static void validate(final int capacity, final int k) {
+        if (k <= 0 || k > capacity) {
+            throw new IllegalArgumentException("The number of pairs must be between 1 and the capacity " + capacity
+                    + ": " + k);
+        }
+    }
+}
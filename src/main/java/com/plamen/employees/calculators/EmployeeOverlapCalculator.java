@@ -1,26 +1,32 @@
 package com.plamen.employees.calculators;
 
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.PairOverlapConsumer;
+import com.plamen.employees.accumulators.TopPairSelector;
 import com.plamen.employees.dto.EmployeePair;
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.stores.WorkRecordStore;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * A class that calculates the total overlapping working days between pairs of employees who have worked on the same
  * project during overlapping periods.
+ * <p>
+ * The calculations run on a {@link WorkRecordStore}, where the records of each project are already contiguous and
+ * sorted by their start date, and where dates are plain epoch days.
  */
 public class EmployeeOverlapCalculator {
 
     /**
      * Computes the total number of overlapping days for each unique pair of employees who have worked together on the
-     * same project.
+     * same project, using the {@link OverlapEngine#PAIRWISE} engine.
      * <p>
      * Overlaps are calculated per project and summed across all projects.
      *
@@ -28,31 +34,92 @@ public class EmployeeOverlapCalculator {
      * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
      */
     public static Map<EmployeePair, Long> computeOverlaps(List<WorkRecord> records) {
+        return computeOverlaps(records, OverlapEngine.PAIRWISE);
+    }
+
+    /**
+     * Computes the total number of overlapping days for each unique pair of employees who have worked together on the
+     * same project, using the given {@link OverlapEngine}.
+     * <p>
+     * All engines produce the same result. They only differ in how many pairs of records they have to visit.
+     *
+     * @param records list of {@link WorkRecord} entries representing employee project assignments
+     * @param engine  the algorithm used to find the overlaps within a project
+     * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
+     */
+    public static Map<EmployeePair, Long> computeOverlaps(final List<WorkRecord> records, final OverlapEngine engine) {
+        return computeOverlaps(WorkRecordStore.of(records), engine);
+    }
+
+    /**
+     * Computes the total number of overlapping days for each unique pair of employees who have worked together on the
+     * same project, using the given {@link OverlapEngine}.
+     *
+     * @param store  the work records representing employee project assignments
+     * @param engine the algorithm used to find the overlaps within a project
+     * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
+     */
+    public static Map<EmployeePair, Long> computeOverlaps(final WorkRecordStore store, final OverlapEngine engine) {
         final Map<EmployeePair, Long> overlapMap = new HashMap<>();
+        computeOverlaps(store, engine, (emp1, emp2, days) ->
+                overlapMap.merge(new EmployeePair(emp1, emp2), days, Long::sum));
+        return overlapMap;
+    }
 
-        final Map<Long, List<WorkRecord>> projects = records.stream()
-                .collect(Collectors.groupingBy(WorkRecord::projectId));
-
-        for (final var entry : projects.entrySet()) {
-            final List<WorkRecord> projectRecords = entry.getValue();
-            for (int i = 0; i < projectRecords.size(); i++) {
-                for (int j = i + 1; j < projectRecords.size(); j++) {
-                    final WorkRecord r1 = projectRecords.get(i);
-                    final WorkRecord r2 = projectRecords.get(j);
-
-                    if (r1.empId() != r2.empId()) {
-                        final LocalDate overlapStart = Collections.max(List.of(r1.dateFrom(), r2.dateFrom()));
-                        final LocalDate overlapEnd = Collections.min(List.of(r1.dateTo(), r2.dateTo()));
-                        if (!overlapEnd.isBefore(overlapStart)) {
-                            final long days = ChronoUnit.DAYS.between(overlapStart, overlapEnd) + 1;
-                            final EmployeePair pair = new EmployeePair(r1.empId(), r2.empId());
-                            overlapMap.merge(pair, days, Long::sum);
-                        }
-                    }
-                }
-            }
+    /**
+     * Computes the total number of overlapping days for each unique pair of employees into a
+     * {@link PairOverlapAccumulator}, which avoids allocating a key and a boxed total for every overlap.
+     *
+     * @param records list of {@link WorkRecord} entries representing employee project assignments
+     * @param engine  the algorithm used to find the overlaps within a project
+     * @return an accumulator with the total overlap duration in days of each unique pair
+     */
+    public static PairOverlapAccumulator computeOverlapAccumulator(final List<WorkRecord> records,
+                                                                   final OverlapEngine engine) {
+        return computeOverlapAccumulator(WorkRecordStore.of(records), engine);
+    }
+
+    /**
+     * Computes the total number of overlapping days for each unique pair of employees into a
+     * {@link PairOverlapAccumulator}, which avoids allocating a key and a boxed total for every overlap.
+     *
+     * @param store  the work records representing employee project assignments
+     * @param engine the algorithm used to find the overlaps within a project
+     * @return an accumulator with the total overlap duration in days of each unique pair
+     */
+    public static PairOverlapAccumulator computeOverlapAccumulator(final WorkRecordStore store,
+                                                                   final OverlapEngine engine) {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+        computeOverlaps(store, engine, accumulator);
+        return accumulator;
+    }
+
+    /**
+     * Passes every overlap between two records of the same project to the given consumer. A pair of employees can be
+     * reported several times, once for every pair of their records that overlaps.
+     *
+     * @param records  list of {@link WorkRecord} entries representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param consumer the consumer that receives the overlapping days of each pair of records
+     */
+    public static void computeOverlaps(final List<WorkRecord> records, final OverlapEngine engine,
+                                       final PairOverlapConsumer consumer) {
+        computeOverlaps(WorkRecordStore.of(records), engine, consumer);
+    }
+
+    /**
+     * Passes every overlap between two records of the same project to the given consumer. A pair of employees can be
+     * reported several times, once for every pair of their records that overlaps.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param consumer the consumer that receives the overlapping days of each pair of records
+     */
+    public static void computeOverlaps(final WorkRecordStore store, final OverlapEngine engine,
+                                       final PairOverlapConsumer consumer) {
+        for (int project = 0; project < store.projectCount(); project++) {
+            computeProjectOverlaps(store, project, engine, consumer);
         }
-        return overlapMap;
     }
 
     /**
@@ -65,4 +132,157 @@ public class EmployeeOverlapCalculator {
         return overlapMap.entrySet().stream()
                 .max(Map.Entry.comparingByValue());
     }
+
+    /**
+     * Finds the {@code k} employee pairs with the longest total overlap duration, using a bounded heap instead of
+     * sorting the whole map. Pairs with the same total are ordered by their employee IDs.
+     *
+     * @param overlapMap a map of employee pairs to their total overlapping days; the employee IDs must fit into an
+     *                   {@code int}
+     * @param k          the maximum number of pairs to return
+     * @return up to {@code k} pairs, longest overlap first
+     */
+    public static List<Map.Entry<EmployeePair, Long>> findTopPairs(final Map<EmployeePair, Long> overlapMap,
+                                                                   final int k) {
+        final TopPairSelector selector = new TopPairSelector(k);
+        overlapMap.forEach((pair, days) -> selector.accept(pair.emp1(), pair.emp2(), days));
+        return selector.getTopPairs();
+    }
+
+    /**
+     * Passes the overlaps between the records of a single project to the given consumer.
+     *
+     * @param store    the work records
+     * @param project  the index of the project in the store
+     * @param engine   the algorithm used to find the overlaps
+     * @param consumer the consumer that receives the overlapping days of each pair of records
+     */
+    static void computeProjectOverlaps(final WorkRecordStore store, final int project, final OverlapEngine engine,
+                                       final PairOverlapConsumer consumer) {
+        final int start = store.projectStart(project);
+        final int end = store.projectEnd(project);
+        final PairCounts counts = computeTileOverlaps(store, project, start, end, engine, consumer);
+        PipelineMetrics.recordProject(store.projectId(start), end - start, counts.visited(), counts.overlapping());
+    }
+
+    /**
+     * Passes the overlaps found while visiting a range of the records of a single project to the given consumer
+     * without recording the project in the {@link PipelineMetrics}.
+     * <p>
+     * Every pair of records is found by exactly one record of the pair: the earlier one for {@link
+     * OverlapEngine#PAIRWISE} and the later one for {@link OverlapEngine#SWEEP_LINE}. Splitting a project into
+     * consecutive ranges therefore splits its pairs without finding any pair twice.
+     *
+     * @param store       the work records
+     * @param project     the index of the project in the store
+     * @param firstRecord the index of the first record of the range in the store
+     * @param lastRecord  the index after the last record of the range in the store
+     * @param engine      the algorithm used to find the overlaps
+     * @param consumer    the consumer that receives the overlapping days of each pair of records
+     * @return the number of record pairs that were visited and found overlapping
+     */
+    static PairCounts computeTileOverlaps(final WorkRecordStore store, final int project, final int firstRecord,
+                                          final int lastRecord, final OverlapEngine engine,
+                                          final PairOverlapConsumer consumer) {
+        final int start = store.projectStart(project);
+        final int end = store.projectEnd(project);
+        return switch (engine) {
+            case PAIRWISE -> computePairwiseOverlaps(store, end, firstRecord, lastRecord, consumer);
+            case SWEEP_LINE -> computeSweepLineOverlaps(store, start, firstRecord, lastRecord, consumer);
+        };
+    }
+
+    /**
+     * The number of record pairs an engine visited and the number of those that overlap.
+     */
+    record PairCounts(long visited, long overlapping) {
+    }
+
+    /**
+     * Pairs every record in the range with every later record of the project.
+     */
+    private static PairCounts computePairwiseOverlaps(final WorkRecordStore store, final int end,
+                                                      final int firstRecord, final int lastRecord,
+                                                      final PairOverlapConsumer consumer) {
+        long visited = 0;
+        long overlapping = 0;
+        for (int i = firstRecord; i < lastRecord; i++) {
+            visited += end - i - 1;
+            for (int j = i + 1; j < end; j++) {
+                if (store.empId(i) != store.empId(j)) {
+                    final int overlapStart = Math.max(store.fromEpochDay(i), store.fromEpochDay(j));
+                    final int overlapEnd = Math.min(store.toEpochDay(i), store.toEpochDay(j));
+                    if (overlapEnd >= overlapStart) {
+                        consumer.accept(store.empId(i), store.empId(j), overlapEnd - overlapStart + 1L);
+                        overlapping++;
+                    }
+                }
+            }
+        }
+
+        return new PairCounts(visited, overlapping);
+    }
+
+    /**
+     * Visits the records of the range in order of their start date while keeping the records that are still active.
+     * <p>
+     * Every active record started on or before the current one and has not ended before it, so the overlap always
+     * runs from the start of the current record to the earlier of the two end dates. A range that does not begin
+     * with the project starts with the earlier records that are still active on the start date of its first record.
+     */
+    private static PairCounts computeSweepLineOverlaps(final WorkRecordStore store, final int start,
+                                                       final int firstRecord, final int lastRecord,
+                                                       final PairOverlapConsumer consumer) {
+        int[] activeRecords = new int[Math.min(lastRecord - start, 16)];
+        int activeCount = 0;
+        long visited = 0;
+        long overlapping = 0;
+
+        if (firstRecord < lastRecord) {
+            final int rangeFrom = store.fromEpochDay(firstRecord);
+            for (int earlier = start; earlier < firstRecord; earlier++) {
+                final int earlierTo = store.toEpochDay(earlier);
+                if (earlierTo >= store.fromEpochDay(earlier) && earlierTo >= rangeFrom) {
+                    if (activeCount == activeRecords.length) {
+                        activeRecords = Arrays.copyOf(activeRecords, activeCount * 2);
+                    }
+                    activeRecords[activeCount++] = earlier;
+                }
+            }
+        }
+
+        for (int current = firstRecord; current < lastRecord; current++) {
+            final int currentFrom = store.fromEpochDay(current);
+            final int currentTo = store.toEpochDay(current);
+            if (currentTo < currentFrom) {
+                // An empty period cannot overlap with anything
+                continue;
+            }
+
+            int remaining = 0;
+            visited += activeCount;
+            for (int a = 0; a < activeCount; a++) {
+                final int active = activeRecords[a];
+                final int activeTo = store.toEpochDay(active);
+                if (activeTo < currentFrom) {
+                    continue;
+                }
+                activeRecords[remaining++] = active;
+
+                if (store.empId(active) != store.empId(current)) {
+                    consumer.accept(store.empId(active), store.empId(current),
+                            Math.min(activeTo, currentTo) - currentFrom + 1L);
+                    overlapping++;
+                }
+            }
+
+            if (remaining == activeRecords.length) {
+                activeRecords = Arrays.copyOf(activeRecords, Math.max(remaining * 2, 1));
+            }
+            activeRecords[remaining++] = current;
+            activeCount = remaining;
+        }
+
+        return new PairCounts(visited, overlapping);
+    }
 }
@@ -0,0 +1,342 @@
+package com.plamen.employees.calculators;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.PairOverlapConsumer;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A class that calculates the same overlaps as {@link EmployeeOverlapCalculator}, but computes the projects
+ * concurrently.
+ * <p>
+ * Overlaps are only ever calculated within a single project, so the projects are split into batches, and every batch
+ * is computed by its own task into a partial {@link PairOverlapAccumulator}. The partial accumulators are summed into
+ * the final result once all tasks have finished.
+ * <p>
+ * The cost of a project grows with the square of its size, so a single giant project can cost more than all others
+ * together. Such a project is split into tiles of consecutive records, and every tile only finds the pairs its own
+ * records are responsible for, as described in {@link EmployeeOverlapCalculator#computeTileOverlaps}. The tiles of a
+ * project together visit every pair exactly once, so splitting a project adds no work besides seeding the sweep line
+ * of every tile with the records that are still active where it begins.
+ */
+public class ParallelOverlapCalculator {
+
+    // Several batches per thread, so a slow batch does not keep the other threads waiting.
+    private static final int BATCHES_PER_THREAD = 4;
+    // Projects below this many estimated record pairs are never split, since their tiles would cost less to compute
+    // than to merge.
+    private static final long MIN_TILE_COST = 1 << 16;
+
+    /**
+     * Computes the overlaps of all projects concurrently on the common {@link ForkJoinPool}.
+     *
+     * @param records list of {@link WorkRecord} entries representing employee project assignments
+     * @param engine  the algorithm used to find the overlaps within a project
+     * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
+     */
+    public static Map<EmployeePair, Long> computeOverlaps(final List<WorkRecord> records, final OverlapEngine engine) {
+        return computeOverlaps(records, engine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the overlaps of all projects concurrently on the given executor.
+     * <p>
+     * The executor is not shut down by this method.
+     *
+     * @param records  list of {@link WorkRecord} entries representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param executor the executor that runs the project batches
+     * @return a map where each key is a unique {@link EmployeePair} and the value is the total overlap duration in days
+     */
+    public static Map<EmployeePair, Long> computeOverlaps(final List<WorkRecord> records, final OverlapEngine engine,
+                                                          final ExecutorService executor) {
+        return computeOverlapAccumulator(WorkRecordStore.of(records), engine, executor).toMap();
+    }
+
+    /**
+     * Computes the overlaps of all projects concurrently on the common {@link ForkJoinPool} into a
+     * {@link PairOverlapAccumulator}.
+     *
+     * @param store  the work records representing employee project assignments
+     * @param engine the algorithm used to find the overlaps within a project
+     * @return an accumulator with the total overlap duration in days of each unique pair
+     */
+    public static PairOverlapAccumulator computeOverlapAccumulator(final WorkRecordStore store,
+                                                                   final OverlapEngine engine) {
+        return computeOverlapAccumulator(store, engine, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Computes the overlaps of all projects concurrently on the given executor into a {@link PairOverlapAccumulator}.
+     * <p>
+     * The executor is not shut down by this method.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm used to find the overlaps within a project
+     * @param executor the executor that runs the project batches
+     * @return an accumulator with the total overlap duration in days of each unique pair
+     */
+    public static PairOverlapAccumulator computeOverlapAccumulator(final WorkRecordStore store,
+                                                                   final OverlapEngine engine,
+                                                                   final ExecutorService executor) {
+        final List<List<Tile>> batches = createBatches(store, engine, getParallelism(executor));
+
+        final List<Future<PairOverlapAccumulator>> futures = new ArrayList<>(batches.size());
+        for (final List<Tile> batch : batches) {
+            futures.add(executor.submit(createTask(store, batch, engine)));
+        }
+
+        return mergePartialResults(futures);
+    }
+
+    /**
+     * Splits the projects into tiles of similar cost and spreads them over the batches, most expensive tile first,
+     * always into the batch with the lowest cost.
+     * <p>
+     * A project that costs more than the share of a single thread is split into ranges of records that cost about one
+     * share each, which then run in different batches. Otherwise a single giant project would keep one thread busy
+     * long after the others have finished.
+     */
+    private static List<List<Tile>> createBatches(final WorkRecordStore store, final OverlapEngine engine,
+                                                  final int parallelism) {
+        final int projectCount = store.projectCount();
+
+        final long[] projectCosts = new long[projectCount];
+        long totalCost = 0;
+        for (int project = 0; project < projectCount; project++) {
+            projectCosts[project] = estimateProjectCost(store, project, engine);
+            totalCost += projectCosts[project];
+        }
+        final long maxTileCost = Math.max(MIN_TILE_COST, Math.ceilDiv(totalCost, parallelism));
+
+        final List<Tile> tiles = new ArrayList<>(projectCount);
+        for (int project = 0; project < projectCount; project++) {
+            if (projectCosts[project] <= maxTileCost) {
+                tiles.add(new Tile(project, store.projectStart(project), store.projectEnd(project),
+                        projectCosts[project], null));
+            } else {
+                splitProject(store, project, engine, maxTileCost, tiles);
+            }
+        }
+        tiles.sort(Comparator.comparingLong(Tile::cost).reversed());
+
+        final int batchCount = (int) Math.max(1, Math.min(tiles.size(), (long) parallelism * BATCHES_PER_THREAD));
+        final List<List<Tile>> batches = new ArrayList<>(batchCount);
+        final long[] batchCosts = new long[batchCount];
+        for (int batch = 0; batch < batchCount; batch++) {
+            batches.add(new ArrayList<>());
+        }
+
+        for (final Tile tile : tiles) {
+            int cheapest = 0;
+            for (int batch = 1; batch < batchCount; batch++) {
+                if (batchCosts[batch] < batchCosts[cheapest]) {
+                    cheapest = batch;
+                }
+            }
+            batches.get(cheapest).add(tile);
+            batchCosts[cheapest] += tile.cost();
+        }
+        return batches;
+    }
+
+    /**
+     * Cuts a project into ranges of consecutive records whose estimated cost reaches the given maximum, charging
+     * every tile of the sweep line also for seeding it with the earlier records of the project.
+     */
+    private static void splitProject(final WorkRecordStore store, final int project, final OverlapEngine engine,
+                                      final long maxTileCost, final List<Tile> tiles) {
+        final int start = store.projectStart(project);
+        final long[] recordCosts = estimateRecordCosts(store, project, engine);
+        final List<Tile> projectTiles = new ArrayList<>();
+        final SplitProject split = new SplitProject();
+
+        int firstRecord = start;
+        long cost = 0;
+        for (int i = 0; i < recordCosts.length; i++) {
+            cost += recordCosts[i];
+            if (cost >= maxTileCost || i == recordCosts.length - 1) {
+                final long seedCost = engine == OverlapEngine.SWEEP_LINE ? firstRecord - start : 0;
+                projectTiles.add(new Tile(project, firstRecord, start + i + 1, cost + seedCost, split));
+                firstRecord = start + i + 1;
+                cost = 0;
+            }
+        }
+
+        split.remainingTiles.set(projectTiles.size());
+        tiles.addAll(projectTiles);
+    }
+
+    /**
+     * Estimates the number of record pairs an engine visits in a project.
+     * <p>
+     * Small projects are estimated by their number of pairs, which is an upper bound for the sweep line.
+     */
+    private static long estimateProjectCost(final WorkRecordStore store, final int project,
+                                            final OverlapEngine engine) {
+        final long size = store.projectEnd(project) - store.projectStart(project);
+        final long pairs = size * (size - 1) / 2 + size;
+        if (engine == OverlapEngine.PAIRWISE || pairs <= MIN_TILE_COST) {
+            return pairs;
+        }
+
+        long cost = 0;
+        for (final long recordCost : estimateRecordCosts(store, project, engine)) {
+            cost += recordCost;
+        }
+        return cost;
+    }
+
+    /**
+     * Estimates the number of record pairs an engine visits for every record of a project, plus one for the record
+     * itself.
+     * <p>
+     * The pairwise engine pairs a record with every later record. The sweep line pairs it with the earlier records
+     * that have not ended before it starts. Since the records are sorted by their start date, every record that ended
+     * before the current one starts is also an earlier record, so the count is the number of earlier records minus
+     * the number of all records that ended before, which a sorted array of the end dates answers in a single pass.
+     */
+    private static long[] estimateRecordCosts(final WorkRecordStore store, final int project,
+                                              final OverlapEngine engine) {
+        final int start = store.projectStart(project);
+        final int end = store.projectEnd(project);
+        final long[] recordCosts = new long[end - start];
+        if (engine == OverlapEngine.PAIRWISE) {
+            for (int i = start; i < end; i++) {
+                recordCosts[i - start] = end - i;
+            }
+            return recordCosts;
+        }
+
+        final int[] endDays = new int[end - start];
+        int nonEmpty = 0;
+        for (int i = start; i < end; i++) {
+            if (store.toEpochDay(i) >= store.fromEpochDay(i)) {
+                endDays[nonEmpty++] = store.toEpochDay(i);
+            }
+        }
+        Arrays.sort(endDays, 0, nonEmpty);
+
+        int earlier = 0;
+        int ended = 0;
+        for (int i = start; i < end; i++) {
+            final int from = store.fromEpochDay(i);
+            recordCosts[i - start] = 1;
+            if (store.toEpochDay(i) >= from) {
+                while (ended < nonEmpty && endDays[ended] < from) {
+                    ended++;
+                }
+                recordCosts[i - start] += earlier - ended;
+                earlier++;
+            }
+        }
+        return recordCosts;
+    }
+
+    private static Callable<PairOverlapAccumulator> createTask(final WorkRecordStore store, final List<Tile> batch,
+                                                               final OverlapEngine engine) {
+        return () -> {
+            final PairOverlapAccumulator partialAccumulator = new PairOverlapAccumulator();
+            for (final Tile tile : batch) {
+                if (tile.split() == null) {
+                    EmployeeOverlapCalculator.computeProjectOverlaps(store, tile.project(), engine,
+                            partialAccumulator);
+                } else {
+                    final EmployeeOverlapCalculator.PairCounts counts = EmployeeOverlapCalculator.computeTileOverlaps(
+                            store, tile.project(), tile.firstRecord(), tile.lastRecord(), engine, partialAccumulator);
+                    tile.split().finishTile(store, tile.project(), counts);
+                }
+            }
+            return partialAccumulator;
+        };
+    }
+
+    /**
+     * A range of consecutive records of a project.
+     *
+     * @param project     the index of the project in the store
+     * @param firstRecord the index of the first record of the range in the store
+     * @param lastRecord  the index after the last record of the range in the store
+     * @param cost        the estimated number of record pairs visited by the tile
+     * @param split       the progress of the project the tile belongs to, or {@code null} for a project that is not
+     *                    split
+     */
+    private record Tile(int project, int firstRecord, int lastRecord, long cost, SplitProject split) {
+    }
+
+    /**
+     * Sums the counts of the tiles of a split project, so that the project is recorded in the {@link PipelineMetrics}
+     * once, by the last tile to finish.
+     */
+    private static final class SplitProject {
+        private final AtomicInteger remainingTiles = new AtomicInteger();
+        private final AtomicLong visited = new AtomicLong();
+        private final AtomicLong overlapping = new AtomicLong();
+
+        private void finishTile(final WorkRecordStore store, final int project,
+                                final EmployeeOverlapCalculator.PairCounts counts) {
+            visited.addAndGet(counts.visited());
+            overlapping.addAndGet(counts.overlapping());
+            if (remainingTiles.decrementAndGet() == 0) {
+                final int start = store.projectStart(project);
+                PipelineMetrics.recordProject(store.projectId(start), store.projectEnd(project) - start,
+                        visited.get(), overlapping.get());
+            }
+        }
+    }
+
+    private static PairOverlapAccumulator mergePartialResults(final List<Future<PairOverlapAccumulator>> futures) {
+        PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+        try {
+            for (final Future<PairOverlapAccumulator> future : futures) {
+                PairOverlapAccumulator partialAccumulator = future.get();
+                // Merge the smaller accumulator into the bigger one
+                if (partialAccumulator.size() > accumulator.size()) {
+                    final PairOverlapAccumulator tmp = accumulator;
+                    accumulator = partialAccumulator;
+                    partialAccumulator = tmp;
+                }
+                accumulator.addAll(partialAccumulator);
+            }
+        }
+        catch (final InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Overlap computation was interrupted.", e);
+        }
+        catch (final ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new RuntimeException("Could not compute overlaps.", e.getCause());
+        }
+        return accumulator;
+    }
+
+    private static int getParallelism(final ExecutorService executor) {
+        if (executor instanceof ForkJoinPool forkJoinPool) {
+            return forkJoinPool.getParallelism();
+        }
+        if (executor instanceof ThreadPoolExecutor threadPoolExecutor) {
+            // A cached pool has no core threads and an unbounded maximum, so neither tells how many threads will run
+            final int corePoolSize = threadPoolExecutor.getCorePoolSize();
+            return corePoolSize > 0 ? corePoolSize : Runtime.getRuntime().availableProcessors();
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -3,8 +3,8 @@ package com.plamen.employees.dates;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * Utility class for parsing dates from strings using a set of common formats.
@@ -12,6 +12,10 @@ import java.util.Locale;
  * This class attempts to parse a date string against multiple supported formats and returns the
  * first successfully parsed {@link LocalDate}. If none match, an {@link IllegalArgumentException} is thrown.
  * </p>
+ * <p>
+ * The numeric formats are parsed by hand first, which avoids a {@link DateTimeParseException} for every format that
+ * does not match. See {@link DetectingDateParser} for parsing all dates of a file that share a single format.
+ * </p>
  * Supported formats:
  * <ul>
  *     <li>yyyy-MM-dd</li>
@@ -24,14 +28,12 @@ import java.util.Locale;
  */
 public class DateFormatter {
 
-    private static final List<DateTimeFormatter> SUPPORTED_DATE_FORMATTERS = List.of(
-            DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("yyyy/MM/dd", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("dd/MM/yyyy", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH),
-            DateTimeFormatter.ofPattern("yyyy MMM dd", Locale.ENGLISH)
-    );
+    /**
+     * Returned by {@link #toEpochDay(int, int, int)} when the fields do not form a valid date.
+     */
+    public static final int INVALID_EPOCH_DAY = Integer.MIN_VALUE;
+
+    private static final int DAYS_0000_TO_1970 = 719_528;
 
     /**
      * Attempts to parse the given date string using the supported date formats.
@@ -41,13 +43,113 @@ public class DateFormatter {
      * @throws IllegalArgumentException if none of the supported formats match
      */
     public static LocalDate parseDate(final String rawDate) {
-        for (final DateTimeFormatter formatter : SUPPORTED_DATE_FORMATTERS) {
+        final String date = rawDate.trim();
+        final int epochDay = SupportedDateFormat.parseAnyNumeric(date);
+        if (epochDay != INVALID_EPOCH_DAY) {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+
+        for (final SupportedDateFormat format : SupportedDateFormat.values()) {
             try {
-                return LocalDate.parse(rawDate.trim(), formatter);
+                return LocalDate.parse(date, format.formatter());
             } catch (DateTimeParseException ignored) {
                 // Try next formatter
             }
         }
         throw new IllegalArgumentException("Unsupported date format: " + rawDate);
     }
-}
+
+    /**
+     * Attempts to parse the given date string using the supported date formats and returns its epoch day.
+     * <p>
+     * Dates in one of the numeric formats are parsed without allocating.
+     *
+     * @param rawDate the raw date string to parse
+     * @return the {@link LocalDate#toEpochDay() epoch day} of the parsed date
+     * @throws IllegalArgumentException if none of the supported formats match
+     */
+    public static int parseEpochDay(final String rawDate) {
+        final int epochDay = SupportedDateFormat.parseAnyNumeric(rawDate.trim());
+        return epochDay != INVALID_EPOCH_DAY
+                ? epochDay
+                : Math.toIntExact(parseDate(rawDate).toEpochDay());
+    }
+
+    /**
+     * @return the formatters of all supported date formats, e.g. to write dates that this class can parse
+     */
+    public static List<DateTimeFormatter> getSupportedFormatters() {
+        return Arrays.stream(SupportedDateFormat.values())
+                .map(SupportedDateFormat::formatter)
+                .toList();
+    }
+
+    /**
+     * Finds the format of a trimmed date string.
+     *
+     * @param date the trimmed date string
+     * @return the format that parses the date, or {@code null} if none of the supported formats match
+     */
+    static SupportedDateFormat findFormat(final String date) {
+        for (final SupportedDateFormat format : SupportedDateFormat.values()) {
+            if (format.parseNumeric(date) != INVALID_EPOCH_DAY || tryParse(date, format) != null) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a trimmed date string with a single format.
+     *
+     * @param date   the trimmed date string
+     * @param format the format to parse with
+     * @return the parsed date, or {@code null} if the date is in another format
+     */
+    static LocalDate tryParse(final String date, final SupportedDateFormat format) {
+        try {
+            return LocalDate.parse(date, format.formatter());
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts the fields of a date to its {@link LocalDate#toEpochDay() epoch day} without creating a
+     * {@link LocalDate}.
+     * <p>
+     * Only years from 1 to 9999 are accepted, which are the years the four-digit patterns above can parse.
+     *
+     * @param year       the year, from 1 to 9999
+     * @param month      the month of the year, from 1 to 12
+     * @param dayOfMonth the day of the month, from 1 to the length of the month
+     * @return the epoch day of the date, or {@link #INVALID_EPOCH_DAY} if the fields do not form a valid date
+     */
+    public static int toEpochDay(final int year, final int month, final int dayOfMonth) {
+        if (year < 1 || year > 9999 || month < 1 || month > 12 || dayOfMonth < 1
+                || dayOfMonth > lengthOfMonth(year, month)) {
+            return INVALID_EPOCH_DAY;
+        }
+
+        // The same calculation as LocalDate.toEpochDay() for positive years
+        int total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += dayOfMonth - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(final int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.plamen.employees.dates;
+
+import com.plamen.employees.metrics.PipelineMetrics;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Parses the dates of a single file, which are usually all written in the same format.
+ * <p>
+ * The format is detected from the first dates. Once enough of them agree, only that format is tried, so a file
+ * written in {@code dd MMM yyyy} no longer pays for a {@link java.time.format.DateTimeParseException} from each of the
+ * formats tried before it. Numeric dates are parsed by hand. Other dates are kept in a bounded cache, because real
+ * files repeat the same dates very often.
+ * <p>
+ * A date that does not match the detected format, and every date of a file that mixes formats, is parsed with
+ * {@link DateFormatter#parseDate(String)}, so the results are always the same as with {@link DateFormatter}.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class DetectingDateParser {
+
+    private static final int DEFAULT_SAMPLE_SIZE = 32;
+    private static final int DEFAULT_CACHE_SIZE = 4096;
+
+    private final int sampleSize;
+    private final Map<String, LocalDate> cache;
+
+    private SupportedDateFormat candidate;
+    private int matchingSamples;
+    private boolean mixedFormats;
+    private SupportedDateFormat detectedFormat;
+
+    public DetectingDateParser() {
+        this(DEFAULT_SAMPLE_SIZE, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * @param sampleSize the number of dates that must share a format before only that format is tried
+     * @param cacheSize  the maximum number of parsed dates kept in the cache
+     */
+    public DetectingDateParser(final int sampleSize, final int cacheSize) {
+        if (sampleSize < 1 || cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid sample size or cache size: " + sampleSize + ", " + cacheSize);
+        }
+        this.sampleSize = sampleSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, LocalDate> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Parses the given date string.
+     *
+     * @param rawDate the raw date string to parse
+     * @return the parsed {@link LocalDate}
+     * @throws IllegalArgumentException if none of the supported formats match
+     */
+    public LocalDate parseDate(final String rawDate) {
+        return LocalDate.ofEpochDay(parseEpochDay(rawDate));
+    }
+
+    /**
+     * Parses the given date string and returns its epoch day.
+     *
+     * @param rawDate the raw date string to parse
+     * @return the {@link LocalDate#toEpochDay() epoch day} of the parsed date
+     * @throws IllegalArgumentException if none of the supported formats match
+     */
+    public int parseEpochDay(final String rawDate) {
+        final String date = rawDate.trim();
+        if (detectedFormat == null && !mixedFormats) {
+            sample(date);
+        }
+
+        final int epochDay = detectedFormat != null
+                ? detectedFormat.parseNumeric(date)
+                : SupportedDateFormat.parseAnyNumeric(date);
+        if (epochDay != DateFormatter.INVALID_EPOCH_DAY) {
+            return epochDay;
+        }
+
+        LocalDate parsedDate = cache.get(date);
+        if (parsedDate == null) {
+            if (detectedFormat != null && !detectedFormat.isNumeric()) {
+                parsedDate = DateFormatter.tryParse(date, detectedFormat);
+            }
+            if (parsedDate == null) {
+                PipelineMetrics.recordDateFallback();
+                parsedDate = DateFormatter.parseDate(rawDate);
+            }
+            cache.put(date, parsedDate);
+        }
+        return Math.toIntExact(parsedDate.toEpochDay());
+    }
+
+    /**
+     * @return the pattern of the detected format, or empty while it is not yet detected or if the dates mix formats
+     */
+    public Optional<String> getDetectedPattern() {
+        return Optional.ofNullable(detectedFormat).map(SupportedDateFormat::pattern);
+    }
+
+    private void sample(final String date) {
+        final SupportedDateFormat format = DateFormatter.findFormat(date);
+        if (format == null) {
+            return;
+        }
+        if (candidate == null) {
+            candidate = format;
+        }
+        if (format != candidate) {
+            mixedFormats = true;
+        } else if (++matchingSamples >= sampleSize) {
+            detectedFormat = candidate;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.plamen.employees.dates;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * The date formats supported by {@link DateFormatter}, in the order in which they are tried.
+ * <p>
+ * The formats are mutually exclusive, so a date string matches at most one of them. The numeric formats can also be
+ * parsed by hand, without a {@link DateTimeFormatter} and without allocating.
+ */
+enum SupportedDateFormat {
+
+    YEAR_FIRST_DASH("yyyy-MM-dd", true, '-'),
+    DAY_FIRST_DASH("dd-MM-yyyy", false, '-'),
+    YEAR_FIRST_SLASH("yyyy/MM/dd", true, '/'),
+    DAY_FIRST_SLASH("dd/MM/yyyy", false, '/'),
+    DAY_FIRST_TEXT("dd MMM yyyy"),
+    YEAR_FIRST_TEXT("yyyy MMM dd");
+
+    private static final int NUMERIC_LENGTH = 10;
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final boolean numeric;
+    private final boolean yearFirst;
+    private final char separator;
+
+    SupportedDateFormat(final String pattern) {
+        this(pattern, false, false, ' ');
+    }
+
+    SupportedDateFormat(final String pattern, final boolean yearFirst, final char separator) {
+        this(pattern, true, yearFirst, separator);
+    }
+
+    SupportedDateFormat(final String pattern, final boolean numeric, final boolean yearFirst, final char separator) {
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern, Locale.ENGLISH);
+        this.numeric = numeric;
+        this.yearFirst = yearFirst;
+        this.separator = separator;
+    }
+
+    String pattern() {
+        return pattern;
+    }
+
+    DateTimeFormatter formatter() {
+        return formatter;
+    }
+
+    boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * Parses a trimmed date in this numeric format by hand.
+     * <p>
+     * Only the exact four-digit-year layout of a valid date is accepted. Anything else, including the dates that the
+     * formatter would adjust, such as the 30th of February, is left to the formatter.
+     *
+     * @param text the trimmed date
+     * @return the epoch day of the date, or {@link DateFormatter#INVALID_EPOCH_DAY} if the text is not in this format
+     */
+    int parseNumeric(final CharSequence text) {
+        if (!numeric || text.length() != NUMERIC_LENGTH) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+
+        final int yearStart = yearFirst ? 0 : 6;
+        final int monthStart = yearFirst ? 5 : 3;
+        final int dayStart = yearFirst ? 8 : 0;
+        if (text.charAt(yearFirst ? 4 : 2) != separator || text.charAt(yearFirst ? 7 : 5) != separator) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+
+        final int year = parseDigits(text, yearStart, yearStart + 4);
+        final int month = parseDigits(text, monthStart, monthStart + 2);
+        final int day = parseDigits(text, dayStart, dayStart + 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+        return DateFormatter.toEpochDay(year, month, day);
+    }
+
+    /**
+     * Parses a trimmed date in any of the numeric formats by hand.
+     *
+     * @param text the trimmed date
+     * @return the epoch day of the date, or {@link DateFormatter#INVALID_EPOCH_DAY} if the text is in none of them
+     */
+    static int parseAnyNumeric(final CharSequence text) {
+        if (text.length() != NUMERIC_LENGTH) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+        final char separator = text.charAt(4) == '-' || text.charAt(4) == '/' ? text.charAt(4) : text.charAt(2);
+        final boolean yearFirst = text.charAt(4) == separator;
+        for (final SupportedDateFormat format : values()) {
+            if (format.numeric && format.yearFirst == yearFirst && format.separator == separator) {
+                return format.parseNumeric(text);
+            }
+        }
+        return DateFormatter.INVALID_EPOCH_DAY;
+    }
+
+    private static int parseDigits(final CharSequence text, final int from, final int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,13 @@
+package com.plamen.employees.dto;
+
+import java.util.List;
+
+/**
+ * The pairs with the longest total overlap, as found by the approximate mode.
+ *
+ * @param pairs    the pairs sorted by their estimated total in descending order
+ * @param maxError the largest total a pair that is not listed can have
+ * @param exact    whether the listed pairs are known to be the exact answer, with their exact totals
+ */
+public record ApproximateOverlapResult(List<ApproximatePairOverlap> pairs, long maxError, boolean exact) {
+}
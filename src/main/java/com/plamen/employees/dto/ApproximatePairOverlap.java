@@ -0,0 +1,20 @@
+package com.plamen.employees.dto;
+
+/**
+ * The estimated total overlap of a pair of employees, as counted by a heavy-hitter sketch.
+ * <p>
+ * The true total lies between {@link #lowerBound()} and {@code estimatedDays}.
+ *
+ * @param pair          the pair of employees
+ * @param estimatedDays the estimated total overlapping days, never less than the true total
+ * @param maxError      the maximum number of days by which the estimate can exceed the true total
+ */
+public record ApproximatePairOverlap(EmployeePair pair, long estimatedDays, long maxError) {
+
+    /**
+     * @return the number of overlapping days the pair has at least
+     */
+    public long lowerBound() {
+        return estimatedDays - maxError;
+    }
+}
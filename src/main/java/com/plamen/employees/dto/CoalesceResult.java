@@ -0,0 +1,12 @@
+package com.plamen.employees.dto;
+
+import com.plamen.employees.stores.WorkRecordStore;
+
+/**
+ * The outcome of merging the periods of each employee on each project.
+ *
+ * @param records       the records with disjoint, non-adjacent periods per employee and project
+ * @param mergedRecords the number of records that were merged into another one
+ */
+public record CoalesceResult(WorkRecordStore records, int mergedRecords) {
+}
@@ -0,0 +1,17 @@
+package com.plamen.employees.dto;
+
+/**
+ * A work data file that could not be loaded.
+ *
+ * @param fileName the file, or the location that did not match any file
+ * @param error    the reason the file could not be loaded
+ */
+public record FileLoadError(String fileName, Exception error) {
+
+    /**
+     * @return a single-line description of the error, e.g. for a log
+     */
+    public String describe() {
+        return fileName + ": " + error.getMessage();
+    }
+}
@@ -0,0 +1,10 @@
+package com.plamen.employees.dto;
+
+/**
+ * Represents a colleague of an employee and the days they have worked together.
+ *
+ * @param partnerId the ID of the colleague
+ * @param days      the total overlapping days of the two employees
+ */
+public record PartnerOverlap(long partnerId, long days) {
+}
@@ -0,0 +1,22 @@
+package com.plamen.employees.dto;
+
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.List;
+
+/**
+ * The outcome of loading several work data files at once.
+ *
+ * @param records     the records of all files that were loaded, merged into a single store
+ * @param loadedFiles the files that were loaded
+ * @param errors      the files that could not be loaded, each with its own error
+ */
+public record WorkDataLoadResult(WorkRecordStore records, List<String> loadedFiles, List<FileLoadError> errors) {
+
+    /**
+     * @return {@code true} if at least one file could not be loaded
+     */
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
@@ -8,5 +8,22 @@ public enum FileWorkDataType {
     /**
      * Character-separated values file format.
      */
-    CSV
+    CSV,
+
+    /**
+     * Character-separated values file format, read through a memory-mapped fast path that parses numeric dates
+     * directly from the file's bytes.
+     */
+    MAPPED_CSV,
+
+    /**
+     * Character-separated values file format, split into byte ranges that are parsed on several cores with the
+     * memory-mapped fast path.
+     */
+    PARALLEL_CSV,
+
+    /**
+     * Binary snapshot of already parsed work records with fixed-width little-endian columns.
+     */
+    BINARY
 }
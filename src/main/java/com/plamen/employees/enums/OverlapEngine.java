@@ -0,0 +1,18 @@
+package com.plamen.employees.enums;
+
+/**
+ * These types define the algorithms that can be used to compute the overlapping days between employees of a project.
+ */
+public enum OverlapEngine {
+
+    /**
+     * Compares every pair of records within a project. The cost is quadratic in the size of the project.
+     */
+    PAIRWISE,
+
+    /**
+     * Sorts the records of a project by their start date and sweeps over them with a set of active records, so only
+     * the pairs that really overlap are visited.
+     */
+    SWEEP_LINE
+}
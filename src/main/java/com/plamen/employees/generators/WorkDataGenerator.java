@@ -0,0 +1,277 @@
+package com.plamen.employees.generators;
+
+import com.plamen.employees.dates.DateFormatter;
+import com.plamen.employees.enums.FileWorkDataType;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
+import com.plamen.employees.writers.BinaryWorkDataWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Generates deterministic, synthetic work data for load and scale testing.
+ * <p>
+ * Records are generated one at a time from a seeded {@link Random} and written straight to their destination, so
+ * files far larger than the heap can be produced. The same settings always produce the same records, in every output
+ * format.
+ * <p>
+ * Employees are picked uniformly, project sizes follow a Zipf distribution and periods start between 2000 and 2019,
+ * so a {@code NULL} end date is never before the start date.
+ */
+public class WorkDataGenerator {
+
+    private static final String NULL_END_DATE = "NULL";
+    private static final int FIRST_EPOCH_DAY = WorkRecordStore.toEpochDay(LocalDate.of(2000, 1, 1));
+    private static final int START_DAY_RANGE = 20 * 365;
+    private static final int MAX_PERIOD_DAYS = 2 * 365;
+    // Repeated assignments are drawn from this many of the most recent ones, which keeps the memory bounded
+    private static final int RECENT_ASSIGNMENTS = 1024;
+
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = DateFormatter.getSupportedFormatters();
+
+    private final WorkDataGeneratorSettings settings;
+
+    public WorkDataGenerator(final WorkDataGeneratorSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Generates the records and writes them to a file in the given format, replacing the file if it exists.
+     *
+     * @param path the file to write
+     * @param type {@link FileWorkDataType#BINARY} for a binary snapshot, any other type for CSV
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void write(final Path path, final FileWorkDataType type) {
+        if (type == FileWorkDataType.BINARY) {
+            writeBinary(path);
+        } else {
+            writeCsv(path);
+        }
+    }
+
+    /**
+     * Generates the records as a CSV file without a header, replacing the file if it exists.
+     *
+     * @param path the file to write
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void writeCsv(final Path path) {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writeCsv(writer);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write work data file: " + path, e);
+        }
+    }
+
+    /**
+     * Generates the records as CSV lines without a header.
+     *
+     * @param writer the writer to write to, which is not closed
+     * @throws UncheckedIOException if the writer fails
+     */
+    public void writeCsv(final Writer writer) {
+        final BufferedWriter bufferedWriter = writer instanceof BufferedWriter buffered
+                ? buffered
+                : new BufferedWriter(writer);
+        forEachRow(row -> {
+            try {
+                bufferedWriter.write(String.join(",", row));
+                bufferedWriter.write('\n');
+            }
+            catch (final IOException e) {
+                throw new UncheckedIOException("Could not write work data.", e);
+            }
+        });
+        try {
+            bufferedWriter.flush();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write work data.", e);
+        }
+    }
+
+    /**
+     * Generates the records as a binary snapshot, replacing the file if it exists. {@code NULL} end dates are
+     * resolved to today, as the CSV parsers do.
+     *
+     * @param path the file to write
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public void writeBinary(final Path path) {
+        try (BinaryWorkDataWriter writer = BinaryWorkDataWriter.open(path, settings.recordCount())) {
+            generate(writer);
+        }
+    }
+
+    /**
+     * Generates the records as CSV fields: {@code EmpID, ProjectID, DateFrom, DateTo}.
+     *
+     * @param consumer the consumer that receives one row at a time
+     */
+    public void forEachRow(final Consumer<String[]> consumer) {
+        final Cursor cursor = new Cursor();
+        for (int i = 0; i < settings.recordCount(); i++) {
+            cursor.next();
+            final DateTimeFormatter formatter = DATE_FORMATTERS.get(cursor.format);
+            consumer.accept(new String[]{
+                    Long.toString(cursor.empId),
+                    Long.toString(cursor.projectId),
+                    formatter.format(LocalDate.ofEpochDay(cursor.fromEpochDay)),
+                    cursor.nullEnd ? NULL_END_DATE : formatter.format(LocalDate.ofEpochDay(cursor.toEpochDay))});
+        }
+    }
+
+    /**
+     * Generates the records as primitive fields, without formatting any dates. {@code NULL} end dates are resolved
+     * to today.
+     *
+     * @param sink the sink that receives one record at a time
+     */
+    public void generate(final WorkRecordSink sink) {
+        final int today = WorkRecordStore.toEpochDay(LocalDate.now());
+        final Cursor cursor = new Cursor();
+        for (int i = 0; i < settings.recordCount(); i++) {
+            cursor.next();
+            sink.accept(cursor.empId, cursor.projectId, cursor.fromEpochDay,
+                    cursor.nullEnd ? today : cursor.toEpochDay);
+        }
+    }
+
+    /**
+     * Generates the records with the given settings and writes them to a file.
+     * <p>
+     * Options are passed as {@code --name=value}, e.g.
+     * {@code --output=work-data-10m.csv --records=10000000 --projects=100000 --skew=1.1 --mixed-dates=true}.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(final String[] args) {
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            options.put(separator < 0 ? arg : arg.substring(0, separator),
+                    separator < 0 ? "" : arg.substring(separator + 1));
+        }
+
+        // The record count also sets the default employees and projects, so the other options are applied after it,
+        // wherever it was given
+        WorkDataGeneratorSettings settings =
+                WorkDataGeneratorSettings.of(Integer.parseInt(options.getOrDefault("--records", "1000000")));
+        Path output = null;
+        FileWorkDataType type = FileWorkDataType.CSV;
+
+        for (final Map.Entry<String, String> option : options.entrySet()) {
+            final String name = option.getKey();
+            final String value = option.getValue();
+
+            switch (name) {
+                case "--output" -> output = Path.of(value);
+                case "--type" -> type = FileWorkDataType.valueOf(value.toUpperCase(Locale.ROOT));
+                case "--records" -> {
+                    // Applied above
+                }
+                case "--employees" -> settings = settings.withEmployeeCount(Integer.parseInt(value));
+                case "--projects" -> settings = settings.withProjectCount(Integer.parseInt(value));
+                case "--skew" -> settings = settings.withProjectSkew(Double.parseDouble(value));
+                case "--mixed-dates" -> settings = settings.withMixedDateFormats(Boolean.parseBoolean(value));
+                case "--null-ratio" -> settings = settings.withNullEndRatio(Double.parseDouble(value));
+                case "--repeat-ratio" -> settings = settings.withRepeatRatio(Double.parseDouble(value));
+                case "--seed" -> settings = settings.withSeed(Long.parseLong(value));
+                default -> throw new IllegalArgumentException("Unknown option: " + name);
+            }
+        }
+        if (output == null) {
+            throw new IllegalArgumentException("Missing value for option: --output");
+        }
+
+        new WorkDataGenerator(settings).write(output, type);
+        System.out.printf("Generated %d records in %s%n", settings.recordCount(), output);
+    }
+
+    /**
+     * The random state of one pass over the records. Every record draws the same random values in the same order,
+     * no matter which of them are used, so every output format gets the same records.
+     */
+    private final class Cursor {
+
+        private final Random random = new Random(settings.seed());
+        private final double[] cumulativeProjectShares = computeCumulativeProjectShares();
+        private final long[] recentEmpIds = new long[RECENT_ASSIGNMENTS];
+        private final long[] recentProjectIds = new long[RECENT_ASSIGNMENTS];
+        private int recentCount;
+        private int recentWrites;
+
+        private long empId;
+        private long projectId;
+        private int fromEpochDay;
+        private int toEpochDay;
+        private boolean nullEnd;
+        private int format;
+
+        void next() {
+            final boolean repeat = random.nextDouble() < settings.repeatRatio() && recentCount > 0;
+            final int recent = random.nextInt(RECENT_ASSIGNMENTS);
+            final long newEmpId = random.nextInt(settings.employeeCount()) + 1L;
+            final long newProjectId = sampleProject(random.nextDouble()) + 1L;
+            if (repeat) {
+                empId = recentEmpIds[recent % recentCount];
+                projectId = recentProjectIds[recent % recentCount];
+            } else {
+                empId = newEmpId;
+                projectId = newProjectId;
+                final int slot = recentWrites++ % RECENT_ASSIGNMENTS;
+                recentEmpIds[slot] = empId;
+                recentProjectIds[slot] = projectId;
+                recentCount = Math.min(recentCount + 1, RECENT_ASSIGNMENTS);
+            }
+
+            fromEpochDay = FIRST_EPOCH_DAY + random.nextInt(START_DAY_RANGE);
+            toEpochDay = fromEpochDay + random.nextInt(MAX_PERIOD_DAYS);
+            nullEnd = random.nextDouble() < settings.nullEndRatio();
+            final int randomFormat = random.nextInt(DATE_FORMATTERS.size());
+            format = settings.mixedDateFormats() ? randomFormat : 0;
+        }
+
+        private double[] computeCumulativeProjectShares() {
+            final double[] cumulative = new double[settings.projectCount()];
+            double sum = 0;
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                sum += 1 / Math.pow(rank + 1, settings.projectSkew());
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < cumulative.length; rank++) {
+                cumulative[rank] /= sum;
+            }
+            return cumulative;
+        }
+
+        private int sampleProject(final double value) {
+            int low = 0;
+            int high = cumulativeProjectShares.length - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (cumulativeProjectShares[middle] < value) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
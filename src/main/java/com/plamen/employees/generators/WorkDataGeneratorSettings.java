@@ -0,0 +1,85 @@
+package com.plamen.employees.generators;
+
+/**
+ * The shape of the work data produced by {@link WorkDataGenerator}.
+ *
+ * @param seed             the seed of the random generator, the same seed always produces the same data
+ * @param recordCount      the number of records to generate
+ * @param employeeCount    the number of distinct employees
+ * @param projectCount     the number of distinct projects
+ * @param projectSkew      the Zipf exponent of the project sizes, {@code 0} spreads the records evenly over the
+ *                         projects while higher values concentrate them in a few big projects
+ * @param mixedDateFormats whether each date uses a random supported format instead of {@code yyyy-MM-dd}
+ * @param nullEndRatio     the share of records whose end date is {@code NULL}
+ * @param repeatRatio      the share of records that repeat the employee and project of an earlier record, with a
+ *                         different period
+ */
+public record WorkDataGeneratorSettings(long seed, int recordCount, int employeeCount, int projectCount,
+                                        double projectSkew, boolean mixedDateFormats, double nullEndRatio,
+                                        double repeatRatio) {
+
+    public WorkDataGeneratorSettings {
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("Record count must not be negative: " + recordCount);
+        }
+        if (employeeCount < 1 || projectCount < 1) {
+            throw new IllegalArgumentException("There must be at least one employee and one project.");
+        }
+        if (projectSkew < 0) {
+            throw new IllegalArgumentException("Project skew must not be negative: " + projectSkew);
+        }
+        requireRatio("NULL end date ratio", nullEndRatio);
+        requireRatio("Repeat ratio", repeatRatio);
+    }
+
+    /**
+     * @param recordCount the number of records to generate
+     * @return settings for the given number of records with one employee per four records, one project per hundred
+     * records, moderately skewed project sizes and ISO dates only
+     */
+    public static WorkDataGeneratorSettings of(final int recordCount) {
+        return new WorkDataGeneratorSettings(42, recordCount, Math.max(recordCount / 4, 2),
+                Math.max(recordCount / 100, 1), 1.0, false, 0.0, 0.0);
+    }
+
+    public WorkDataGeneratorSettings withSeed(final long seed) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withEmployeeCount(final int employeeCount) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withProjectCount(final int projectCount) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withProjectSkew(final double projectSkew) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withMixedDateFormats(final boolean mixedDateFormats) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withNullEndRatio(final double nullEndRatio) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    public WorkDataGeneratorSettings withRepeatRatio(final double repeatRatio) {
+        return new WorkDataGeneratorSettings(seed, recordCount, employeeCount, projectCount, projectSkew,
+                mixedDateFormats, nullEndRatio, repeatRatio);
+    }
+
+    private static void requireRatio(final String name, final double ratio) {
+        if (!(ratio >= 0 && ratio <= 1)) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1: " + ratio);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.PairOverlapConsumer;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A stateful index of work records that keeps the total overlap of every pair of employees up to date while new
+ * records are added, so a few new records do not require recomputing every project.
+ * <p>
+ * Every project keeps its periods in an {@link IntervalTree}. A new record is only compared with the periods of its
+ * own project that overlap it, and the days they share are added to the pair totals. The totals are the same as the
+ * ones {@link com.plamen.employees.calculators.EmployeeOverlapCalculator} computes for all records added so far.
+ * <p>
+ * Totals only ever grow, so the pair with the longest overlap is tracked on every update and is available at any
+ * time. This class is not thread-safe.
+ */
+public class IncrementalOverlapIndex implements WorkRecordSink {
+
+    private final Map<Long, IntervalTree> projects = new HashMap<>();
+    private final PairOverlapAccumulator totals = new PairOverlapAccumulator();
+    private int recordCount;
+
+    private boolean hasMaxPair;
+    private long maxEmp1;
+    private long maxEmp2;
+    private long maxDays;
+
+    /**
+     * Creates an index that holds all records of the given store.
+     *
+     * @param store the initial work records
+     * @return the index with the overlaps of all records of the store
+     */
+    public static IncrementalOverlapIndex of(final WorkRecordStore store) {
+        final IncrementalOverlapIndex index = new IncrementalOverlapIndex();
+        index.addAll(store);
+        return index;
+    }
+
+    /**
+     * Adds a single record and updates the totals of every pair it overlaps with.
+     *
+     * @param record the record to add
+     */
+    public void add(final WorkRecord record) {
+        accept(record.empId(), record.projectId(),
+                WorkRecordStore.toEpochDay(record.dateFrom()), WorkRecordStore.toEpochDay(record.dateTo()));
+    }
+
+    /**
+     * Adds all records of a store.
+     *
+     * @param store the records to add
+     */
+    public void addAll(final WorkRecordStore store) {
+        store.forEach(this);
+    }
+
+    /**
+     * Adds a single record and updates the totals of every pair it overlaps with.
+     *
+     * @param empId        the unique identifier of the employee
+     * @param projectId    the unique identifier of the project
+     * @param fromEpochDay the start date as epoch day
+     * @param toEpochDay   the end date as epoch day
+     */
+    @Override
+    public void accept(final long empId, final long projectId, final int fromEpochDay, final int toEpochDay) {
+        recordCount++;
+        if (toEpochDay < fromEpochDay) {
+            // An empty period cannot overlap with anything
+            return;
+        }
+
+        final IntervalTree periods = projects.computeIfAbsent(projectId, id -> new IntervalTree());
+        periods.forEachOverlapping(fromEpochDay, toEpochDay, (otherEmpId, otherFrom, otherTo) -> {
+            if (otherEmpId != empId) {
+                final long days = Math.min(toEpochDay, otherTo) - Math.max(fromEpochDay, otherFrom) + 1L;
+                updateMaxPair(empId, otherEmpId, totals.addAndGet(empId, otherEmpId, days));
+            }
+        });
+        periods.add(empId, fromEpochDay, toEpochDay);
+    }
+
+    /**
+     * @return the number of records added so far
+     */
+    public int size() {
+        return recordCount;
+    }
+
+    /**
+     * @return the number of distinct projects added so far
+     */
+    public int projectCount() {
+        return projects.size();
+    }
+
+    /**
+     * Returns the total overlapping days of a pair of employees. The order of the employees does not matter.
+     *
+     * @param emp1 the ID of the first employee
+     * @param emp2 the ID of the second employee
+     * @return the total overlapping days, or {@code 0} if the pair has never overlapped
+     */
+    public long getOverlap(final long emp1, final long emp2) {
+        return totals.get(emp1, emp2);
+    }
+
+    /**
+     * Finds the employee pair with the maximum total overlap duration, in constant time. Ties are resolved in favour
+     * of the pair with the smallest employee IDs.
+     *
+     * @return an {@link Optional} containing the pair with the longest overlap, or empty if there are no pairs
+     */
+    public Optional<Map.Entry<EmployeePair, Long>> findMaxPair() {
+        return hasMaxPair
+                ? Optional.of(Map.entry(new EmployeePair(maxEmp1, maxEmp2), maxDays))
+                : Optional.empty();
+    }
+
+    /**
+     * Finds the {@code k} employee pairs with the longest total overlap duration.
+     *
+     * @param k the maximum number of pairs to return
+     * @return up to {@code k} pairs, longest overlap first
+     */
+    public List<Map.Entry<EmployeePair, Long>> findTopPairs(final int k) {
+        return totals.findTopPairs(k);
+    }
+
+    /**
+     * Passes every pair and its current total overlapping days to the given consumer, in no particular order.
+     *
+     * @param consumer the consumer that receives the pairs
+     */
+    public void forEachPair(final PairOverlapConsumer consumer) {
+        totals.forEach(consumer);
+    }
+
+    /**
+     * @return a copy of the current totals as a boxed map
+     */
+    public Map<EmployeePair, Long> toMap() {
+        return totals.toMap();
+    }
+
+    private void updateMaxPair(final long empId, final long otherEmpId, final long total) {
+        final long emp1 = Math.min(empId, otherEmpId);
+        final long emp2 = Math.max(empId, otherEmpId);
+        if (!hasMaxPair || total > maxDays
+                || (total == maxDays && (emp1 < maxEmp1 || (emp1 == maxEmp1 && emp2 < maxEmp2)))) {
+            hasMaxPair = true;
+            maxEmp1 = emp1;
+            maxEmp2 = emp2;
+            maxDays = total;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.plamen.employees.indexes;
+
+import java.util.Arrays;
+
+/**
+ * An interval tree of the work periods of a single project, which finds the periods that overlap a given period
+ * without visiting the ones that do not.
+ * <p>
+ * The tree is a treap ordered by start date, where every node also knows the latest end date in its subtree. A
+ * subtree that ends before the queried period, and everything that starts after it, is skipped. The nodes are kept in
+ * parallel primitive arrays, and their priorities are derived from their insertion order, so the shape of the tree is
+ * deterministic.
+ * <p>
+ * Dates are {@link java.time.LocalDate#toEpochDay() epoch days}, and both ends of a period are inclusive. This class is
+ * not thread-safe.
+ */
+public class IntervalTree {
+
+    private static final int NIL = -1;
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] empIds;
+    private int[] fromEpochDays;
+    private int[] toEpochDays;
+    private int[] maxToEpochDays;
+    private int[] priorities;
+    private int[] left;
+    private int[] right;
+    private int size;
+    private int root = NIL;
+
+    public IntervalTree() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of periods the tree should hold before it has to grow
+     */
+    public IntervalTree(final int expectedSize) {
+        final int capacity = Math.max(expectedSize, 1);
+        empIds = new long[capacity];
+        fromEpochDays = new int[capacity];
+        toEpochDays = new int[capacity];
+        maxToEpochDays = new int[capacity];
+        priorities = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    /**
+     * Receives a work period found in the tree.
+     */
+    @FunctionalInterface
+    public interface PeriodConsumer {
+
+        /**
+         * @param empId        the employee who worked in the period
+         * @param fromEpochDay the start of the period as epoch day
+         * @param toEpochDay   the end of the period as epoch day
+         */
+        void accept(long empId, int fromEpochDay, int toEpochDay);
+    }
+
+    /**
+     * Adds the work period of an employee.
+     *
+     * @param empId        the employee who worked in the period
+     * @param fromEpochDay the start of the period as epoch day
+     * @param toEpochDay   the end of the period as epoch day
+     */
+    public void add(final long empId, final int fromEpochDay, final int toEpochDay) {
+        if (size == empIds.length) {
+            grow();
+        }
+        final int node = size++;
+        empIds[node] = empId;
+        fromEpochDays[node] = fromEpochDay;
+        toEpochDays[node] = toEpochDay;
+        maxToEpochDays[node] = toEpochDay;
+        priorities[node] = mix(node);
+        left[node] = NIL;
+        right[node] = NIL;
+
+        root = insert(root, node);
+    }
+
+    /**
+     * @return the number of periods in the tree
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every period that shares at least one day with the given period to the consumer, in order of their start
+     * dates.
+     *
+     * @param fromEpochDay the start of the period as epoch day
+     * @param toEpochDay   the end of the period as epoch day
+     * @param consumer     the consumer that receives the overlapping periods
+     */
+    public void forEachOverlapping(final int fromEpochDay, final int toEpochDay, final PeriodConsumer consumer) {
+        forEachOverlapping(root, fromEpochDay, toEpochDay, consumer);
+    }
+
+    private void forEachOverlapping(final int node, final int fromEpochDay, final int toEpochDay,
+                                    final PeriodConsumer consumer) {
+        if (node == NIL || maxToEpochDays[node] < fromEpochDay) {
+            return;
+        }
+        forEachOverlapping(left[node], fromEpochDay, toEpochDay, consumer);
+        if (fromEpochDays[node] > toEpochDay) {
+            // This node and its right subtree start after the period
+            return;
+        }
+        if (toEpochDays[node] >= fromEpochDay) {
+            consumer.accept(empIds[node], fromEpochDays[node], toEpochDays[node]);
+        }
+        forEachOverlapping(right[node], fromEpochDay, toEpochDay, consumer);
+    }
+
+    private int insert(final int node, final int newNode) {
+        if (node == NIL) {
+            return newNode;
+        }
+
+        int subtreeRoot = node;
+        // Equal start dates go to the right, which keeps them in insertion order
+        if (fromEpochDays[newNode] < fromEpochDays[node]) {
+            left[node] = insert(left[node], newNode);
+            if (priorities[left[node]] > priorities[node]) {
+                subtreeRoot = rotateRight(node);
+            }
+        } else {
+            right[node] = insert(right[node], newNode);
+            if (priorities[right[node]] > priorities[node]) {
+                subtreeRoot = rotateLeft(node);
+            }
+        }
+        update(subtreeRoot);
+        return subtreeRoot;
+    }
+
+    private int rotateRight(final int node) {
+        final int newRoot = left[node];
+        left[node] = right[newRoot];
+        right[newRoot] = node;
+        update(node);
+        return newRoot;
+    }
+
+    private int rotateLeft(final int node) {
+        final int newRoot = right[node];
+        right[node] = left[newRoot];
+        left[newRoot] = node;
+        update(node);
+        return newRoot;
+    }
+
+    private void update(final int node) {
+        int maxTo = toEpochDays[node];
+        if (left[node] != NIL) {
+            maxTo = Math.max(maxTo, maxToEpochDays[left[node]]);
+        }
+        if (right[node] != NIL) {
+            maxTo = Math.max(maxTo, maxToEpochDays[right[node]]);
+        }
+        maxToEpochDays[node] = maxTo;
+    }
+
+    private void grow() {
+        final int capacity = Math.addExact(empIds.length, Math.max(empIds.length >> 1, 1));
+        empIds = Arrays.copyOf(empIds, capacity);
+        fromEpochDays = Arrays.copyOf(fromEpochDays, capacity);
+        toEpochDays = Arrays.copyOf(toEpochDays, capacity);
+        maxToEpochDays = Arrays.copyOf(maxToEpochDays, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+
+    /**
+     * Spreads the bits of the node index, which gives every node a pseudo-random but reproducible priority.
+     */
+    private static int mix(final int value) {
+        int hash = value * 0x9E3779B9;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        return hash;
+    }
+}
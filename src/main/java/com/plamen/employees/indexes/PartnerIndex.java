@@ -0,0 +1,204 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.dto.PartnerOverlap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An inverted index of the pair totals that finds the colleagues of a single employee without scanning every pair.
+ * <p>
+ * The index uses a compressed sparse row layout: the employees are kept in a sorted array, and the partners of the
+ * employee at position {@code e} are stored in the parallel {@code partnerIds} and {@code days} arrays between
+ * {@code offsets[e]} and {@code offsets[e + 1]}. Every pair is stored twice, once for each employee. Each row is sorted
+ * by days in descending order and then by partner ID, so the top partners of an employee are the start of its row.
+ * <p>
+ * Finding an employee takes {@code O(log n)}, and reading its partners takes time proportional to the number of
+ * partners that are returned. The index is immutable once created, so it can be queried from several threads at the
+ * same time.
+ */
+public class PartnerIndex {
+
+    private final long[] employeeIds;
+    private final int[] offsets;
+    private final long[] partnerIds;
+    private final long[] days;
+
+    private PartnerIndex(final long[] employeeIds, final int[] offsets, final long[] partnerIds, final long[] days) {
+        this.employeeIds = employeeIds;
+        this.offsets = offsets;
+        this.partnerIds = partnerIds;
+        this.days = days;
+    }
+
+    /**
+     * Creates the partner index of the given pair totals.
+     * <p>
+     * The pairs are read once into flat arrays, the rows are sized by counting the partners of every employee, and
+     * every pair is then written into the rows of both of its employees.
+     *
+     * @param overlaps the total overlapping days of every pair
+     * @return the partner index of the pairs
+     */
+    public static PartnerIndex of(final PairOverlapAccumulator overlaps) {
+        final int pairCount = overlaps.size();
+        final long[] firstIds = new long[pairCount];
+        final long[] secondIds = new long[pairCount];
+        final long[] pairDays = new long[pairCount];
+        final int[] count = {0};
+        overlaps.forEach((emp1, emp2, totalDays) -> {
+            firstIds[count[0]] = emp1;
+            secondIds[count[0]] = emp2;
+            pairDays[count[0]++] = totalDays;
+        });
+
+        final long[] employeeIds = distinctSorted(firstIds, secondIds);
+        final int[] offsets = new int[employeeIds.length + 1];
+        for (int pair = 0; pair < pairCount; pair++) {
+            offsets[Arrays.binarySearch(employeeIds, firstIds[pair]) + 1]++;
+            offsets[Arrays.binarySearch(employeeIds, secondIds[pair]) + 1]++;
+        }
+        for (int employee = 0; employee < employeeIds.length; employee++) {
+            offsets[employee + 1] += offsets[employee];
+        }
+
+        final long[] partnerIds = new long[pairCount * 2];
+        final long[] days = new long[pairCount * 2];
+        final int[] next = Arrays.copyOf(offsets, employeeIds.length);
+        for (int pair = 0; pair < pairCount; pair++) {
+            final int first = next[Arrays.binarySearch(employeeIds, firstIds[pair])]++;
+            partnerIds[first] = secondIds[pair];
+            days[first] = pairDays[pair];
+
+            final int second = next[Arrays.binarySearch(employeeIds, secondIds[pair])]++;
+            partnerIds[second] = firstIds[pair];
+            days[second] = pairDays[pair];
+        }
+
+        for (int employee = 0; employee < employeeIds.length; employee++) {
+            sortRow(partnerIds, days, offsets[employee], offsets[employee + 1]);
+        }
+        return new PartnerIndex(employeeIds, offsets, partnerIds, days);
+    }
+
+    /**
+     * @return the number of employees who overlapped with at least one colleague
+     */
+    public int employeeCount() {
+        return employeeIds.length;
+    }
+
+    /**
+     * @param empId the ID of the employee
+     * @return the number of colleagues the employee overlapped with
+     */
+    public int partnerCount(final long empId) {
+        final int employee = Arrays.binarySearch(employeeIds, empId);
+        return employee < 0 ? 0 : offsets[employee + 1] - offsets[employee];
+    }
+
+    /**
+     * Returns the colleagues an employee worked with longest. Partners with the same total are returned in order of
+     * their IDs.
+     *
+     * @param empId the ID of the employee
+     * @param k     the maximum number of partners to return
+     * @return up to {@code k} partners, sorted by their overlapping days in descending order
+     * @throws IllegalArgumentException if {@code k} is not positive
+     */
+    public List<PartnerOverlap> findTopPartners(final long empId, final int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of partners must be positive: " + k);
+        }
+        final int employee = Arrays.binarySearch(employeeIds, empId);
+        if (employee < 0) {
+            return List.of();
+        }
+
+        final int start = offsets[employee];
+        final int end = (int) Math.min(offsets[employee + 1], (long) start + k);
+        final List<PartnerOverlap> partners = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            partners.add(new PartnerOverlap(partnerIds[i], days[i]));
+        }
+        return partners;
+    }
+
+    /**
+     * Returns all colleagues of an employee.
+     *
+     * @param empId the ID of the employee
+     * @return the partners, sorted by their overlapping days in descending order
+     */
+    public List<PartnerOverlap> findPartners(final long empId) {
+        return findTopPartners(empId, Integer.MAX_VALUE);
+    }
+
+    private static long[] distinctSorted(final long[] first, final long[] second) {
+        final long[] ids = new long[first.length + second.length];
+        System.arraycopy(first, 0, ids, 0, first.length);
+        System.arraycopy(second, 0, ids, first.length, second.length);
+        Arrays.sort(ids);
+
+        int distinct = 0;
+        for (int i = 0; i < ids.length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, distinct);
+    }
+
+    /**
+     * Sorts a row with a heapsort, so no boxed entries or index arrays are needed.
+     */
+    private static void sortRow(final long[] partnerIds, final long[] days, final int start, final int end) {
+        final int size = end - start;
+        for (int parent = size / 2 - 1; parent >= 0; parent--) {
+            siftDown(partnerIds, days, start, parent, size);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            swap(partnerIds, days, start, start + last);
+            siftDown(partnerIds, days, start, 0, last);
+        }
+    }
+
+    private static void siftDown(final long[] partnerIds, final long[] days, final int start, final int root,
+                                 final int size) {
+        int parent = root;
+        while (true) {
+            int largest = parent;
+            final int left = 2 * parent + 1;
+            final int right = left + 1;
+            if (left < size && comesAfter(partnerIds, days, start + left, start + largest)) {
+                largest = left;
+            }
+            if (right < size && comesAfter(partnerIds, days, start + right, start + largest)) {
+                largest = right;
+            }
+            if (largest == parent) {
+                return;
+            }
+            swap(partnerIds, days, start + parent, start + largest);
+            parent = largest;
+        }
+    }
+
+    /**
+     * @return whether entry {@code a} belongs after entry {@code b}: it has fewer days, or as many and a larger ID
+     */
+    private static boolean comesAfter(final long[] partnerIds, final long[] days, final int a, final int b) {
+        return days[a] < days[b] || (days[a] == days[b] && partnerIds[a] > partnerIds[b]);
+    }
+
+    private static void swap(final long[] partnerIds, final long[] days, final int a, final int b) {
+        final long partnerId = partnerIds[a];
+        partnerIds[a] = partnerIds[b];
+        partnerIds[b] = partnerId;
+        final long day = days[a];
+        days[a] = days[b];
+        days[b] = day;
+    }
+}
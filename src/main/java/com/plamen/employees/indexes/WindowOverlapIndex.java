@@ -0,0 +1,177 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.accumulators.PairOverlapConsumer;
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
+
+/**
+ * An index of work records that answers overlap queries restricted to a date window, e.g. "who worked together longest
+ * during 2022", without recomputing the overlaps of all records.
+ * <p>
+ * Every project keeps its periods in an {@link IntervalTree}, and projects that lie completely outside the window are
+ * skipped by their first start and last end date. Only the periods that cross the window are visited. They are
+ * clipped to the window and passed to the sweep line of {@link EmployeeOverlapCalculator}, so the totals are the same
+ * as the ones computed for records that were cut to the window beforehand.
+ * <p>
+ * The index is immutable once created, so it can be queried from several threads at the same time.
+ */
+public class WindowOverlapIndex {
+
+    private final long[] projectIds;
+    private final IntervalTree[] trees;
+    private final int[] firstFromEpochDays;
+    private final int[] lastToEpochDays;
+    private final int size;
+
+    private WindowOverlapIndex(final long[] projectIds, final IntervalTree[] trees, final int[] firstFromEpochDays,
+                               final int[] lastToEpochDays, final int size) {
+        this.projectIds = projectIds;
+        this.trees = trees;
+        this.firstFromEpochDays = firstFromEpochDays;
+        this.lastToEpochDays = lastToEpochDays;
+        this.size = size;
+    }
+
+    /**
+     * Creates an index of all records of the given store. Records that end before they start are left out, since they
+     * cannot overlap with anything.
+     *
+     * @param store the work records
+     * @return the index of the records
+     */
+    public static WindowOverlapIndex of(final WorkRecordStore store) {
+        final int projectCount = store.projectCount();
+        final long[] projectIds = new long[projectCount];
+        final IntervalTree[] trees = new IntervalTree[projectCount];
+        final int[] firstFromEpochDays = new int[projectCount];
+        final int[] lastToEpochDays = new int[projectCount];
+        int size = 0;
+
+        for (int project = 0; project < projectCount; project++) {
+            final int start = store.projectStart(project);
+            final int end = store.projectEnd(project);
+            final IntervalTree tree = new IntervalTree(end - start);
+            int lastTo = Integer.MIN_VALUE;
+            for (int i = start; i < end; i++) {
+                if (store.toEpochDay(i) >= store.fromEpochDay(i)) {
+                    tree.add(store.empId(i), store.fromEpochDay(i), store.toEpochDay(i));
+                    lastTo = Math.max(lastTo, store.toEpochDay(i));
+                }
+            }
+
+            projectIds[project] = store.projectId(start);
+            trees[project] = tree;
+            // The records of a project are sorted by start date
+            firstFromEpochDays[project] = store.fromEpochDay(start);
+            lastToEpochDays[project] = lastTo;
+            size += tree.size();
+        }
+        return new WindowOverlapIndex(projectIds, trees, firstFromEpochDays, lastToEpochDays, size);
+    }
+
+    /**
+     * @return the number of periods in the index
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Computes the overlaps of every pair of employees within a date window.
+     *
+     * @param from the first day of the window, inclusive
+     * @param to   the last day of the window, inclusive
+     * @return the total overlapping days of every pair within the window
+     * @throws IllegalArgumentException if the window ends before it starts
+     */
+    public PairOverlapAccumulator computeOverlaps(final LocalDate from, final LocalDate to) {
+        final PairOverlapAccumulator overlaps = new PairOverlapAccumulator();
+        computeOverlaps(WorkRecordStore.toEpochDay(from), WorkRecordStore.toEpochDay(to), overlaps);
+        return overlaps;
+    }
+
+    /**
+     * Passes the overlaps of every pair of employees within a date window to the given consumer.
+     *
+     * @param fromEpochDay the first day of the window as epoch day, inclusive
+     * @param toEpochDay   the last day of the window as epoch day, inclusive
+     * @param consumer     the consumer that receives the overlapping days of each pair of records
+     * @throws IllegalArgumentException if the window ends before it starts
+     */
+    public void computeOverlaps(final int fromEpochDay, final int toEpochDay, final PairOverlapConsumer consumer) {
+        EmployeeOverlapCalculator.computeOverlaps(clip(fromEpochDay, toEpochDay), SWEEP_LINE, consumer);
+    }
+
+    /**
+     * Returns the periods that cross a date window, cut to the window.
+     *
+     * @param fromEpochDay the first day of the window as epoch day, inclusive
+     * @param toEpochDay   the last day of the window as epoch day, inclusive
+     * @return the clipped periods, sorted by project and start date
+     * @throws IllegalArgumentException if the window ends before it starts
+     */
+    public WorkRecordStore clip(final int fromEpochDay, final int toEpochDay) {
+        if (toEpochDay < fromEpochDay) {
+            throw new IllegalArgumentException("The window must not end before it starts: "
+                    + LocalDate.ofEpochDay(fromEpochDay) + " - " + LocalDate.ofEpochDay(toEpochDay));
+        }
+
+        final ClippedColumns columns = new ClippedColumns(fromEpochDay, toEpochDay);
+        for (int project = 0; project < trees.length; project++) {
+            if (firstFromEpochDays[project] > toEpochDay || lastToEpochDays[project] < fromEpochDay) {
+                continue;
+            }
+            columns.projectId = projectIds[project];
+            // The tree passes the periods in order of their start dates, so the columns stay sorted
+            trees[project].forEachOverlapping(fromEpochDay, toEpochDay, columns);
+        }
+        return columns.toStore();
+    }
+
+    /**
+     * Collects the clipped periods of a window query into parallel arrays.
+     */
+    private static final class ClippedColumns implements IntervalTree.PeriodConsumer {
+
+        private final int windowFrom;
+        private final int windowTo;
+        private long projectId;
+        private long[] empIds = new long[16];
+        private long[] projectIds = new long[16];
+        private int[] fromEpochDays = new int[16];
+        private int[] toEpochDays = new int[16];
+        private int size;
+
+        private ClippedColumns(final int windowFrom, final int windowTo) {
+            this.windowFrom = windowFrom;
+            this.windowTo = windowTo;
+        }
+
+        @Override
+        public void accept(final long empId, final int fromEpochDay, final int toEpochDay) {
+            if (size == empIds.length) {
+                final int capacity = Math.addExact(size, size >> 1);
+                empIds = Arrays.copyOf(empIds, capacity);
+                projectIds = Arrays.copyOf(projectIds, capacity);
+                fromEpochDays = Arrays.copyOf(fromEpochDays, capacity);
+                toEpochDays = Arrays.copyOf(toEpochDays, capacity);
+            }
+            empIds[size] = empId;
+            projectIds[size] = projectId;
+            fromEpochDays[size] = Math.max(fromEpochDay, windowFrom);
+            toEpochDays[size] = Math.min(toEpochDay, windowTo);
+            size++;
+        }
+
+        private WorkRecordStore toStore() {
+            return WorkRecordStore.ofColumns(Arrays.copyOf(empIds, size), Arrays.copyOf(projectIds, size),
+                    Arrays.copyOf(fromEpochDays, size), Arrays.copyOf(toEpochDays, size));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.plamen.employees.loaders;
+
+import com.plamen.employees.dto.FileLoadError;
+import com.plamen.employees.dto.WorkDataLoadResult;
+import com.plamen.employees.parsers.FileWorkDataParser;
+import com.plamen.employees.readers.WorkDataFiles;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads work data that is split over many files, e.g. per-department shards of one export, into a single
+ * {@link WorkRecordStore}.
+ * <p>
+ * Every location may be a file, a directory or a glob pattern, see {@link WorkDataFiles#expand(String)}. The files
+ * are parsed concurrently on a fixed pool of at most {@code maxConcurrency} threads. A file that cannot be parsed does
+ * not stop the others: its error is reported in the {@link WorkDataLoadResult} and its records are left out.
+ */
+public class WorkDataLoader {
+
+    private final FileWorkDataParser parser;
+    private final int maxConcurrency;
+
+    /**
+     * Creates a loader that parses up to one file per available processor at a time.
+     *
+     * @param parser the parser for the format of the files
+     */
+    public WorkDataLoader(final FileWorkDataParser parser) {
+        this(parser, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param parser         the parser for the format of the files
+     * @param maxConcurrency the maximum number of files parsed at the same time
+     */
+    public WorkDataLoader(final FileWorkDataParser parser, final int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + maxConcurrency);
+        }
+        this.parser = parser;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Loads all files the given locations refer to. A file matched by several locations is loaded once.
+     *
+     * @param locations files, directories or glob patterns
+     * @return the merged records of all files that could be loaded, and the errors of the others
+     */
+    public WorkDataLoadResult load(final List<String> locations) {
+        final Set<String> fileNames = new LinkedHashSet<>();
+        final List<FileLoadError> errors = new ArrayList<>();
+        for (final String location : locations) {
+            try {
+                final List<String> files = WorkDataFiles.expand(location);
+                if (files.isEmpty()) {
+                    errors.add(new FileLoadError(location,
+                            new IllegalArgumentException("File not found: " + location)));
+                }
+                fileNames.addAll(files);
+            }
+            catch (final RuntimeException e) {
+                errors.add(new FileLoadError(location, e));
+            }
+        }
+
+        final List<String> loadedFiles = new ArrayList<>(fileNames.size());
+        final List<WorkRecordStore> stores = new ArrayList<>(fileNames.size());
+        if (!fileNames.isEmpty()) {
+            try (ExecutorService executor = Executors.newFixedThreadPool(Math.min(maxConcurrency, fileNames.size()))) {
+                final List<Future<WorkRecordStore>> futures = new ArrayList<>(fileNames.size());
+                for (final String fileName : fileNames) {
+                    futures.add(executor.submit(() -> parser.getWorkRecordStore(fileName)));
+                }
+
+                int i = 0;
+                for (final String fileName : fileNames) {
+                    try {
+                        stores.add(futures.get(i++).get());
+                        loadedFiles.add(fileName);
+                    }
+                    catch (final ExecutionException e) {
+                        if (!(e.getCause() instanceof Exception cause)) {
+                            throw new RuntimeException("Could not load work data.", e.getCause());
+                        }
+                        errors.add(new FileLoadError(fileName, cause));
+                    }
+                }
+            }
+            catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Loading work data was interrupted.", e);
+            }
+        }
+
+        return new WorkDataLoadResult(merge(stores), List.copyOf(loadedFiles), List.copyOf(errors));
+    }
+
+    /**
+     * Loads all files the given locations refer to.
+     *
+     * @param locations files, directories or glob patterns
+     * @return the merged records of all files that could be loaded, and the errors of the others
+     */
+    public WorkDataLoadResult load(final String... locations) {
+        return load(List.of(locations));
+    }
+
+    private static WorkRecordStore merge(final List<WorkRecordStore> stores) {
+        if (stores.size() == 1) {
+            return stores.getFirst();
+        }
+
+        int size = 0;
+        for (final WorkRecordStore store : stores) {
+            size = Math.addExact(size, store.size());
+        }
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder(size);
+        stores.forEach(builder::addAll);
+        return builder.build();
+    }
+}
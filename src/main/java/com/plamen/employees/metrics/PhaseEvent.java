@@ -0,0 +1,22 @@
+package com.plamen.employees.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event that spans one phase of the pipeline, e.g. loading the files or computing the overlaps.
+ */
+@Name("com.plamen.employees.Phase")
+@Label("Pipeline Phase")
+@Category({"Employees", "Pipeline"})
+@Description("A phase of loading the work records and computing their overlaps")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Phase")
+    String phase;
+}
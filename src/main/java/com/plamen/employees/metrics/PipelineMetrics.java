@@ -0,0 +1,248 @@
+package com.plamen.employees.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counters and phase timings of the ingestion and overlap pipeline, to find out where the time of a slow run went.
+ * <p>
+ * Phases are always reported as {@link PhaseEvent JDK Flight Recorder events}, and every project as a
+ * {@link ProjectOverlapEvent}, so a recording started with {@code -XX:StartFlightRecording} shows them next to the GC
+ * and allocation events. The counters are only updated between {@link #enable()} and {@link #disable()}, and use
+ * {@link LongAdder}s, so the parser and calculator threads do not contend on them. {@link #getSummary()} prints them.
+ * <p>
+ * Reading and parsing the files are interleaved, since the rows are streamed, so they are reported as one phase.
+ * The time spent in date parsing shows up as the number of dates that needed the slow fallback.
+ */
+public final class PipelineMetrics {
+
+    private static final LongAdder ROWS_READ = new LongAdder();
+    private static final LongAdder ROWS_SKIPPED = new LongAdder();
+    private static final LongAdder DATE_FALLBACKS = new LongAdder();
+    private static final LongAdder PROJECTS = new LongAdder();
+    private static final LongAccumulator LARGEST_PROJECT = new LongAccumulator(Math::max, 0);
+    private static final LongAdder PAIRS_VISITED = new LongAdder();
+    private static final LongAdder PAIRS_OVERLAPPING = new LongAdder();
+    private static final LongAccumulator PAIR_COUNT = new LongAccumulator(Math::max, -1);
+    // Phases in the order in which they first ran, with their total nanoseconds across all threads
+    private static final Map<String, LongAdder> PHASE_NANOS = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private static volatile boolean enabled;
+
+    private PipelineMetrics() {
+    }
+
+    /**
+     * Starts updating the counters.
+     */
+    public static void enable() {
+        enabled = true;
+    }
+
+    /**
+     * Stops updating the counters. The counters keep their values until {@link #reset()} is called.
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resets all counters and timings to zero.
+     */
+    public static void reset() {
+        ROWS_READ.reset();
+        ROWS_SKIPPED.reset();
+        DATE_FALLBACKS.reset();
+        PROJECTS.reset();
+        LARGEST_PROJECT.reset();
+        PAIRS_VISITED.reset();
+        PAIRS_OVERLAPPING.reset();
+        PAIR_COUNT.reset();
+        PHASE_NANOS.clear();
+    }
+
+    /**
+     * Runs a phase of the pipeline and records how long it took.
+     *
+     * @param phase the name of the phase
+     * @param task  the work of the phase
+     * @param <T>   the type of the result
+     * @return the result of the task
+     */
+    public static <T> T time(final String phase, final Supplier<T> task) {
+        final PhaseEvent event = new PhaseEvent();
+        event.phase = phase;
+        event.begin();
+        final long start = System.nanoTime();
+        try {
+            return task.get();
+        }
+        finally {
+            if (enabled) {
+                addPhaseNanos(phase, System.nanoTime() - start);
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Runs a phase of the pipeline and records how long it took.
+     *
+     * @param phase the name of the phase
+     * @param task  the work of the phase
+     */
+    public static void time(final String phase, final Runnable task) {
+        time(phase, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Records a CSV row that was read, and whether it was skipped because one of its fields is empty.
+     *
+     * @param skipped whether the row was skipped
+     */
+    public static void recordRow(final boolean skipped) {
+        if (enabled) {
+            ROWS_READ.increment();
+            if (skipped) {
+                ROWS_SKIPPED.increment();
+            }
+        }
+    }
+
+    /**
+     * Records a date that did not match the detected format and was parsed by trying every supported format.
+     */
+    public static void recordDateFallback() {
+        if (enabled) {
+            DATE_FALLBACKS.increment();
+        }
+    }
+
+    /**
+     * Records a project whose overlaps have been computed.
+     *
+     * @param projectId        the ID of the project
+     * @param records          the number of records of the project
+     * @param pairsVisited     the number of record pairs that were compared
+     * @param pairsOverlapping the number of record pairs of different employees that overlap
+     */
+    public static void recordProject(final long projectId, final int records, final long pairsVisited,
+                                     final long pairsOverlapping) {
+        if (enabled) {
+            PROJECTS.increment();
+            LARGEST_PROJECT.accumulate(records);
+            PAIRS_VISITED.add(pairsVisited);
+            PAIRS_OVERLAPPING.add(pairsOverlapping);
+        }
+
+        final ProjectOverlapEvent event = new ProjectOverlapEvent();
+        if (event.shouldCommit()) {
+            event.projectId = projectId;
+            event.records = records;
+            event.pairsVisited = pairsVisited;
+            event.pairsOverlapping = pairsOverlapping;
+            event.commit();
+        }
+    }
+
+    /**
+     * Records the number of distinct employee pairs in the final result.
+     *
+     * @param pairCount the number of pairs
+     */
+    public static void recordPairCount(final long pairCount) {
+        if (enabled) {
+            PAIR_COUNT.accumulate(pairCount);
+        }
+    }
+
+    public static long getRowsRead() {
+        return ROWS_READ.sum();
+    }
+
+    public static long getRowsSkipped() {
+        return ROWS_SKIPPED.sum();
+    }
+
+    public static long getDateFallbacks() {
+        return DATE_FALLBACKS.sum();
+    }
+
+    public static long getProjectCount() {
+        return PROJECTS.sum();
+    }
+
+    public static long getLargestProject() {
+        return LARGEST_PROJECT.get();
+    }
+
+    public static long getPairsVisited() {
+        return PAIRS_VISITED.sum();
+    }
+
+    public static long getPairsOverlapping() {
+        return PAIRS_OVERLAPPING.sum();
+    }
+
+    /**
+     * @return the number of distinct employee pairs in the final result, or {@code -1} if it was not recorded
+     */
+    public static long getPairCount() {
+        return PAIR_COUNT.get();
+    }
+
+    /**
+     * @param phase the name of the phase
+     * @return the total milliseconds spent in the phase across all threads
+     */
+    public static double getPhaseMillis(final String phase) {
+        final LongAdder nanos = PHASE_NANOS.get(phase);
+        return nanos == null ? 0.0 : nanos.sum() / 1_000_000.0;
+    }
+
+    /**
+     * @return a human-readable summary of all timings and counters
+     */
+    public static String getSummary() {
+        final StringBuilder summary = new StringBuilder("Pipeline metrics:").append(System.lineSeparator());
+        final List<String> phases;
+        synchronized (PHASE_NANOS) {
+            phases = List.copyOf(PHASE_NANOS.keySet());
+        }
+        for (final String phase : phases) {
+            append(summary, "Phase " + phase + " (ms)", String.format(Locale.ROOT, "%.1f", getPhaseMillis(phase)));
+        }
+        append(summary, "Rows read", getRowsRead());
+        append(summary, "Rows skipped", getRowsSkipped());
+        append(summary, "Date format fallbacks", getDateFallbacks());
+        append(summary, "Projects", getProjectCount());
+        append(summary, "Largest project (records)", getLargestProject());
+        append(summary, "Record pairs visited", getPairsVisited());
+        append(summary, "Record pairs overlapping", getPairsOverlapping());
+        if (getPairCount() >= 0) {
+            append(summary, "Distinct employee pairs", getPairCount());
+        }
+        return summary.toString();
+    }
+
+    private static void addPhaseNanos(final String phase, final long nanos) {
+        PHASE_NANOS.computeIfAbsent(phase, name -> new LongAdder()).add(nanos);
+    }
+
+    private static void append(final StringBuilder summary, final String name, final Object value) {
+        summary.append(String.format(Locale.ROOT, "  %-28s %s%n", name, value));
+    }
+}
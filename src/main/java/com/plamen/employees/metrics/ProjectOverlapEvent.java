@@ -0,0 +1,31 @@
+package com.plamen.employees.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A JDK Flight Recorder event that is committed after the overlaps of one project have been computed.
+ */
+@Name("com.plamen.employees.ProjectOverlap")
+@Label("Project Overlap")
+@Category({"Employees", "Pipeline"})
+@Description("The records and record pairs of a project whose overlaps were computed")
+@StackTrace(false)
+class ProjectOverlapEvent extends Event {
+
+    @Label("Project ID")
+    long projectId;
+
+    @Label("Records")
+    int records;
+
+    @Label("Pairs Visited")
+    long pairsVisited;
+
+    @Label("Pairs Overlapping")
+    long pairsOverlapping;
+}
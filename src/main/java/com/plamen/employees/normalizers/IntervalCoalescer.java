@@ -0,0 +1,92 @@
+package com.plamen.employees.normalizers;
+
+import com.plamen.employees.dto.CoalesceResult;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Normalises work records before the overlaps are computed by merging the periods of the same employee on the same
+ * project that overlap or are adjacent.
+ * <p>
+ * An employee with several overlapping periods on a project would otherwise share the same days with a colleague
+ * more than once. After coalescing, the periods of an employee on a project are disjoint, so every shared day is
+ * counted once, and the overlap engines get fewer records.
+ */
+public class IntervalCoalescer {
+
+    /**
+     * Merges the overlapping and adjacent periods of every employee on every project.
+     *
+     * @param records the records to normalise
+     * @return the normalised records and the number of records that were merged
+     */
+    public static CoalesceResult coalesce(final Collection<WorkRecord> records) {
+        return coalesce(WorkRecordStore.of(records));
+    }
+
+    /**
+     * Merges the overlapping and adjacent periods of every employee on every project.
+     * <p>
+     * The records of a project are visited in order of their start date, and every employee keeps one open period
+     * that is extended for as long as the next period of the employee starts at most one day after it ends.
+     *
+     * @param store the records to normalise
+     * @return the normalised records and the number of records that were merged
+     */
+    public static CoalesceResult coalesce(final WorkRecordStore store) {
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder(store.size());
+        // The index of the open period of each employee in the arrays below
+        final Map<Long, Integer> openPeriods = new HashMap<>();
+        long[] empIds = new long[16];
+        int[] fromEpochDays = new int[16];
+        int[] toEpochDays = new int[16];
+
+        for (int project = 0; project < store.projectCount(); project++) {
+            final int start = store.projectStart(project);
+            final int end = store.projectEnd(project);
+            final long projectId = store.projectId(start);
+            int openCount = 0;
+
+            for (int i = start; i < end; i++) {
+                final long empId = store.empId(i);
+                final int from = store.fromEpochDay(i);
+                final int to = store.toEpochDay(i);
+
+                final Integer open = openPeriods.get(empId);
+                if (open != null && (long) toEpochDays[open] + 1 >= from) {
+                    toEpochDays[open] = Math.max(toEpochDays[open], to);
+                    continue;
+                }
+                if (open != null) {
+                    builder.accept(empId, projectId, fromEpochDays[open], toEpochDays[open]);
+                    fromEpochDays[open] = from;
+                    toEpochDays[open] = to;
+                    continue;
+                }
+
+                if (openCount == empIds.length) {
+                    empIds = Arrays.copyOf(empIds, openCount * 2);
+                    fromEpochDays = Arrays.copyOf(fromEpochDays, openCount * 2);
+                    toEpochDays = Arrays.copyOf(toEpochDays, openCount * 2);
+                }
+                empIds[openCount] = empId;
+                fromEpochDays[openCount] = from;
+                toEpochDays[openCount] = to;
+                openPeriods.put(empId, openCount++);
+            }
+
+            for (int open = 0; open < openCount; open++) {
+                builder.accept(empIds[open], projectId, fromEpochDays[open], toEpochDays[open]);
+            }
+            openPeriods.clear();
+        }
+
+        final WorkRecordStore coalesced = builder.build();
+        return new CoalesceResult(coalesced, store.size() - coalesced.size());
+    }
+}
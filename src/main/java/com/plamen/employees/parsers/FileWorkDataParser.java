@@ -1,8 +1,11 @@
 package com.plamen.employees.parsers;
 
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface defining a parser for employee work data from a specific file format.
@@ -12,9 +15,45 @@ public interface FileWorkDataParser {
     /**
      * Parses the specified file and returns a list of work records.
      *
-     * @param fileName the name of the file to parse (must be available in the classpath)
+     * @param fileName the name of the file to parse (a classpath resource or a filesystem path)
      * @return a list of {@link WorkRecord} parsed from the file
      */
     List<WorkRecord> getWorkRecords(String fileName);
 
+    /**
+     * Parses the specified file and passes one work record at a time to the given consumer.
+     * <p>
+     * Implementations should stream the file, so the memory used for parsing stays bounded no matter how big the file
+     * is.
+     *
+     * @param fileName the name of the file to parse (a classpath resource or a filesystem path)
+     * @param consumer the consumer that receives each {@link WorkRecord} parsed from the file
+     */
+    default void forEachWorkRecord(final String fileName, final Consumer<WorkRecord> consumer) {
+        getWorkRecords(fileName).forEach(consumer);
+    }
+
+    /**
+     * Parses the specified file and passes the fields of one work record at a time to the given sink.
+     *
+     * @param fileName the name of the file to parse (a classpath resource or a filesystem path)
+     * @param sink     the sink that receives each work record parsed from the file
+     */
+    default void forEachWorkRecord(final String fileName, final WorkRecordSink sink) {
+        forEachWorkRecord(fileName, (WorkRecord record) -> sink.accept(record.empId(), record.projectId(),
+                WorkRecordStore.toEpochDay(record.dateFrom()), WorkRecordStore.toEpochDay(record.dateTo())));
+    }
+
+    /**
+     * Parses the specified file into a compact {@link WorkRecordStore}.
+     *
+     * @param fileName the name of the file to parse (a classpath resource or a filesystem path)
+     * @return a store with the work records parsed from the file
+     */
+    default WorkRecordStore getWorkRecordStore(final String fileName) {
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder();
+        forEachWorkRecord(fileName, builder);
+        return builder.build();
+    }
+
 }
@@ -0,0 +1,75 @@
+package com.plamen.employees.parsers.binary;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The layout of a binary work data snapshot, shared by its reader and writer.
+ * <p>
+ * All values are little-endian. A 16-byte header (magic, version, record count, reserved) is followed by one column
+ * per field: the employee IDs and project IDs as {@code long}s, then the start and end dates as {@code int} epoch
+ * days. Snapshots are written in the order of {@link com.plamen.employees.stores.WorkRecordStore}, so they can be
+ * loaded without sorting.
+ */
+public final class BinaryWorkDataFormat {
+
+    /**
+     * The bytes {@code EWRB} read as a little-endian {@code int}.
+     */
+    public static final int MAGIC = 0x42525745;
+    public static final int VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryWorkDataFormat() {
+    }
+
+    /**
+     * @param recordCount the number of records in the snapshot
+     * @return the header of a snapshot with the given number of records, ready to be written
+     */
+    public static ByteBuffer createHeader(final int recordCount) {
+        return ByteBuffer.allocate(HEADER_SIZE).order(BYTE_ORDER)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(recordCount)
+                .putInt(0)
+                .flip();
+    }
+
+    /**
+     * Validates a snapshot header.
+     *
+     * @param header   a buffer positioned at the start of the header
+     * @param fileSize the total size of the snapshot in bytes
+     * @return the number of records in the snapshot
+     * @throws IllegalArgumentException if the header is not a supported snapshot header or does not match the size
+     */
+    public static int readHeader(final ByteBuffer header, final long fileSize) {
+        if (fileSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a binary work data file.");
+        }
+        header.order(BYTE_ORDER);
+        if (header.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary work data file.");
+        }
+        final int version = header.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary work data version: " + version);
+        }
+        final int recordCount = header.getInt();
+        if (recordCount < 0 || fileSize != fileSize(recordCount)) {
+            throw new IllegalArgumentException("Binary work data file is truncated or corrupt.");
+        }
+        header.getInt();
+        return recordCount;
+    }
+
+    /**
+     * @param recordCount the number of records in the snapshot
+     * @return the size in bytes of a snapshot with the given number of records
+     */
+    public static long fileSize(final int recordCount) {
+        return HEADER_SIZE + (long) recordCount * (2 * Long.BYTES + 2 * Integer.BYTES);
+    }
+}
@@ -0,0 +1,215 @@
+package com.plamen.employees.parsers.binary;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.parsers.FileWorkDataParser;
+import com.plamen.employees.readers.WorkDataFiles;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of {@link FileWorkDataParser} for binary snapshots in the {@link BinaryWorkDataFormat}.
+ * <p>
+ * The file is memory-mapped and every column is copied into its array with a single bulk read, so no text or dates
+ * are parsed. Files that cannot be mapped, e.g. resources packaged inside a jar or compressed snapshots, are streamed
+ * into the columns in small chunks instead.
+ */
+public class BinaryWorkDataParser implements FileWorkDataParser {
+
+    // Columns are mapped in windows of at most this many bytes, since a single mapping is limited to 2 GB
+    private static final int MAX_WINDOW_SIZE = 1 << 30;
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
+    @Override
+    public List<WorkRecord> getWorkRecords(final String fileName) {
+        return getWorkRecordStore(fileName).toWorkRecords();
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final Consumer<WorkRecord> consumer) {
+        getWorkRecords(fileName).forEach(consumer);
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final WorkRecordSink sink) {
+        getWorkRecordStore(fileName).forEach(sink);
+    }
+
+    @Override
+    public WorkRecordStore getWorkRecordStore(final String fileName) {
+        final Optional<Path> path = WorkDataFiles.resolvePath(fileName);
+        return path.isPresent() ? read(path.get()) : readStream(fileName);
+    }
+
+    /**
+     * Loads a binary snapshot from a file.
+     *
+     * @param path the file to read
+     * @return a store with the records of the snapshot
+     * @throws IllegalArgumentException if the file is not a valid snapshot
+     * @throws UncheckedIOException     if the file cannot be read
+     */
+    public static WorkRecordStore read(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final int count = BinaryWorkDataFormat.readHeader(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, BinaryWorkDataFormat.HEADER_SIZE), channel.size());
+
+            final long[] empIds = new long[count];
+            final long[] projectIds = new long[count];
+            final int[] fromEpochDays = new int[count];
+            final int[] toEpochDays = new int[count];
+
+            long offset = BinaryWorkDataFormat.HEADER_SIZE;
+            offset = readLongs(channel, offset, empIds);
+            offset = readLongs(channel, offset, projectIds);
+            offset = readInts(channel, offset, fromEpochDays);
+            readInts(channel, offset, toEpochDays);
+            return WorkRecordStore.ofColumns(empIds, projectIds, fromEpochDays, toEpochDays);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not read binary work data file: " + path, e);
+        }
+    }
+
+    /**
+     * Loads a binary snapshot that is already in memory.
+     *
+     * @param buffer the contents of the snapshot
+     * @return a store with the records of the snapshot
+     * @throws IllegalArgumentException if the buffer does not hold a valid snapshot
+     */
+    public static WorkRecordStore read(final ByteBuffer buffer) {
+        final ByteBuffer snapshot = buffer.slice().order(BinaryWorkDataFormat.BYTE_ORDER);
+        final int count = BinaryWorkDataFormat.readHeader(snapshot.duplicate(), snapshot.remaining());
+        snapshot.position(BinaryWorkDataFormat.HEADER_SIZE);
+
+        final long[] empIds = new long[count];
+        final long[] projectIds = new long[count];
+        final int[] fromEpochDays = new int[count];
+        final int[] toEpochDays = new int[count];
+
+        snapshot.asLongBuffer().get(empIds);
+        snapshot.position(snapshot.position() + count * Long.BYTES);
+        snapshot.asLongBuffer().get(projectIds);
+        snapshot.position(snapshot.position() + count * Long.BYTES);
+        snapshot.asIntBuffer().get(fromEpochDays);
+        snapshot.position(snapshot.position() + count * Integer.BYTES);
+        snapshot.asIntBuffer().get(toEpochDays);
+        return WorkRecordStore.ofColumns(empIds, projectIds, fromEpochDays, toEpochDays);
+    }
+
+    private static long readLongs(final FileChannel channel, final long offset, final long[] column)
+            throws IOException {
+        final int perWindow = MAX_WINDOW_SIZE / Long.BYTES;
+        long position = offset;
+        for (int from = 0; from < column.length; from += perWindow) {
+            final int length = Math.min(perWindow, column.length - from);
+            map(channel, position, (long) length * Long.BYTES).asLongBuffer().get(column, from, length);
+            position += (long) length * Long.BYTES;
+        }
+        return position;
+    }
+
+    private static long readInts(final FileChannel channel, final long offset, final int[] column)
+            throws IOException {
+        final int perWindow = MAX_WINDOW_SIZE / Integer.BYTES;
+        long position = offset;
+        for (int from = 0; from < column.length; from += perWindow) {
+            final int length = Math.min(perWindow, column.length - from);
+            map(channel, position, (long) length * Integer.BYTES).asIntBuffer().get(column, from, length);
+            position += (long) length * Integer.BYTES;
+        }
+        return position;
+    }
+
+    private static ByteBuffer map(final FileChannel channel, final long position, final long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size).order(BinaryWorkDataFormat.BYTE_ORDER);
+    }
+
+    /**
+     * Loads a binary snapshot from a stream, e.g. a decompressed one. The columns are read in small chunks, so no copy
+     * of the whole snapshot is held in memory. The stream is not closed.
+     *
+     * @param inputStream the contents of the snapshot
+     * @return a store with the records of the snapshot
+     * @throws IllegalArgumentException if the stream does not hold a valid snapshot
+     * @throws IOException              if the stream cannot be read
+     */
+    public static WorkRecordStore read(final InputStream inputStream) throws IOException {
+        final byte[] chunk = new byte[STREAM_CHUNK_SIZE];
+        final ByteBuffer header = readChunk(inputStream, chunk, BinaryWorkDataFormat.HEADER_SIZE);
+        if (header.remaining() < BinaryWorkDataFormat.HEADER_SIZE) {
+            throw new IllegalArgumentException("Not a binary work data file.");
+        }
+        // The size of a stream is unknown, so it is checked while the columns are read
+        final int announcedCount = header.getInt(2 * Integer.BYTES);
+        final int count = BinaryWorkDataFormat.readHeader(header,
+                announcedCount < 0 ? BinaryWorkDataFormat.HEADER_SIZE : BinaryWorkDataFormat.fileSize(announcedCount));
+
+        final long[] empIds = new long[count];
+        final long[] projectIds = new long[count];
+        final int[] fromEpochDays = new int[count];
+        final int[] toEpochDays = new int[count];
+
+        readLongs(inputStream, chunk, empIds);
+        readLongs(inputStream, chunk, projectIds);
+        readInts(inputStream, chunk, fromEpochDays);
+        readInts(inputStream, chunk, toEpochDays);
+        if (inputStream.read() >= 0) {
+            throw new IllegalArgumentException("Binary work data file is truncated or corrupt.");
+        }
+        return WorkRecordStore.ofColumns(empIds, projectIds, fromEpochDays, toEpochDays);
+    }
+
+    private static void readLongs(final InputStream inputStream, final byte[] chunk, final long[] column)
+            throws IOException {
+        final int perChunk = chunk.length / Long.BYTES;
+        for (int from = 0; from < column.length; from += perChunk) {
+            final int length = Math.min(perChunk, column.length - from);
+            readFullChunk(inputStream, chunk, length * Long.BYTES).asLongBuffer().get(column, from, length);
+        }
+    }
+
+    private static void readInts(final InputStream inputStream, final byte[] chunk, final int[] column)
+            throws IOException {
+        final int perChunk = chunk.length / Integer.BYTES;
+        for (int from = 0; from < column.length; from += perChunk) {
+            final int length = Math.min(perChunk, column.length - from);
+            readFullChunk(inputStream, chunk, length * Integer.BYTES).asIntBuffer().get(column, from, length);
+        }
+    }
+
+    private static ByteBuffer readFullChunk(final InputStream inputStream, final byte[] chunk, final int size)
+            throws IOException {
+        final ByteBuffer buffer = readChunk(inputStream, chunk, size);
+        if (buffer.remaining() < size) {
+            throw new IllegalArgumentException("Binary work data file is truncated or corrupt.");
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer readChunk(final InputStream inputStream, final byte[] chunk, final int size)
+            throws IOException {
+        final int length = inputStream.readNBytes(chunk, 0, size);
+        return ByteBuffer.wrap(chunk, 0, length).order(BinaryWorkDataFormat.BYTE_ORDER);
+    }
+
+    private static WorkRecordStore readStream(final String fileName) {
+        try (InputStream inputStream = WorkDataFiles.openInputStream(fileName)) {
+            return read(inputStream);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not read binary work data file: " + fileName, e);
+        }
+    }
+}
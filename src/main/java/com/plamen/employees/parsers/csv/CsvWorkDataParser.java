@@ -3,11 +3,16 @@ package com.plamen.employees.parsers.csv;
 import com.plamen.employees.parsers.FileWorkDataParser;
 import com.plamen.employees.readers.CsvReader;
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordSink;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * CSV-specific implementation of {@link FileWorkDataParser}.
+ * <p>
+ * Rows are parsed one at a time while the file is read, so the whole file is never held in memory as strings.
  */
 public class CsvWorkDataParser implements FileWorkDataParser {
 
@@ -18,8 +23,19 @@ public class CsvWorkDataParser implements FileWorkDataParser {
 
     @Override
     public List<WorkRecord> getWorkRecords(final String fileName) {
-        final var rows = CsvReader.readCSV(fileName, SEPARATOR, HAS_HEADER);
-        return CsvWorkRecordsParser.createWorkRecords(rows);
+        final List<WorkRecord> records = new ArrayList<>();
+        forEachWorkRecord(fileName, records::add);
+        return records;
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final Consumer<WorkRecord> consumer) {
+        CsvReader.readCSV(fileName, SEPARATOR, HAS_HEADER, CsvWorkRecordsParser.createRowConsumer(consumer));
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final WorkRecordSink sink) {
+        CsvReader.readCSV(fileName, SEPARATOR, HAS_HEADER, CsvWorkRecordsParser.createRowConsumer(sink));
     }
 
 }
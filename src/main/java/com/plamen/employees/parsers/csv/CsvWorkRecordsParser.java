@@ -1,16 +1,22 @@
 package com.plamen.employees.parsers.csv;
 
+import com.plamen.employees.dates.DetectingDateParser;
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
 import org.apache.commons.lang3.StringUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-
-import static com.plamen.employees.dates.DateFormatter.parseDate;
+import java.util.function.Consumer;
 
 /**
  * Parses raw CSV row data into structured {@link WorkRecord} instances.
+ * <p>
+ * Every row consumer parses its dates with its own {@link DetectingDateParser}, so the date format of a file is
+ * detected from its first rows.
  */
 public class CsvWorkRecordsParser {
 
@@ -24,32 +30,89 @@ public class CsvWorkRecordsParser {
      */
     public static List<WorkRecord> createWorkRecords(final List<String[]> rows) {
         final List<WorkRecord> records = new ArrayList<>();
-        final LocalDate today = LocalDate.now();
+        rows.forEach(createRowConsumer(records::add));
+        return records;
+    }
 
-        for (final String[] row : rows) {
-            if(StringUtils.isAnyEmpty(row)){
-                continue;
-            }
+    /**
+     * Converts a list of CSV row arrays directly into a {@link WorkRecordStore}, without creating a
+     * {@link WorkRecord} per row.
+     * <p>
+     * Empty rows are skipped. The "DateTo" field can be "NULL", which is treated as today's date.
+     *
+     * @param rows list of string arrays from CSV rows
+     * @return a store with the valid work records
+     */
+    public static WorkRecordStore createWorkRecordStore(final List<String[]> rows) {
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder(rows.size());
+        rows.forEach(createRowConsumer(builder));
+        return builder.build();
+    }
 
-            final WorkRecord workRecord = getWorkRecord(row, today);
-            records.add(workRecord);
-        }
+    /**
+     * Creates a consumer that converts one CSV row at a time into a {@link WorkRecord} and passes it on.
+     * <p>
+     * Empty rows are skipped. The "DateTo" field can be "NULL", which is treated as the date on which the consumer
+     * was created.
+     *
+     * @param consumer the consumer that receives the valid work records
+     * @return a consumer of string arrays from CSV rows
+     */
+    public static Consumer<String[]> createRowConsumer(final Consumer<WorkRecord> consumer) {
+        final LocalDate today = LocalDate.now();
+        final DetectingDateParser dateParser = new DetectingDateParser();
+        return row -> {
+            final boolean skipped = StringUtils.isAnyEmpty(row);
+            PipelineMetrics.recordRow(skipped);
+            if (!skipped) {
+                consumer.accept(getWorkRecord(row, today, dateParser));
+            }
+        };
+    }
 
-        return records;
+    /**
+     * Creates a consumer that converts one CSV row at a time into the fields of a work record and passes them on,
+     * without creating a {@link WorkRecord}.
+     * <p>
+     * Empty rows are skipped. The "DateTo" field can be "NULL", which is treated as the date on which the consumer
+     * was created.
+     *
+     * @param sink the sink that receives the valid work records
+     * @return a consumer of string arrays from CSV rows
+     */
+    public static Consumer<String[]> createRowConsumer(final WorkRecordSink sink) {
+        final int today = WorkRecordStore.toEpochDay(LocalDate.now());
+        final DetectingDateParser dateParser = new DetectingDateParser();
+        return row -> {
+            final boolean skipped = StringUtils.isAnyEmpty(row);
+            PipelineMetrics.recordRow(skipped);
+            if (!skipped) {
+                sink.accept(
+                        Integer.parseInt(row[0].trim()),
+                        Integer.parseInt(row[1].trim()),
+                        dateParser.parseEpochDay(row[2].trim()),
+                        isNull(row[3]) ? today : dateParser.parseEpochDay(row[3]));
+            }
+        };
     }
 
-    private static WorkRecord getWorkRecord(String[] row, LocalDate today) {
+    private static WorkRecord getWorkRecord(String[] row, LocalDate today, DetectingDateParser dateParser) {
         final int empId = Integer.parseInt(row[0].trim());
         final int projectId = Integer.parseInt(row[1].trim());
-        final LocalDate from = parseDate(row[2].trim());
-        final LocalDate to = getToDate(row[3], today);
+        final LocalDate from = dateParser.parseDate(row[2].trim());
+        final LocalDate to = getToDate(row[3], today, dateParser);
 
         return new WorkRecord(empId, projectId, from, to);
     }
 
-    private static LocalDate getToDate(final String rawDate, final LocalDate today) {
-        return rawDate.trim().equalsIgnoreCase("null")
+    private static LocalDate getToDate(final String rawDate, final LocalDate today,
+                                       final DetectingDateParser dateParser) {
+        return isNull(rawDate)
                 ? today
-                : parseDate(rawDate);
+                : dateParser.parseDate(rawDate);
+    }
+
+    private static boolean isNull(final String rawDate) {
+        return rawDate.trim().equalsIgnoreCase("null");
     }
 }
@@ -0,0 +1,383 @@
+package com.plamen.employees.parsers.csv;
+
+import com.opencsv.CSVParser;
+import com.opencsv.CSVParserBuilder;
+import com.plamen.employees.dates.DateFormatter;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.readers.CsvReader;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Parses work data CSV files directly from a memory-mapped file into a {@link WorkRecordSink}.
+ * <p>
+ * The IDs and numeric dates of a line are parsed straight from the mapped bytes, so the common case
+ * allocates nothing per line. Anything else falls back to the opencsv path:
+ * <ul>
+ *     <li>A line with another date format, an unusual number of fields or non-ASCII content is decoded and parsed
+ *     with opencsv on its own.</li>
+ *     <li>From the first line that contains a quote or an escape character on, the rest of the file is read with
+ *     {@link CsvReader}, because quoted fields may span several lines.</li>
+ * </ul>
+ * Rows follow the same rules as in {@link CsvWorkRecordsParser}: rows with an empty field are skipped and a "NULL"
+ * "DateTo" is treated as today's date.
+ */
+public class MappedCsvWorkRecordsParser {
+
+    /**
+     * Returned by {@link #parse(FileChannel, long, long, boolean)} when the whole range has been parsed.
+     */
+    static final long COMPLETED = -1L;
+
+    // Mapping a file in windows keeps every mapping below the 2 GB limit of a MappedByteBuffer.
+    private static final int MAX_WINDOW_SIZE = 1 << 30;
+    private static final int FIELD_COUNT = 4;
+
+    private enum LineStatus { PARSED, SKIPPED, UNSUPPORTED, NEEDS_FULL_PARSER }
+
+    private final byte separator;
+    private final int today;
+    private final WorkRecordSink sink;
+    private final CSVParser lineParser;
+    private final Consumer<String[]> rowConsumer;
+    private final int[] separatorPositions = new int[FIELD_COUNT - 1];
+
+    // The fields of the line parsed last
+    private int empId;
+    private int projectId;
+    private int fromEpochDay;
+    private int toEpochDay;
+
+    MappedCsvWorkRecordsParser(final char separator, final WorkRecordSink sink) {
+        if (separator > 0x7F) {
+            throw new IllegalArgumentException("Only ASCII separators are supported: " + separator);
+        }
+        this.separator = (byte) separator;
+        this.today = WorkRecordStore.toEpochDay(LocalDate.now());
+        this.sink = sink;
+        this.lineParser = new CSVParserBuilder().withSeparator(separator).build();
+        this.rowConsumer = CsvWorkRecordsParser.createRowConsumer(sink);
+    }
+
+    /**
+     * Parses a whole CSV file and passes every valid work record to the given sink.
+     *
+     * @param path      the path of the file to parse
+     * @param separator the delimiter used in the CSV file
+     * @param hasHeader whether the first line of the file should be skipped as a header
+     * @param sink      the sink that receives the valid work records
+     */
+    public static void parse(final Path path, final char separator, final boolean hasHeader,
+                             final WorkRecordSink sink) {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            new MappedCsvWorkRecordsParser(separator, sink).parseToEnd(channel, 0, hasHeader);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not process CSV file.", e);
+        }
+    }
+
+    /**
+     * Parses every line from the line that starts at or after the given offset up to the end of the file, falling
+     * back to {@link CsvReader} from the first line that needs the full CSV parser.
+     *
+     * @param channel   the channel of the file to parse
+     * @param start     the offset to start at
+     * @param hasHeader whether the first line of the file should be skipped as a header
+     */
+    void parseToEnd(final FileChannel channel, final long start, final boolean hasHeader) throws IOException {
+        final long fallbackOffset = parse(channel, start, channel.size(), hasHeader);
+        if (fallbackOffset != COMPLETED) {
+            channel.position(fallbackOffset);
+            CsvReader.readCSV(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8),
+                    (char) separator, hasHeader && fallbackOffset == 0, rowConsumer);
+        }
+    }
+
+    /**
+     * Parses the lines that start within the given byte range of a file. A line that starts in the range is parsed up
+     * to its end, even when that lies beyond the range, so adjacent ranges together cover every line exactly once.
+     *
+     * @param channel   the channel of the file to parse
+     * @param start     the first byte of the range
+     * @param end       the byte after the range
+     * @param hasHeader whether the first line of the file should be skipped as a header
+     * @return {@link #COMPLETED}, or the offset of the first line that needs the full CSV parser, in which case that
+     * line and everything after it has not been parsed
+     */
+    long parse(final FileChannel channel, final long start, final long end, final boolean hasHeader)
+            throws IOException {
+        final long fileSize = channel.size();
+        long lineStart = start == 0 ? 0 : findLineStart(channel, start);
+        boolean skipLine = hasHeader && lineStart == 0;
+
+        while (lineStart < end && lineStart < fileSize) {
+            final long windowSize = Math.min(MAX_WINDOW_SIZE, fileSize - lineStart);
+            final MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, lineStart, windowSize);
+            final boolean lastWindow = lineStart + windowSize == fileSize;
+            final int limit = (int) windowSize;
+
+            int position = 0;
+            while (position < limit && lineStart + position < end) {
+                int lineEnd = indexOfNewLine(window, position, limit);
+                if (lineEnd < 0) {
+                    if (!lastWindow) {
+                        break;
+                    }
+                    lineEnd = limit;
+                }
+
+                if (skipLine) {
+                    skipLine = false;
+                } else if (parseLine(window, position, lineEnd) == LineStatus.NEEDS_FULL_PARSER) {
+                    return lineStart + position;
+                }
+                position = lineEnd + 1;
+            }
+
+            if (position == 0 && !lastWindow) {
+                throw new IllegalStateException("CSV line is longer than " + MAX_WINDOW_SIZE + " bytes.");
+            }
+            lineStart += position;
+        }
+        return COMPLETED;
+    }
+
+    private LineStatus parseLine(final ByteBuffer buffer, final int lineStart, int lineEnd) {
+        if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+            lineEnd--;
+        }
+        if (lineEnd == lineStart) {
+            // An empty line is read as a single empty field
+            PipelineMetrics.recordRow(true);
+            return LineStatus.SKIPPED;
+        }
+
+        final LineStatus status = parseFields(buffer, lineStart, lineEnd);
+        switch (status) {
+            case PARSED -> {
+                PipelineMetrics.recordRow(false);
+                sink.accept(empId, projectId, fromEpochDay, toEpochDay);
+            }
+            case SKIPPED -> PipelineMetrics.recordRow(true);
+            case UNSUPPORTED -> {
+                if (containsQuoteOrEscape(buffer, lineStart, lineEnd)) {
+                    return LineStatus.NEEDS_FULL_PARSER;
+                }
+                parseLineWithOpenCsv(buffer, lineStart, lineEnd);
+            }
+        }
+        return status;
+    }
+
+    private LineStatus parseFields(final ByteBuffer buffer, final int lineStart, final int lineEnd) {
+        int separators = 0;
+        for (int i = lineStart; i < lineEnd; i++) {
+            if (buffer.get(i) == separator) {
+                if (separators == separatorPositions.length) {
+                    return LineStatus.UNSUPPORTED;
+                }
+                separatorPositions[separators++] = i;
+            }
+        }
+        if (separators != separatorPositions.length) {
+            return LineStatus.UNSUPPORTED;
+        }
+
+        final int empIdEnd = separatorPositions[0];
+        final int projectIdEnd = separatorPositions[1];
+        final int dateFromEnd = separatorPositions[2];
+        if (empIdEnd == lineStart || projectIdEnd == empIdEnd + 1 || dateFromEnd == projectIdEnd + 1
+                || lineEnd == dateFromEnd + 1) {
+            return LineStatus.SKIPPED;
+        }
+
+        final long parsedEmpId = parseInt(buffer, lineStart, empIdEnd);
+        final long parsedProjectId = parseInt(buffer, empIdEnd + 1, projectIdEnd);
+        final int parsedFrom = parseNumericDate(buffer, projectIdEnd + 1, dateFromEnd);
+        final int parsedTo = isNull(buffer, dateFromEnd + 1, lineEnd)
+                ? today
+                : parseNumericDate(buffer, dateFromEnd + 1, lineEnd);
+
+        if (parsedEmpId == Long.MIN_VALUE || parsedProjectId == Long.MIN_VALUE
+                || parsedFrom == DateFormatter.INVALID_EPOCH_DAY || parsedTo == DateFormatter.INVALID_EPOCH_DAY) {
+            return LineStatus.UNSUPPORTED;
+        }
+
+        empId = (int) parsedEmpId;
+        projectId = (int) parsedProjectId;
+        fromEpochDay = parsedFrom;
+        toEpochDay = parsedTo;
+        return LineStatus.PARSED;
+    }
+
+    /**
+     * Parses a trimmed, optionally signed decimal {@code int}, like {@link Integer#parseInt(String)}.
+     *
+     * @return the parsed value, or {@link Long#MIN_VALUE} if the field is not a valid {@code int}
+     */
+    private static long parseInt(final ByteBuffer buffer, int from, int to) {
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+
+        boolean negative = false;
+        if (from < to && (buffer.get(from) == '-' || buffer.get(from) == '+')) {
+            negative = buffer.get(from) == '-';
+            from++;
+        }
+        if (from == to || to - from > 10) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? Long.MIN_VALUE : value;
+    }
+
+    /**
+     * Parses a trimmed date in one of the numeric formats of {@link DateFormatter}: {@code yyyy-MM-dd},
+     * {@code dd-MM-yyyy}, {@code yyyy/MM/dd} or {@code dd/MM/yyyy}.
+     *
+     * @return the epoch day of the date, or {@link DateFormatter#INVALID_EPOCH_DAY} if the field is in another format
+     */
+    private static int parseNumericDate(final ByteBuffer buffer, int from, int to) {
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+        if (to - from != 10) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+
+        final byte separator = buffer.get(from + 4) == '-' || buffer.get(from + 4) == '/'
+                ? buffer.get(from + 4)
+                : buffer.get(from + 2);
+        final boolean yearFirst = buffer.get(from + 4) == separator;
+        if ((separator != '-' && separator != '/')
+                || buffer.get(from + (yearFirst ? 7 : 5)) != separator
+                || (!yearFirst && buffer.get(from + 2) != separator)) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+
+        final int yearStart = from + (yearFirst ? 0 : 6);
+        final int monthStart = from + (yearFirst ? 5 : 3);
+        final int dayStart = from + (yearFirst ? 8 : 0);
+        final int year = parseDigits(buffer, yearStart, yearStart + 4);
+        final int month = parseDigits(buffer, monthStart, monthStart + 2);
+        final int day = parseDigits(buffer, dayStart, dayStart + 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return DateFormatter.INVALID_EPOCH_DAY;
+        }
+        return DateFormatter.toEpochDay(year, month, day);
+    }
+
+    private static int parseDigits(final ByteBuffer buffer, final int from, final int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            final int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isNull(final ByteBuffer buffer, int from, int to) {
+        while (from < to && isWhitespace(buffer.get(from))) {
+            from++;
+        }
+        while (to > from && isWhitespace(buffer.get(to - 1))) {
+            to--;
+        }
+        return to - from == 4
+                && (buffer.get(from) | 0x20) == 'n'
+                && (buffer.get(from + 1) | 0x20) == 'u'
+                && (buffer.get(from + 2) | 0x20) == 'l'
+                && (buffer.get(from + 3) | 0x20) == 'l';
+    }
+
+    /**
+     * The same characters {@link String#trim()} removes.
+     */
+    private static boolean isWhitespace(final byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private static boolean containsQuoteOrEscape(final ByteBuffer buffer, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final byte b = buffer.get(i);
+            if (b == CSVParser.DEFAULT_QUOTE_CHARACTER || b == CSVParser.DEFAULT_ESCAPE_CHARACTER) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void parseLineWithOpenCsv(final ByteBuffer buffer, final int from, final int to) {
+        final byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        try {
+            rowConsumer.accept(lineParser.parseLine(new String(bytes, StandardCharsets.UTF_8)));
+        }
+        catch (final IOException e) {
+            throw new RuntimeException("Could not process CSV file.");
+        }
+    }
+
+    private static int indexOfNewLine(final ByteBuffer buffer, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the start of the first line that begins at or after the given offset.
+     */
+    static long findLineStart(final FileChannel channel, final long offset) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = offset - 1;
+        while (true) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+}
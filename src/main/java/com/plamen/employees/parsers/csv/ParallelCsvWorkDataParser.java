@@ -0,0 +1,52 @@
+package com.plamen.employees.parsers.csv;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.parsers.FileWorkDataParser;
+import com.plamen.employees.readers.CsvReader;
+import com.plamen.employees.readers.WorkDataFiles;
+import com.plamen.employees.stores.WorkRecordSink;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * CSV-specific implementation of {@link FileWorkDataParser} that parses byte ranges of one large file concurrently
+ * with {@link ParallelCsvWorkRecordsParser}. The records are passed on in no particular order.
+ * <p>
+ * Files that cannot be mapped, e.g. resources packaged inside a jar, are read with {@link CsvReader} instead.
+ */
+public class ParallelCsvWorkDataParser implements FileWorkDataParser {
+
+    // These can be configured in application.properties file.
+    private static final char SEPARATOR = ',';
+    private static final boolean HAS_HEADER = false;
+
+
+    @Override
+    public List<WorkRecord> getWorkRecords(final String fileName) {
+        final List<WorkRecord> records = new ArrayList<>();
+        forEachWorkRecord(fileName, records::add);
+        return records;
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final Consumer<WorkRecord> consumer) {
+        forEachWorkRecord(fileName, (empId, projectId, fromEpochDay, toEpochDay) -> consumer.accept(new WorkRecord(
+                empId, projectId, LocalDate.ofEpochDay(fromEpochDay), LocalDate.ofEpochDay(toEpochDay))));
+    }
+
+    @Override
+    public void forEachWorkRecord(final String fileName, final WorkRecordSink sink) {
+        final Optional<Path> path = WorkDataFiles.resolvePath(fileName);
+        if (path.isPresent()) {
+            ParallelCsvWorkRecordsParser.parse(path.get(), SEPARATOR, HAS_HEADER, sink);
+        } else {
+            CsvReader.readCSV(fileName, SEPARATOR, HAS_HEADER, CsvWorkRecordsParser.createRowConsumer(sink));
+        }
+    }
+
+}
@@ -0,0 +1,347 @@
+package com.plamen.employees.parsers.csv;
+
+import com.opencsv.CSVParser;
+import com.plamen.employees.stores.WorkRecordSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Parses a single large CSV file on several cores with {@link MappedCsvWorkRecordsParser}.
+ * <p>
+ * The file is split into byte ranges, and every line belongs to the range its first byte lies in. The ranges flow
+ * through a bounded pipeline:
+ * <ol>
+ *     <li>A reader walks the ranges in file order. It checks every range for quotes and escape characters, which also
+ *     pages the file in ahead of the parsers, and hands the range on.</li>
+ *     <li>Parser threads parse the ranges concurrently into fixed-size batches of records.</li>
+ *     <li>The calling thread passes the batches to the sink as they arrive.</li>
+ * </ol>
+ * Both queues are bounded and batches are recycled, so the memory used does not depend on the size of the file.
+ * <p>
+ * Quoted fields may span several lines, so a line boundary found after a quote cannot be trusted. The reader stops at
+ * the first range with a quote or escape character, and everything from there on is parsed sequentially with the
+ * same fallback rules as {@link MappedCsvWorkRecordsParser}. The sink therefore receives exactly the records of a
+ * sequential parse, only in another order.
+ */
+public class ParallelCsvWorkRecordsParser {
+
+    // Files below this size are parsed sequentially, the threads would cost more than they save
+    private static final long MIN_PARALLEL_SIZE = 1 << 22;
+    private static final long MIN_RANGE_SIZE = 1 << 20;
+    private static final long MAX_RANGE_SIZE = 1 << 26;
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int BATCH_SIZE = 8192;
+    private static final int BATCHES_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private static final long[] END_OF_RANGES = new long[0];
+
+    /**
+     * Parses a whole CSV file with one parser thread per available processor.
+     *
+     * @param path      the path of the file to parse
+     * @param separator the delimiter used in the CSV file
+     * @param hasHeader whether the first line of the file should be skipped as a header
+     * @param sink      the sink that receives the valid work records, only ever called from the calling thread
+     */
+    public static void parse(final Path path, final char separator, final boolean hasHeader,
+                             final WorkRecordSink sink) {
+        parse(path, separator, hasHeader, sink, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Parses a whole CSV file with the given number of parser threads.
+     *
+     * @param path        the path of the file to parse
+     * @param separator   the delimiter used in the CSV file
+     * @param hasHeader   whether the first line of the file should be skipped as a header
+     * @param sink        the sink that receives the valid work records, only ever called from the calling thread
+     * @param parallelism the number of parser threads
+     */
+    public static void parse(final Path path, final char separator, final boolean hasHeader,
+                             final WorkRecordSink sink, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (parallelism == 1 || size < MIN_PARALLEL_SIZE) {
+                new MappedCsvWorkRecordsParser(separator, sink).parseToEnd(channel, 0, hasHeader);
+            } else {
+                parse(channel, separator, hasHeader, sink, parallelism,
+                        Math.clamp(size / ((long) parallelism * RANGES_PER_THREAD), MIN_RANGE_SIZE, MAX_RANGE_SIZE));
+            }
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not process CSV file.", e);
+        }
+    }
+
+    /**
+     * Parses a whole CSV file in ranges of the given size, no matter how small the file is.
+     */
+    static void parse(final FileChannel channel, final char separator, final boolean hasHeader,
+                      final WorkRecordSink sink, final int parallelism, final long rangeSize) throws IOException {
+        final long fallbackOffset = new Pipeline(channel, separator, hasHeader, parallelism, rangeSize).run(sink);
+        if (fallbackOffset < channel.size()) {
+            new MappedCsvWorkRecordsParser(separator, sink).parseToEnd(channel, fallbackOffset, hasHeader);
+        }
+    }
+
+    /**
+     * A batch of parsed records, kept as primitive columns.
+     */
+    private static final class Batch implements WorkRecordSink {
+
+        private static final Batch END = new Batch(0);
+
+        private final long[] empIds;
+        private final long[] projectIds;
+        private final int[] fromEpochDays;
+        private final int[] toEpochDays;
+        private int size;
+
+        private Batch(final int capacity) {
+            empIds = new long[capacity];
+            projectIds = new long[capacity];
+            fromEpochDays = new int[capacity];
+            toEpochDays = new int[capacity];
+        }
+
+        @Override
+        public void accept(final long empId, final long projectId, final int fromEpochDay, final int toEpochDay) {
+            empIds[size] = empId;
+            projectIds[size] = projectId;
+            fromEpochDays[size] = fromEpochDay;
+            toEpochDays[size] = toEpochDay;
+            size++;
+        }
+
+        boolean isFull() {
+            return size == empIds.length;
+        }
+
+        void replay(final WorkRecordSink sink) {
+            for (int i = 0; i < size; i++) {
+                sink.accept(empIds[i], projectIds[i], fromEpochDays[i], toEpochDays[i]);
+            }
+            size = 0;
+        }
+    }
+
+    /**
+     * One run of the reader, parser and sink stages over a file.
+     */
+    private static final class Pipeline {
+
+        private final FileChannel channel;
+        private final char separator;
+        private final boolean hasHeader;
+        private final int parallelism;
+        private final long rangeSize;
+
+        private final BlockingQueue<long[]> ranges;
+        private final BlockingQueue<Batch> fullBatches;
+        private final BlockingQueue<Batch> freeBatches;
+        // The offset from which the file has to be parsed sequentially, the file size if it does not
+        private final AtomicLong fallbackOffset = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Pipeline(final FileChannel channel, final char separator, final boolean hasHeader, final int parallelism,
+                 final long rangeSize) {
+            this.channel = channel;
+            this.separator = separator;
+            this.hasHeader = hasHeader;
+            this.parallelism = parallelism;
+            this.rangeSize = rangeSize;
+            this.ranges = new ArrayBlockingQueue<>(parallelism);
+            this.fullBatches = new ArrayBlockingQueue<>(parallelism * BATCHES_PER_THREAD + parallelism);
+            this.freeBatches = new ArrayBlockingQueue<>(parallelism * BATCHES_PER_THREAD);
+            for (int i = 0; i < parallelism * BATCHES_PER_THREAD; i++) {
+                freeBatches.add(new Batch(BATCH_SIZE));
+            }
+        }
+
+        /**
+         * Runs the pipeline and passes all batches to the sink on the calling thread.
+         *
+         * @return the offset from which the rest of the file still has to be parsed sequentially
+         */
+        long run(final WorkRecordSink sink) throws IOException {
+            InterruptedException interruption = null;
+            try (ExecutorService executor = Executors.newFixedThreadPool(parallelism + 1)) {
+                executor.execute(this::readRanges);
+                for (int i = 0; i < parallelism; i++) {
+                    executor.execute(this::parseRanges);
+                }
+
+                try {
+                    int runningParsers = parallelism;
+                    while (runningParsers > 0) {
+                        final Batch batch = fullBatches.take();
+                        if (batch == Batch.END) {
+                            runningParsers--;
+                        } else {
+                            if (failure.get() == null) {
+                                replay(batch, sink);
+                            }
+                            batch.size = 0;
+                            freeBatches.put(batch);
+                        }
+                    }
+                }
+                catch (final InterruptedException e) {
+                    // The stages wait for free batches this thread no longer returns, so they have to be stopped
+                    // before the executor can be closed
+                    interruption = e;
+                    failure.compareAndSet(null, e);
+                    executor.shutdownNow();
+                }
+            }
+            if (interruption != null) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("CSV parsing was interrupted.", interruption);
+            }
+
+            final Throwable cause = failure.get();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause != null) {
+                throw new RuntimeException("Could not process CSV file.", cause);
+            }
+            return Math.min(fallbackOffset.get(), channel.size());
+        }
+
+        private void replay(final Batch batch, final WorkRecordSink sink) {
+            try {
+                batch.replay(sink);
+            }
+            catch (final RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+
+        /**
+         * The reader stage: hands out the ranges in file order up to the first one that contains a quote or an escape
+         * character.
+         */
+        private void readRanges() {
+            try {
+                final long size = channel.size();
+                for (long start = 0; start < size && failure.get() == null; start += rangeSize) {
+                    final long end = Math.min(start + rangeSize, size);
+                    if (containsQuoteOrEscape(start, end)) {
+                        fallbackOffset.accumulateAndGet(
+                                start == 0 ? 0 : MappedCsvWorkRecordsParser.findLineStart(channel, start), Math::min);
+                        break;
+                    }
+                    ranges.put(new long[]{start, end});
+                }
+            }
+            catch (final Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+            finally {
+                if (failure.get() != null) {
+                    // The parsers skip the ranges after a failure and may have stopped taking them at all
+                    ranges.clear();
+                }
+                for (int i = 0; i < parallelism; i++) {
+                    putUninterruptibly(ranges, END_OF_RANGES);
+                }
+            }
+        }
+
+        /**
+         * The parser stage: parses ranges into batches until the reader has no more ranges.
+         */
+        private void parseRanges() {
+            final Batch[] current = {null};
+            final WorkRecordSink batchingSink = (empId, projectId, fromEpochDay, toEpochDay) -> {
+                try {
+                    if (current[0] == null) {
+                        current[0] = freeBatches.take();
+                    }
+                    current[0].accept(empId, projectId, fromEpochDay, toEpochDay);
+                    if (current[0].isFull()) {
+                        fullBatches.put(current[0]);
+                        current[0] = null;
+                    }
+                }
+                catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("CSV parsing was interrupted.", e);
+                }
+            };
+
+            try {
+                final MappedCsvWorkRecordsParser parser = new MappedCsvWorkRecordsParser(separator, batchingSink);
+                for (long[] range = ranges.take(); range != END_OF_RANGES; range = ranges.take()) {
+                    if (failure.get() != null) {
+                        continue;
+                    }
+                    final long rangeFallbackOffset = parser.parse(channel, range[0], range[1], hasHeader);
+                    if (rangeFallbackOffset != MappedCsvWorkRecordsParser.COMPLETED) {
+                        // Only the last line of a range can reach into a range with a quote
+                        fallbackOffset.accumulateAndGet(rangeFallbackOffset, Math::min);
+                    }
+                }
+            }
+            catch (final Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+            finally {
+                if (current[0] != null) {
+                    putUninterruptibly(fullBatches, current[0]);
+                }
+                putUninterruptibly(fullBatches, Batch.END);
+            }
+        }
+
+        private boolean containsQuoteOrEscape(final long start, final long end) throws IOException {
+            final MappedByteBuffer range = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            final byte[] buffer = new byte[SCAN_BUFFER_SIZE];
+            final int limit = range.limit();
+            for (int position = 0; position < limit; position += SCAN_BUFFER_SIZE) {
+                final int length = Math.min(SCAN_BUFFER_SIZE, limit - position);
+                range.get(position, buffer, 0, length);
+                for (int i = 0; i < length; i++) {
+                    final byte b = buffer[i];
+                    if (b == CSVParser.DEFAULT_QUOTE_CHARACTER || b == CSVParser.DEFAULT_ESCAPE_CHARACTER) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static <T> void putUninterruptibly(final BlockingQueue<T> queue, final T element) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(element);
+                    break;
+                }
+                catch (final InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
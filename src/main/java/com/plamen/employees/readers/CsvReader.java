@@ -5,14 +5,14 @@ import com.opencsv.CSVParserBuilder;
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
 import com.opencsv.exceptions.CsvException;
-import com.sun.tools.javac.Main;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * A class responsible for reading and parsing CSV files into raw data rows.
@@ -20,27 +20,55 @@ import java.util.Objects;
 public class CsvReader {
 
     /**
-     * Reads the contents of a CSV file from the classpath and returns a list of string arrays.
+     * Reads the contents of a CSV file and returns a list of string arrays.
      *
-     * @param filePath   the name of the file to read (must exist in the classpath)
+     * @param filePath   the name of the file to read (a classpath resource or a filesystem path)
      * @param separator  the delimiter used in the CSV file
      * @param hasHeader  whether the first line of the file should be skipped as a header
      * @return list of rows, where each row is a string array of values
      */
     public static List<String[]> readCSV(final String filePath, final char separator, final boolean hasHeader) {
+        final List<String[]> rows = new ArrayList<>();
+        readCSV(filePath, separator, hasHeader, rows::add);
+        return rows;
+    }
+
+    /**
+     * Reads the contents of a CSV file and passes one row at a time to the given consumer, so the
+     * file is never held in memory as a whole.
+     *
+     * @param filePath    the name of the file to read (a classpath resource or a filesystem path)
+     * @param separator   the delimiter used in the CSV file
+     * @param hasHeader   whether the first line of the file should be skipped as a header
+     * @param rowConsumer the consumer that receives each row as a string array of values
+     */
+    public static void readCSV(final String filePath, final char separator, final boolean hasHeader,
+                               final Consumer<String[]> rowConsumer) {
         final InputStreamReader streamReader = createInputStreamReader(filePath);
-        final CSVReader csvReader = createCsvReader(streamReader, separator, hasHeader);
+        readCSV(streamReader, separator, hasHeader, rowConsumer);
+    }
+
+    /**
+     * Reads CSV content from the given reader and passes one row at a time to the given consumer. The reader is
+     * closed afterwards.
+     *
+     * @param reader      the reader with the CSV content
+     * @param separator   the delimiter used in the CSV content
+     * @param hasHeader   whether the first line should be skipped as a header
+     * @param rowConsumer the consumer that receives each row as a string array of values
+     */
+    public static void readCSV(final Reader reader, final char separator, final boolean hasHeader,
+                               final Consumer<String[]> rowConsumer) {
+        final CSVReader csvReader = createCsvReader(reader, separator, hasHeader);
 
-        return readCsvRows(csvReader);
+        readCsvRows(csvReader, rowConsumer);
     }
 
     private static InputStreamReader createInputStreamReader(final String filePath) {
-        final ClassLoader classLoader = Main.class.getClassLoader();
-        final InputStream inputStream = Objects.requireNonNull(classLoader.getResourceAsStream(filePath));
-        return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        return new InputStreamReader(WorkDataFiles.openInputStream(filePath), StandardCharsets.UTF_8);
     }
 
-    private static CSVReader createCsvReader(final InputStreamReader streamReader, final char separator, final boolean hasHeader) {
+    private static CSVReader createCsvReader(final Reader streamReader, final char separator, final boolean hasHeader) {
         final CSVParser parser = new CSVParserBuilder()
                 .withSeparator(separator)
                 .build();
@@ -53,15 +81,15 @@ public class CsvReader {
                 .build();
     }
 
-    private static List<String[]> readCsvRows(CSVReader csvReader) {
-        final List<String[]> rows;
-        try {
-            rows = csvReader.readAll();
-            csvReader.close();
+    private static void readCsvRows(final CSVReader csvReader, final Consumer<String[]> rowConsumer) {
+        try (csvReader) {
+            String[] row;
+            while ((row = csvReader.readNext()) != null) {
+                rowConsumer.accept(row);
+            }
         }
         catch (final IOException | CsvException e) {
             throw new RuntimeException("Could not process CSV file.");
         }
-        return rows;
     }
 }
@@ -0,0 +1,176 @@
+package com.plamen.employees.readers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An input stream that reads its source ahead on a background thread, so e.g. decompressing a file overlaps with
+ * parsing it.
+ * <p>
+ * The background thread fills a fixed number of chunks and hands them over through a bounded queue, where they are
+ * reused once they have been consumed. The memory in use is therefore bounded by the chunks and does not grow with the
+ * size of the source. A failure while reading the source is thrown by the next read after the data that was read
+ * before it.
+ * <p>
+ * This class is not thread-safe: it must be read from a single thread.
+ */
+public class ReadAheadInputStream extends InputStream {
+
+    private static final int DEFAULT_CHUNK_SIZE = 256 * 1024;
+    private static final int DEFAULT_CHUNK_COUNT = 4;
+
+    private final InputStream source;
+    private final BlockingQueue<Chunk> filledChunks;
+    private final BlockingQueue<byte[]> freeChunks;
+    private final Thread readerThread;
+    private volatile IOException failure;
+
+    private Chunk current;
+    private int position;
+    private boolean finished;
+    private boolean closed;
+
+    /**
+     * @param source the stream to read ahead
+     */
+    public ReadAheadInputStream(final InputStream source) {
+        this(source, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+    }
+
+    /**
+     * @param source     the stream to read ahead
+     * @param chunkSize  the size of each chunk in bytes
+     * @param chunkCount the number of chunks, which bounds how far the source is read ahead
+     */
+    public ReadAheadInputStream(final InputStream source, final int chunkSize, final int chunkCount) {
+        if (chunkSize < 1 || chunkCount < 1) {
+            throw new IllegalArgumentException("Invalid chunk size or chunk count: " + chunkSize + ", " + chunkCount);
+        }
+        this.source = source;
+        // One extra slot for the end marker
+        this.filledChunks = new ArrayBlockingQueue<>(chunkCount + 1);
+        this.freeChunks = new ArrayBlockingQueue<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            freeChunks.add(new byte[chunkSize]);
+        }
+        this.readerThread = Thread.ofPlatform().daemon().name("work-data-read-ahead").start(this::readSource);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        return current.data()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureAvailable()) {
+            return -1;
+        }
+        final int count = Math.min(length, current.length() - position);
+        System.arraycopy(current.data(), position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return current == null ? 0 : current.length() - position;
+    }
+
+    /**
+     * Stops the background thread and closes the source.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        readerThread.interrupt();
+        try {
+            readerThread.join();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            source.close();
+        }
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed.");
+        }
+        while (!finished && (current == null || position == current.length())) {
+            if (current != null) {
+                freeChunks.add(current.data());
+                current = null;
+            }
+            final Chunk next = takeFilledChunk();
+            if (next.length() < 0) {
+                finished = true;
+            } else {
+                current = next;
+                position = 0;
+            }
+        }
+        if (finished && failure != null) {
+            throw failure;
+        }
+        return !finished;
+    }
+
+    private Chunk takeFilledChunk() throws InterruptedIOException {
+        try {
+            return filledChunks.take();
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Reading ahead was interrupted.");
+        }
+    }
+
+    /**
+     * Runs on the background thread until the source is exhausted, fails or the stream is closed.
+     */
+    private void readSource() {
+        try {
+            while (true) {
+                final byte[] data = freeChunks.take();
+                final int length = source.readNBytes(data, 0, data.length);
+                if (length > 0) {
+                    filledChunks.put(new Chunk(data, length));
+                }
+                if (length < data.length) {
+                    break;
+                }
+            }
+        }
+        catch (final InterruptedException e) {
+            // The stream was closed
+            return;
+        }
+        catch (final IOException e) {
+            failure = e;
+        }
+        catch (final RuntimeException e) {
+            failure = new IOException("Could not read ahead.", e);
+        }
+        filledChunks.add(Chunk.END);
+    }
+
+    private record Chunk(byte[] data, int length) {
+
+        private static final Chunk END = new Chunk(new byte[0], -1);
+    }
+}
@@ -0,0 +1,188 @@
+package com.plamen.employees.readers;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Utility class for locating work data files.
+ * <p>
+ * A file name is looked up in the classpath first. If there is no such resource, it is treated as a path on the
+ * local filesystem.
+ * <p>
+ * Files whose name ends with {@code .gz} are gzip-compressed. They are decompressed while they are read, on a
+ * background thread ahead of the parser, so they never have to be decompressed to disk first.
+ */
+public class WorkDataFiles {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+    private static final String GZIP_EXTENSION = ".gz";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Opens the given file for reading. A compressed file is decompressed while it is read.
+     *
+     * @param fileName the name of a classpath resource or a filesystem path
+     * @return a stream with the (decompressed) contents of the file
+     * @throws IllegalArgumentException if the file can be found neither in the classpath nor on the filesystem
+     * @throws UncheckedIOException     if the file cannot be opened or is not a valid gzip file
+     */
+    public static InputStream openInputStream(final String fileName) {
+        final InputStream inputStream = openRawInputStream(fileName);
+        if (!isCompressed(fileName)) {
+            return inputStream;
+        }
+
+        try {
+            return new ReadAheadInputStream(new GZIPInputStream(inputStream, GZIP_BUFFER_SIZE));
+        }
+        catch (final IOException e) {
+            closeQuietly(inputStream);
+            throw new UncheckedIOException("Could not open compressed file: " + fileName, e);
+        }
+    }
+
+    /**
+     * @param fileName the name of a file
+     * @return whether the file is gzip-compressed, judging by its name
+     */
+    public static boolean isCompressed(final String fileName) {
+        return StringUtils.endsWithIgnoreCase(fileName, GZIP_EXTENSION);
+    }
+
+    /**
+     * Opens the given file for reading as it is stored, without decompressing it.
+     *
+     * @param fileName the name of a classpath resource or a filesystem path
+     * @return a stream with the raw contents of the file
+     * @throws IllegalArgumentException if the file can be found neither in the classpath nor on the filesystem
+     * @throws UncheckedIOException     if the file cannot be opened
+     */
+    public static InputStream openRawInputStream(final String fileName) {
+        final InputStream resourceStream = getClassLoader().getResourceAsStream(fileName);
+        if (resourceStream != null) {
+            return resourceStream;
+        }
+
+        final Path path = Path.of(fileName);
+        if (!Files.isRegularFile(path)) {
+            throw new IllegalArgumentException("File not found: " + fileName);
+        }
+        try {
+            return Files.newInputStream(path);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not open file: " + fileName, e);
+        }
+    }
+
+    /**
+     * Resolves the given file to a path on the local filesystem, which is needed to memory-map it.
+     *
+     * @param fileName the name of a classpath resource or a filesystem path
+     * @return the path of the file, or empty if the file does not exist, is not a plain file, e.g. a resource
+     * packaged inside a jar, or is compressed and therefore cannot be mapped
+     */
+    public static Optional<Path> resolvePath(final String fileName) {
+        if (isCompressed(fileName)) {
+            return Optional.empty();
+        }
+
+        final URL resource = getClassLoader().getResource(fileName);
+        if (resource != null) {
+            return "file".equals(resource.getProtocol()) ? toPath(resource) : Optional.empty();
+        }
+
+        final Path path = Path.of(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Expands a location into the work data files it refers to.
+     * <p>
+     * A location is either a single file (a classpath resource or a filesystem path), a directory, whose regular files
+     * are returned, or a glob pattern such as {@code exports/*.csv} or <code>exports/**&#47;*.csv</code>, which is
+     * matched against the files below the directory before the first wildcard.
+     *
+     * @param location a file, a directory or a glob pattern
+     * @return the matching files in lexicographic order, or an empty list if nothing matches
+     * @throws UncheckedIOException if a directory cannot be listed
+     */
+    public static List<String> expand(final String location) {
+        final int firstGlobCharacter = StringUtils.indexOfAny(location, GLOB_CHARACTERS);
+        if (firstGlobCharacter >= 0) {
+            return expandGlob(location, firstGlobCharacter);
+        }
+        if (getClassLoader().getResource(location) != null && !Files.isDirectory(Path.of(location))) {
+            return List.of(location);
+        }
+
+        final Path path = Path.of(location);
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.list(path)) {
+                return files.filter(Files::isRegularFile).map(Path::toString).sorted().toList();
+            }
+            catch (final IOException e) {
+                throw new UncheckedIOException("Could not list directory: " + location, e);
+            }
+        }
+        return Files.isRegularFile(path) ? List.of(location) : List.of();
+    }
+
+    private static List<String> expandGlob(final String pattern, final int firstGlobCharacter) {
+        final int baseEnd = Math.max(pattern.lastIndexOf('/', firstGlobCharacter),
+                pattern.lastIndexOf(File.separatorChar, firstGlobCharacter)) + 1;
+        final Path base = Path.of(baseEnd == 0 ? "." : pattern.substring(0, baseEnd));
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+
+        final PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(baseEnd));
+        try (Stream<Path> files = Files.walk(base)) {
+            return files.filter(Files::isRegularFile)
+                    .map(base::relativize)
+                    .filter(matcher::matches)
+                    .map(file -> baseEnd == 0 ? file.toString() : base.resolve(file).toString())
+                    .sorted()
+                    .toList();
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not list directory: " + base, e);
+        }
+    }
+
+    private static Optional<Path> toPath(final URL resource) {
+        try {
+            return Optional.of(Path.of(resource.toURI()));
+        }
+        catch (final URISyntaxException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void closeQuietly(final InputStream inputStream) {
+        try {
+            inputStream.close();
+        }
+        catch (final IOException ignored) {
+            // The original failure is reported
+        }
+    }
+
+    private static ClassLoader getClassLoader() {
+        return WorkDataFiles.class.getClassLoader();
+    }
+}
@@ -1,7 +1,10 @@
 package com.plamen.employees.registries;
 
 import com.plamen.employees.enums.FileWorkDataType;
+import com.plamen.employees.parsers.binary.BinaryWorkDataParser;
 import com.plamen.employees.parsers.csv.CsvWorkDataParser;
+import com.plamen.employees.parsers.csv.MappedCsvWorkDataParser;
+import com.plamen.employees.parsers.csv.ParallelCsvWorkDataParser;
 import com.plamen.employees.parsers.FileWorkDataParser;
 
 import java.util.HashMap;
@@ -17,6 +20,9 @@ public class FileWorkDataParserRegistry {
 
     public FileWorkDataParserRegistry() {
         fileWorkDataParsers.put(FileWorkDataType.CSV, new CsvWorkDataParser());
+        fileWorkDataParsers.put(FileWorkDataType.MAPPED_CSV, new MappedCsvWorkDataParser());
+        fileWorkDataParsers.put(FileWorkDataType.PARALLEL_CSV, new ParallelCsvWorkDataParser());
+        fileWorkDataParsers.put(FileWorkDataType.BINARY, new BinaryWorkDataParser());
     }
 
     /**
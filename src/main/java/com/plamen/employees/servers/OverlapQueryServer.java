@@ -0,0 +1,305 @@
+package com.plamen.employees.servers;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.PartnerOverlap;
+import com.plamen.employees.indexes.PartnerIndex;
+import com.plamen.employees.indexes.WindowOverlapIndex;
+import com.plamen.employees.stores.WorkRecordStore;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static com.plamen.employees.calculators.EmployeeOverlapCalculator.computeOverlapAccumulator;
+import static com.plamen.employees.enums.OverlapEngine.SWEEP_LINE;
+
+/**
+ * A long-running HTTP server that loads the work records once, keeps their pair overlaps in memory and answers
+ * queries about them. Every request is handled on its own virtual thread.
+ * <p>
+ * The server answers in plain text, one {@code emp1, emp2, days} line per pair, like the command line:
+ * <ul>
+ *     <li>{@code GET /max} - the pair with the longest overlap</li>
+ *     <li>{@code GET /top?k=10} - the {@code k} pairs with the longest overlap</li>
+ *     <li>{@code GET /pair?emp1=143&emp2=218} - the total overlap of two employees</li>
+ *     <li>{@code GET /partners?emp=143&k=10} - the {@code k} colleagues an employee worked with longest, or all of
+ *     them without {@code k}</li>
+ *     <li>{@code POST /reload} - loads the records again and replaces the overlaps once they are computed</li>
+ * </ul>
+ * {@code /max} and {@code /top} also accept a {@code from} and {@code to} date, e.g.
+ * {@code /top?k=10&from=2022-01-01&to=2022-12-31}, which count only the days within that window. Such queries are
+ * answered from a {@link WindowOverlapIndex} that visits only the periods crossing the window.
+ * Queries read an immutable snapshot, so they are never blocked by a reload and never see a half-computed result.
+ */
+public class OverlapQueryServer implements Closeable {
+
+    /**
+     * The number of top pairs that are selected when a snapshot is created, so most top-K queries need no work.
+     */
+    private static final int CACHED_TOP_PAIRS = 100;
+
+    private static final String NO_OVERLAPS = "No overlapping work periods found.";
+
+    private final Supplier<WorkRecordStore> loader;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Reloads run on virtual threads, which a lock does not pin to their carrier thread unlike synchronized
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    private OverlapQueryServer(final Supplier<WorkRecordStore> loader, final HttpServer server) {
+        this.loader = loader;
+        this.server = server;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    /**
+     * Loads the records, computes their overlaps and starts serving queries.
+     *
+     * @param address the address to listen on; port {@code 0} picks a free port
+     * @param loader  supplies the records on start and on every reload
+     * @return the started server
+     */
+    public static OverlapQueryServer start(final InetSocketAddress address, final Supplier<WorkRecordStore> loader) {
+        final HttpServer httpServer;
+        try {
+            httpServer = HttpServer.create(address, 0);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not start the query server on " + address, e);
+        }
+
+        final OverlapQueryServer queryServer = new OverlapQueryServer(loader, httpServer);
+        queryServer.reload();
+
+        httpServer.setExecutor(queryServer.executor);
+        httpServer.createContext("/max", exchange -> queryServer.handle(exchange, "GET", queryServer::max));
+        httpServer.createContext("/top", exchange -> queryServer.handle(exchange, "GET", queryServer::top));
+        httpServer.createContext("/pair", exchange -> queryServer.handle(exchange, "GET", queryServer::pair));
+        httpServer.createContext("/partners", exchange -> queryServer.handle(exchange, "GET", queryServer::partners));
+        httpServer.createContext("/reload", exchange -> queryServer.handle(exchange, "POST", queryServer::reload));
+        httpServer.start();
+        return queryServer;
+    }
+
+    /**
+     * @return the port the server listens on
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Loads the records again and replaces the overlaps once they are computed. Queries keep being answered from the
+     * previous overlaps in the meantime. Concurrent reloads run one after another.
+     *
+     * @return the number of records that were loaded
+     */
+    public int reload() {
+        reloadLock.lock();
+        try {
+            final WorkRecordStore records = loader.get();
+            final PairOverlapAccumulator overlaps = computeOverlapAccumulator(records, SWEEP_LINE);
+            snapshot = new Snapshot(overlaps, overlaps.findTopPairs(CACHED_TOP_PAIRS), PartnerIndex.of(overlaps),
+                    WindowOverlapIndex.of(records));
+            return records.size();
+        }
+        finally {
+            reloadLock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting requests and waits for the requests that are being handled.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private Response max(final Map<String, String> parameters) {
+        return toResponse(findTopPairs(parameters, 1));
+    }
+
+    private Response top(final Map<String, String> parameters) {
+        return toResponse(findTopPairs(parameters, parsePositiveInt(parameters, "k", 1)));
+    }
+
+    private List<Map.Entry<EmployeePair, Long>> findTopPairs(final Map<String, String> parameters, final int k) {
+        final Snapshot current = snapshot;
+        if (parameters.containsKey("from") || parameters.containsKey("to")) {
+            final int from = parseEpochDay(parameters, "from", Integer.MIN_VALUE);
+            final int to = parseEpochDay(parameters, "to", Integer.MAX_VALUE);
+            final PairOverlapAccumulator overlaps = new PairOverlapAccumulator();
+            current.windowIndex().computeOverlaps(from, to, overlaps);
+            return overlaps.findTopPairs(Math.min(k, overlaps.size()));
+        }
+        if (k <= CACHED_TOP_PAIRS) {
+            return current.topPairs().subList(0, Math.min(k, current.topPairs().size()));
+        }
+        // A k beyond the number of pairs selects all of them, without sizing the selection for k
+        return current.overlaps().findTopPairs(Math.min(k, current.overlaps().size()));
+    }
+
+    private static Response toResponse(final List<Map.Entry<EmployeePair, Long>> topPairs) {
+        if (topPairs.isEmpty()) {
+            return new Response(404, NO_OVERLAPS);
+        }
+
+        final StringBuilder body = new StringBuilder();
+        for (final Map.Entry<EmployeePair, Long> pair : topPairs) {
+            body.append(format(pair));
+        }
+        return new Response(200, body.toString());
+    }
+
+    private Response pair(final Map<String, String> parameters) {
+        final long emp1 = parseLong(parameters, "emp1");
+        final long emp2 = parseLong(parameters, "emp2");
+        if (emp1 == emp2) {
+            throw new IllegalArgumentException("An employee cannot be paired with itself: " + emp1);
+        }
+        final long days = snapshot.overlaps().get(emp1, emp2);
+        return new Response(200, String.format("%d, %d, %d%n", Math.min(emp1, emp2), Math.max(emp1, emp2), days));
+    }
+
+    private Response partners(final Map<String, String> parameters) {
+        final long empId = parseLong(parameters, "emp");
+        final int k = parsePositiveInt(parameters, "k", Integer.MAX_VALUE);
+        final List<PartnerOverlap> partners = snapshot.partnerIndex().findTopPartners(empId, k);
+        if (partners.isEmpty()) {
+            return new Response(404, NO_OVERLAPS);
+        }
+
+        final StringBuilder body = new StringBuilder();
+        for (final PartnerOverlap partner : partners) {
+            body.append(String.format("%d, %d, %d%n", empId, partner.partnerId(), partner.days()));
+        }
+        return new Response(200, body.toString());
+    }
+
+    private Response reload(final Map<String, String> parameters) {
+        final int recordCount = reload();
+        return new Response(200, String.format("Loaded %d records with %d overlapping pairs.%n",
+                recordCount, snapshot.overlaps().size()));
+    }
+
+    private void handle(final HttpExchange exchange, final String method,
+                        final Function<Map<String, String>, Response> query) throws IOException {
+        try (exchange) {
+            Response response;
+            if (!method.equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", method);
+                response = new Response(405, "Method not allowed: " + exchange.getRequestMethod());
+            }
+            else {
+                try {
+                    response = query.apply(parseQuery(exchange.getRequestURI().getRawQuery()));
+                }
+                catch (final IllegalArgumentException e) {
+                    response = new Response(400, e.getMessage());
+                }
+                catch (final RuntimeException | Error e) {
+                    // Even an error must be answered, or the client is left with a dropped connection
+                    response = new Response(500, String.valueOf(e.getMessage()));
+                }
+            }
+
+            final byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static Map<String, String> parseQuery(final String rawQuery) {
+        final Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (final String parameter : rawQuery.split("&")) {
+            final int separator = parameter.indexOf('=');
+            final String name = separator < 0 ? parameter : parameter.substring(0, separator);
+            final String value = separator < 0 ? "" : parameter.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static long parseLong(final Map<String, String> parameters, final String name) {
+        final String value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        try {
+            return Long.parseLong(value);
+        }
+        catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a number: " + value);
+        }
+    }
+
+    private static int parseEpochDay(final Map<String, String> parameters, final String name,
+                                     final int defaultValue) {
+        final String value = parameters.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return WorkRecordStore.toEpochDay(LocalDate.parse(value));
+        }
+        catch (final DateTimeParseException e) {
+            throw new IllegalArgumentException("Parameter " + name + " must be a date like 2022-12-31: " + value);
+        }
+    }
+
+    private static int parsePositiveInt(final Map<String, String> parameters, final String name,
+                                        final int defaultValue) {
+        if (!parameters.containsKey(name)) {
+            return defaultValue;
+        }
+        final String value = parameters.get(name);
+        try {
+            final int parsed = Integer.parseInt(value);
+            if (parsed > 0) {
+                return parsed;
+            }
+        }
+        catch (final NumberFormatException ignored) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Parameter " + name + " must be a positive number: " + value);
+    }
+
+    private static String format(final Map.Entry<EmployeePair, Long> pair) {
+        return String.format("%d, %d, %d%n", pair.getKey().emp1(), pair.getKey().emp2(), pair.getValue());
+    }
+
+    private record Snapshot(PairOverlapAccumulator overlaps, List<Map.Entry<EmployeePair, Long>> topPairs,
+                            PartnerIndex partnerIndex, WindowOverlapIndex windowIndex) {
+    }
+
+    private record Response(int status, String body) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.plamen.employees.stores;
+
+/**
+ * Receives work records one field at a time, with the dates already converted to epoch days, so filling a
+ * {@link WorkRecordStore} does not require a {@link com.plamen.employees.dto.WorkRecord} per row.
+ */
+@FunctionalInterface
+public interface WorkRecordSink {
+
+    /**
+     * Accepts a single work record.
+     *
+     * @param empId        the unique identifier of the employee
+     * @param projectId    the unique identifier of the project
+     * @param fromEpochDay the start date as {@link java.time.LocalDate#toEpochDay() epoch day}
+     * @param toEpochDay   the end date as {@link java.time.LocalDate#toEpochDay() epoch day}
+     */
+    void accept(long empId, long projectId, int fromEpochDay, int toEpochDay);
+
+}
@@ -0,0 +1,392 @@
+package com.plamen.employees.stores;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.metrics.PipelineMetrics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A compact, immutable store of work records kept as parallel primitive arrays instead of {@link WorkRecord} objects.
+ * <p>
+ * Dates are stored as {@link LocalDate#toEpochDay() epoch days}. The records are sorted by project and then by their
+ * start date, so the records of a project form a contiguous range that can be addressed by its project index.
+ */
+public final class WorkRecordStore {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final long[] empIds;
+    private final long[] projectIds;
+    private final int[] fromEpochDays;
+    private final int[] toEpochDays;
+    // The record range of project p is [projectOffsets[p], projectOffsets[p + 1])
+    private final int[] projectOffsets;
+
+    private WorkRecordStore(final long[] empIds, final long[] projectIds, final int[] fromEpochDays,
+                            final int[] toEpochDays) {
+        this.empIds = empIds;
+        this.projectIds = projectIds;
+        this.fromEpochDays = fromEpochDays;
+        this.toEpochDays = toEpochDays;
+        this.projectOffsets = computeProjectOffsets(projectIds);
+    }
+
+    /**
+     * Creates a store that holds the given records.
+     *
+     * @param records the records to store
+     * @return a store sorted by project and start date
+     */
+    public static WorkRecordStore of(final Collection<WorkRecord> records) {
+        final Builder builder = builder(records.size());
+        records.forEach(builder::add);
+        return builder.build();
+    }
+
+    /**
+     * Creates a store directly from column arrays, e.g. ones bulk-read from a binary snapshot. The arrays are taken
+     * over by the store and must not be modified afterwards. They are sorted by project and start date unless they
+     * already are.
+     *
+     * @param empIds        the employee IDs
+     * @param projectIds    the project IDs
+     * @param fromEpochDays the start dates as epoch days
+     * @param toEpochDays   the end dates as epoch days
+     * @return a store backed by the given arrays
+     * @throws IllegalArgumentException if the arrays do not have the same length
+     */
+    public static WorkRecordStore ofColumns(final long[] empIds, final long[] projectIds, final int[] fromEpochDays,
+                                            final int[] toEpochDays) {
+        final int size = empIds.length;
+        if (projectIds.length != size || fromEpochDays.length != size || toEpochDays.length != size) {
+            throw new IllegalArgumentException("All columns must have the same length.");
+        }
+
+        final Builder.Sorter sorter = new Builder.Sorter(empIds, projectIds, fromEpochDays, toEpochDays);
+        if (!sorter.isSorted(0, size)) {
+            sorter.sort(0, size);
+        }
+        return new WorkRecordStore(empIds, projectIds, fromEpochDays, toEpochDays);
+    }
+
+    public static Builder builder() {
+        return new Builder(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of records the builder should hold before it has to grow
+     */
+    public static Builder builder(final int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    /**
+     * Converts a date to the epoch day representation used by the store.
+     *
+     * @param date the date to convert
+     * @return the epoch day of the date
+     * @throws ArithmeticException if the date is too far from 1970 to fit into an {@code int}
+     */
+    public static int toEpochDay(final LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * @return the number of records in the store
+     */
+    public int size() {
+        return empIds.length;
+    }
+
+    public boolean isEmpty() {
+        return empIds.length == 0;
+    }
+
+    public long empId(final int index) {
+        return empIds[index];
+    }
+
+    public long projectId(final int index) {
+        return projectIds[index];
+    }
+
+    public int fromEpochDay(final int index) {
+        return fromEpochDays[index];
+    }
+
+    public int toEpochDay(final int index) {
+        return toEpochDays[index];
+    }
+
+    /**
+     * @return the number of distinct projects in the store
+     */
+    public int projectCount() {
+        return projectOffsets.length - 1;
+    }
+
+    /**
+     * @param project the index of the project, between {@code 0} and {@link #projectCount()}
+     * @return the index of the first record of the project
+     */
+    public int projectStart(final int project) {
+        return projectOffsets[project];
+    }
+
+    /**
+     * @param project the index of the project, between {@code 0} and {@link #projectCount()}
+     * @return the index after the last record of the project
+     */
+    public int projectEnd(final int project) {
+        return projectOffsets[project + 1];
+    }
+
+    /**
+     * Creates a {@link WorkRecord} for a single record of the store.
+     *
+     * @param index the index of the record
+     * @return the record at the given index
+     */
+    public WorkRecord get(final int index) {
+        return new WorkRecord(empIds[index], projectIds[index],
+                LocalDate.ofEpochDay(fromEpochDays[index]), LocalDate.ofEpochDay(toEpochDays[index]));
+    }
+
+    /**
+     * @return all records of the store as {@link WorkRecord} objects, sorted by project and start date
+     */
+    public List<WorkRecord> toWorkRecords() {
+        final List<WorkRecord> records = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            records.add(get(i));
+        }
+        return records;
+    }
+
+    /**
+     * Passes every record of the store to the given sink, sorted by project and start date.
+     *
+     * @param sink the sink that receives the records
+     */
+    public void forEach(final WorkRecordSink sink) {
+        for (int i = 0; i < size(); i++) {
+            sink.accept(empIds[i], projectIds[i], fromEpochDays[i], toEpochDays[i]);
+        }
+    }
+
+    private static int[] computeProjectOffsets(final long[] projectIds) {
+        int projectCount = 0;
+        for (int i = 0; i < projectIds.length; i++) {
+            if (i == 0 || projectIds[i] != projectIds[i - 1]) {
+                projectCount++;
+            }
+        }
+
+        final int[] offsets = new int[projectCount + 1];
+        int project = 0;
+        for (int i = 0; i < projectIds.length; i++) {
+            if (i == 0 || projectIds[i] != projectIds[i - 1]) {
+                offsets[project++] = i;
+            }
+        }
+        offsets[projectCount] = projectIds.length;
+        return offsets;
+    }
+
+    /**
+     * Collects records into growable arrays and sorts them once the store is built.
+     * <p>
+     * This class is not thread-safe.
+     */
+    public static final class Builder implements WorkRecordSink {
+
+        // Ranges up to this size are sorted with an insertion sort
+        private static final int INSERTION_SORT_THRESHOLD = 16;
+
+        private long[] empIds;
+        private long[] projectIds;
+        private int[] fromEpochDays;
+        private int[] toEpochDays;
+        private int size;
+
+        private Builder(final int expectedSize) {
+            final int capacity = Math.max(expectedSize, 1);
+            empIds = new long[capacity];
+            projectIds = new long[capacity];
+            fromEpochDays = new int[capacity];
+            toEpochDays = new int[capacity];
+        }
+
+        /**
+         * Adds a single record.
+         *
+         * @param empId        the unique identifier of the employee
+         * @param projectId    the unique identifier of the project
+         * @param fromEpochDay the start date as epoch day
+         * @param toEpochDay   the end date as epoch day
+         */
+        @Override
+        public void accept(final long empId, final long projectId, final int fromEpochDay, final int toEpochDay) {
+            if (size == empIds.length) {
+                grow();
+            }
+            empIds[size] = empId;
+            projectIds[size] = projectId;
+            fromEpochDays[size] = fromEpochDay;
+            toEpochDays[size] = toEpochDay;
+            size++;
+        }
+
+        /**
+         * Adds a single record.
+         *
+         * @param record the record to add
+         * @return this builder
+         */
+        public Builder add(final WorkRecord record) {
+            accept(record.empId(), record.projectId(), toEpochDay(record.dateFrom()), toEpochDay(record.dateTo()));
+            return this;
+        }
+
+        /**
+         * Adds all records of another store.
+         *
+         * @param store the store whose records are added
+         * @return this builder
+         */
+        public Builder addAll(final WorkRecordStore store) {
+            store.forEach(this);
+            return this;
+        }
+
+        /**
+         * @return the number of records added so far
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Sorts the records by project and start date and creates the store. The builder must not be used afterwards.
+         *
+         * @return the store with all added records
+         */
+        public WorkRecordStore build() {
+            final long[] sortedEmpIds = Arrays.copyOf(empIds, size);
+            final long[] sortedProjectIds = Arrays.copyOf(projectIds, size);
+            final int[] sortedFromEpochDays = Arrays.copyOf(fromEpochDays, size);
+            final int[] sortedToEpochDays = Arrays.copyOf(toEpochDays, size);
+            empIds = null;
+            projectIds = null;
+            fromEpochDays = null;
+            toEpochDays = null;
+
+            final Sorter sorter = new Sorter(sortedEmpIds, sortedProjectIds, sortedFromEpochDays, sortedToEpochDays);
+            PipelineMetrics.time("sort records", () -> sorter.sort(0, size));
+            return new WorkRecordStore(sortedEmpIds, sortedProjectIds, sortedFromEpochDays, sortedToEpochDays);
+        }
+
+        private void grow() {
+            final int capacity = Math.addExact(empIds.length, Math.max(empIds.length >> 1, 1));
+            empIds = Arrays.copyOf(empIds, capacity);
+            projectIds = Arrays.copyOf(projectIds, capacity);
+            fromEpochDays = Arrays.copyOf(fromEpochDays, capacity);
+            toEpochDays = Arrays.copyOf(toEpochDays, capacity);
+        }
+
+        /**
+         * Sorts the parallel arrays in place by project and start date with a quicksort, so no index array or boxed
+         * comparator is needed.
+         */
+        private record Sorter(long[] empIds, long[] projectIds, int[] fromEpochDays, int[] toEpochDays) {
+
+            void sort(int from, int to) {
+                while (to - from > INSERTION_SORT_THRESHOLD) {
+                    final int pivot = medianOfThree(from, (from + to) >>> 1, to - 1);
+                    final long pivotProjectId = projectIds[pivot];
+                    final int pivotFromEpochDay = fromEpochDays[pivot];
+
+                    // Three-way partition: [from, lower) < pivot, [lower, i) == pivot, [upper, to) > pivot
+                    int lower = from;
+                    int upper = to;
+                    int i = from;
+                    while (i < upper) {
+                        final int comparison = compareToPivot(i, pivotProjectId, pivotFromEpochDay);
+                        if (comparison < 0) {
+                            swap(lower++, i++);
+                        } else if (comparison > 0) {
+                            swap(i, --upper);
+                        } else {
+                            i++;
+                        }
+                    }
+
+                    // Recurse into the smaller side to keep the stack depth logarithmic
+                    if (lower - from < to - upper) {
+                        sort(from, lower);
+                        from = upper;
+                    } else {
+                        sort(upper, to);
+                        to = lower;
+                    }
+                }
+                insertionSort(from, to);
+            }
+
+            boolean isSorted(final int from, final int to) {
+                for (int i = from + 1; i < to; i++) {
+                    if (compare(i - 1, i) > 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            private int medianOfThree(final int a, final int b, final int c) {
+                if (compare(a, b) < 0) {
+                    return compare(b, c) < 0 ? b : compare(a, c) < 0 ? c : a;
+                }
+                return compare(a, c) < 0 ? a : compare(b, c) < 0 ? c : b;
+            }
+
+            private void insertionSort(final int from, final int to) {
+                for (int i = from + 1; i < to; i++) {
+                    for (int j = i; j > from && compare(j, j - 1) < 0; j--) {
+                        swap(j, j - 1);
+                    }
+                }
+            }
+
+            private int compare(final int i, final int j) {
+                return compareToPivot(i, projectIds[j], fromEpochDays[j]);
+            }
+
+            private int compareToPivot(final int i, final long projectId, final int fromEpochDay) {
+                final int byProject = Long.compare(projectIds[i], projectId);
+                return byProject != 0 ? byProject : Integer.compare(fromEpochDays[i], fromEpochDay);
+            }
+
+            private void swap(final int i, final int j) {
+                final long empId = empIds[i];
+                empIds[i] = empIds[j];
+                empIds[j] = empId;
+
+                final long projectId = projectIds[i];
+                projectIds[i] = projectIds[j];
+                projectIds[j] = projectId;
+
+                final int fromEpochDay = fromEpochDays[i];
+                fromEpochDays[i] = fromEpochDays[j];
+                fromEpochDays[j] = fromEpochDay;
+
+                final int toEpochDay = toEpochDays[i];
+                toEpochDays[i] = toEpochDays[j];
+                toEpochDays[j] = toEpochDay;
+            }
+        }
+    }
+}
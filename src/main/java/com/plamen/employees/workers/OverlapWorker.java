@@ -0,0 +1,32 @@
+package com.plamen.employees.workers;
+
+import com.plamen.employees.accumulators.PairRunFiles;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.parsers.binary.BinaryWorkDataParser;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.nio.file.Path;
+
+import static com.plamen.employees.calculators.EmployeeOverlapCalculator.computeOverlapAccumulator;
+
+/**
+ * The entry point of a worker process started by {@link PartitionedOverlapCoordinator}.
+ * <p>
+ * A worker reads one partition of the records from a binary snapshot, computes the total overlap of every pair within
+ * it and writes the totals as a run file of {@link PairRunFiles}. It exits with a non-zero status if any step fails.
+ */
+public class OverlapWorker {
+
+    /**
+     * @param args the binary snapshot of the partition, the run file to write and the {@link OverlapEngine} to use
+     */
+    public static void main(final String[] args) {
+        if (args.length != 3) {
+            System.err.println("Usage: OverlapWorker <partition file> <run file> <engine>");
+            System.exit(2);
+        }
+
+        final WorkRecordStore records = BinaryWorkDataParser.read(Path.of(args[0]));
+        PairRunFiles.write(computeOverlapAccumulator(records, OverlapEngine.valueOf(args[2])), Path.of(args[1]));
+    }
+}
@@ -0,0 +1,244 @@
+package com.plamen.employees.workers;
+
+import com.plamen.employees.accumulators.PairOverlapConsumer;
+import com.plamen.employees.accumulators.PairRunFiles;
+import com.plamen.employees.accumulators.TopPairSelector;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.stores.WorkRecordStore;
+import com.plamen.employees.writers.BinaryWorkDataWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A class that computes the overlaps in separate worker processes, so the pair totals of a very large input are
+ * spread over the heaps of several JVMs instead of one.
+ * <p>
+ * Overlaps are only ever calculated within a single project, so the coordinator hash-partitions the records by their
+ * project ID into binary snapshots, one per worker. Every worker is a {@link OverlapWorker} JVM that computes the
+ * totals of its partition and writes them as a sorted run file. An employee pair can work together on projects of
+ * different partitions, so the coordinator sums the runs with a streaming merge of {@link PairRunFiles} and never
+ * holds all pair totals itself.
+ * <p>
+ * The workers run on the local machine with the Java runtime of the current JVM and communicate only through files in
+ * a temporary directory, which is deleted afterwards. They are started with the {@code java.class.path} of the current
+ * JVM, so the application has to be started from a classpath or a jar, not from a custom class loader. Every worker
+ * gets an explicit maximum heap, by default an equal share of the maximum heap of the current JVM, so the workers
+ * together ask for no more memory than the current JVM may use, instead of each sizing its heap from the physical
+ * memory of the machine.
+ */
+public class PartitionedOverlapCoordinator {
+
+    // A worker needs some heap for the JVM itself, however many workers share the heap of the current JVM
+    private static final long MIN_WORKER_HEAP_MB = 64;
+
+    /**
+     * Computes the overlaps in worker processes and finds the pairs with the longest total overlap.
+     *
+     * @param store   the work records representing employee project assignments
+     * @param engine  the algorithm the workers use to find the overlaps within a project
+     * @param workers the number of worker processes
+     * @param k       the maximum number of pairs to return
+     * @return up to {@code k} pairs, sorted by their total overlap in descending order
+     * @throws IllegalArgumentException if the number of workers is not positive
+     * @throws RuntimeException         if a worker cannot be started or fails
+     */
+    public static List<Map.Entry<EmployeePair, Long>> findTopPairs(final WorkRecordStore store,
+                                                                   final OverlapEngine engine, final int workers,
+                                                                   final int k) {
+        return findTopPairs(store, engine, workers, 0, k);
+    }
+
+    /**
+     * Computes the overlaps in worker processes with the given maximum heap and finds the pairs with the longest total
+     * overlap.
+     *
+     * @param store        the work records representing employee project assignments
+     * @param engine       the algorithm the workers use to find the overlaps within a project
+     * @param workers      the number of worker processes
+     * @param workerHeapMb the maximum heap of every worker in megabytes, or {@code 0} to share the maximum heap of
+     *                     the current JVM equally between the workers
+     * @param k            the maximum number of pairs to return
+     * @return up to {@code k} pairs, sorted by their total overlap in descending order
+     * @throws IllegalArgumentException if the number of workers is not positive or the heap is negative
+     * @throws RuntimeException         if a worker cannot be started or fails
+     */
+    public static List<Map.Entry<EmployeePair, Long>> findTopPairs(final WorkRecordStore store,
+                                                                   final OverlapEngine engine, final int workers,
+                                                                   final int workerHeapMb, final int k) {
+        final TopPairSelector selector = new TopPairSelector(k);
+        computeOverlaps(store, engine, workers, workerHeapMb, selector);
+        return selector.getTopPairs();
+    }
+
+    /**
+     * Computes the overlaps in worker processes and passes the summed total of every pair to the consumer, ordered by
+     * the first and then the second employee ID.
+     *
+     * @param store    the work records representing employee project assignments
+     * @param engine   the algorithm the workers use to find the overlaps within a project
+     * @param workers  the number of worker processes
+     * @param consumer the consumer that receives the final totals
+     * @throws IllegalArgumentException if the number of workers is not positive
+     * @throws RuntimeException         if a worker cannot be started or fails
+     */
+    public static void computeOverlaps(final WorkRecordStore store, final OverlapEngine engine, final int workers,
+                                       final PairOverlapConsumer consumer) {
+        computeOverlaps(store, engine, workers, 0, consumer);
+    }
+
+    /**
+     * Computes the overlaps in worker processes with the given maximum heap and passes the summed total of every pair
+     * to the consumer, ordered by the first and then the second employee ID.
+     *
+     * @param store        the work records representing employee project assignments
+     * @param engine       the algorithm the workers use to find the overlaps within a project
+     * @param workers      the number of worker processes
+     * @param workerHeapMb the maximum heap of every worker in megabytes, or {@code 0} to share the maximum heap of
+     *                     the current JVM equally between the workers
+     * @param consumer     the consumer that receives the final totals
+     * @throws IllegalArgumentException if the number of workers is not positive or the heap is negative
+     * @throws RuntimeException         if a worker cannot be started or fails
+     */
+    public static void computeOverlaps(final WorkRecordStore store, final OverlapEngine engine, final int workers,
+                                       final int workerHeapMb, final PairOverlapConsumer consumer) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("The number of workers must be positive: " + workers);
+        }
+        if (workerHeapMb < 0) {
+            throw new IllegalArgumentException("The worker heap must not be negative: " + workerHeapMb);
+        }
+
+        final long heapMb = workerHeapMb > 0
+                ? workerHeapMb
+                : Math.max(MIN_WORKER_HEAP_MB, Runtime.getRuntime().maxMemory() / (1024 * 1024) / workers);
+        final Path directory = createTempDirectory();
+        try {
+            final List<Path> partitions = writePartitions(store, workers, directory);
+            final List<Path> runs = runWorkers(partitions, engine, heapMb, directory);
+            PairRunFiles.merge(runs, consumer);
+        }
+        finally {
+            deleteRecursively(directory);
+        }
+    }
+
+    /**
+     * Returns the partition of a project. Every record of a project lands in the same partition.
+     *
+     * @param projectId  the unique identifier of the project
+     * @param partitions the number of partitions
+     * @return the partition index between {@code 0} and {@code partitions - 1}
+     */
+    static int partitionOf(final long projectId, final int partitions) {
+        // Spread the bits of sequential IDs before taking the remainder
+        return Math.floorMod(Long.hashCode(projectId * 0x9E3779B97F4A7C15L), partitions);
+    }
+
+    /**
+     * Writes the records of every non-empty partition to its own binary snapshot, in the order of the store, so the
+     * workers load them without sorting.
+     */
+    private static List<Path> writePartitions(final WorkRecordStore store, final int workers, final Path directory) {
+        final int[] partitionOfProject = new int[store.projectCount()];
+        final int[] partitionSizes = new int[workers];
+        for (int project = 0; project < store.projectCount(); project++) {
+            final int start = store.projectStart(project);
+            partitionOfProject[project] = partitionOf(store.projectId(start), workers);
+            partitionSizes[partitionOfProject[project]] += store.projectEnd(project) - start;
+        }
+
+        final BinaryWorkDataWriter[] writers = new BinaryWorkDataWriter[workers];
+        final List<Path> partitions = new ArrayList<>(workers);
+        try {
+            for (int partition = 0; partition < workers; partition++) {
+                if (partitionSizes[partition] > 0) {
+                    final Path path = directory.resolve("partition-" + partition + ".bin");
+                    writers[partition] = BinaryWorkDataWriter.open(path, partitionSizes[partition]);
+                    partitions.add(path);
+                }
+            }
+            for (int project = 0; project < store.projectCount(); project++) {
+                final BinaryWorkDataWriter writer = writers[partitionOfProject[project]];
+                for (int i = store.projectStart(project); i < store.projectEnd(project); i++) {
+                    writer.accept(store.empId(i), store.projectId(i), store.fromEpochDay(i), store.toEpochDay(i));
+                }
+            }
+        }
+        finally {
+            for (final BinaryWorkDataWriter writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Starts one worker per partition, waits for all of them and returns their run files.
+     */
+    private static List<Path> runWorkers(final List<Path> partitions, final OverlapEngine engine, final long heapMb,
+                                         final Path directory) {
+        final String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        final String classPath = System.getProperty("java.class.path");
+        final List<Process> processes = new ArrayList<>(partitions.size());
+        final List<Path> runs = new ArrayList<>(partitions.size());
+        try {
+            for (int worker = 0; worker < partitions.size(); worker++) {
+                final Path run = directory.resolve("worker-" + worker + ".run");
+                processes.add(new ProcessBuilder(java, "-Xmx" + heapMb + "m", "-cp", classPath,
+                        OverlapWorker.class.getName(),
+                        partitions.get(worker).toString(), run.toString(), engine.name())
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+                runs.add(run);
+            }
+            for (int worker = 0; worker < processes.size(); worker++) {
+                final int exitCode = processes.get(worker).waitFor();
+                if (exitCode != 0) {
+                    throw new RuntimeException("Worker " + worker + " failed with exit code " + exitCode + ".");
+                }
+            }
+            return runs;
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not start a worker process.", e);
+        }
+        catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Overlap computation was interrupted.", e);
+        }
+        finally {
+            // Only the workers that are still running after a failure are left to stop
+            processes.forEach(Process::destroy);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("overlap-workers-");
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not create a temporary directory.", e);
+        }
+    }
+
+    private static void deleteRecursively(final Path directory) {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        catch (final IOException ignored) {
+            // Leftover partitions in the temporary directory do no harm
+        }
+    }
+}
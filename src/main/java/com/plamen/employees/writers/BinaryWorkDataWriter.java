@@ -0,0 +1,178 @@
+package com.plamen.employees.writers;
+
+import com.plamen.employees.parsers.binary.BinaryWorkDataFormat;
+import com.plamen.employees.stores.WorkRecordSink;
+import com.plamen.employees.stores.WorkRecordStore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes work records as a binary snapshot in the {@link BinaryWorkDataFormat}.
+ * <p>
+ * A CSV file can be converted once and then reloaded with
+ * {@link com.plamen.employees.parsers.binary.BinaryWorkDataParser} without parsing any text or dates.
+ * <p>
+ * Since the number of records is known up front, every column starts at a fixed offset. Records are buffered per
+ * column and flushed with positional writes, so any number of records can be streamed with four small buffers.
+ * This class is not thread-safe.
+ */
+public class BinaryWorkDataWriter implements WorkRecordSink, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final int recordCount;
+    private final ColumnBuffer empIds;
+    private final ColumnBuffer projectIds;
+    private final ColumnBuffer fromEpochDays;
+    private final ColumnBuffer toEpochDays;
+    private int written;
+
+    private BinaryWorkDataWriter(final Path path, final int recordCount) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.recordCount = recordCount;
+
+        final long empIdsOffset = BinaryWorkDataFormat.HEADER_SIZE;
+        final long projectIdsOffset = empIdsOffset + (long) recordCount * Long.BYTES;
+        final long fromEpochDaysOffset = projectIdsOffset + (long) recordCount * Long.BYTES;
+        final long toEpochDaysOffset = fromEpochDaysOffset + (long) recordCount * Integer.BYTES;
+        this.empIds = new ColumnBuffer(empIdsOffset);
+        this.projectIds = new ColumnBuffer(projectIdsOffset);
+        this.fromEpochDays = new ColumnBuffer(fromEpochDaysOffset);
+        this.toEpochDays = new ColumnBuffer(toEpochDaysOffset);
+    }
+
+    /**
+     * Writes the records of a store to a file, replacing the file if it exists.
+     *
+     * @param store the records to write
+     * @param path  the file to write
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public static void write(final WorkRecordStore store, final Path path) {
+        try (BinaryWorkDataWriter writer = open(path, store.size())) {
+            store.forEach(writer);
+        }
+    }
+
+    /**
+     * Opens a writer that streams exactly {@code recordCount} records to a file, replacing the file if it exists.
+     * Records written in the order of {@link WorkRecordStore} are loaded without sorting.
+     *
+     * @param path        the file to write
+     * @param recordCount the number of records that will be written
+     * @return the writer, which must be closed after the last record
+     * @throws UncheckedIOException if the file cannot be opened
+     */
+    public static BinaryWorkDataWriter open(final Path path, final int recordCount) {
+        if (recordCount < 0) {
+            throw new IllegalArgumentException("Record count must not be negative: " + recordCount);
+        }
+        try {
+            return new BinaryWorkDataWriter(path, recordCount);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write binary work data file: " + path, e);
+        }
+    }
+
+    /**
+     * Writes a single record.
+     *
+     * @param empId        the unique identifier of the employee
+     * @param projectId    the unique identifier of the project
+     * @param fromEpochDay the start date as epoch day
+     * @param toEpochDay   the end date as epoch day
+     * @throws IllegalStateException if more records are written than announced
+     */
+    @Override
+    public void accept(final long empId, final long projectId, final int fromEpochDay, final int toEpochDay) {
+        if (written == recordCount) {
+            throw new IllegalStateException("Expected only " + recordCount + " records.");
+        }
+        try {
+            empIds.putLong(empId);
+            projectIds.putLong(projectId);
+            fromEpochDays.putInt(fromEpochDay);
+            toEpochDays.putInt(toEpochDay);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write binary work data file: " + path, e);
+        }
+        written++;
+    }
+
+    /**
+     * Flushes the buffered records and writes the header.
+     *
+     * @throws IllegalStateException if fewer records were written than announced
+     * @throws UncheckedIOException  if the file cannot be written
+     */
+    @Override
+    public void close() {
+        try (channel) {
+            if (written != recordCount) {
+                throw new IllegalStateException("Expected " + recordCount + " records, but got " + written + ".");
+            }
+            empIds.flush();
+            projectIds.flush();
+            fromEpochDays.flush();
+            toEpochDays.flush();
+            writeFully(BinaryWorkDataFormat.createHeader(recordCount), 0);
+        }
+        catch (final IOException e) {
+            throw new UncheckedIOException("Could not write binary work data file: " + path, e);
+        }
+    }
+
+    private void writeFully(final ByteBuffer buffer, final long position) throws IOException {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            offset += channel.write(buffer, offset);
+        }
+    }
+
+    /**
+     * Buffers the values of one column and writes them at the column's next file position.
+     */
+    private final class ColumnBuffer {
+
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryWorkDataFormat.BYTE_ORDER);
+        private long position;
+
+        private ColumnBuffer(final long position) {
+            this.position = position;
+        }
+
+        void putLong(final long value) throws IOException {
+            if (buffer.remaining() < Long.BYTES) {
+                flush();
+            }
+            buffer.putLong(value);
+        }
+
+        void putInt(final int value) throws IOException {
+            if (buffer.remaining() < Integer.BYTES) {
+                flush();
+            }
+            buffer.putInt(value);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            final int size = buffer.remaining();
+            writeFully(buffer, position);
+            position += size;
+            buffer.clear();
+        }
+    }
+}
@@ -4,7 +4,12 @@ import com.plamen.employees.dto.EmployeePair;
 import com.plamen.employees.dto.WorkRecord;
 import com.plamen.employees.registries.FileWorkDataParserRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -45,4 +50,23 @@ public class ApplicationIT {
         assertThat(pair).isEqualTo(new EmployeePair(1, 2));
         assertThat(totalDays).isEqualTo(32L);
     }
+
+    @Test
+    void run_whenNoInputFileCanBeLoaded_shouldFailWithoutPrintingAResult(@TempDir final Path tempDir) {
+        final String missing = tempDir.resolve("missing.csv").toString();
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final PrintStream previousOut = System.out;
+        System.setOut(new PrintStream(out, true, StandardCharsets.UTF_8));
+        try {
+            assertThat(Application.run(new String[]{"--file=" + missing})).isEqualTo(Application.EXIT_NO_INPUT);
+            assertThat(Application.run(new String[]{"--file=" + missing, "--file=work-data/work-data-it.csv"}))
+                    .isEqualTo(Application.EXIT_PARTIAL_INPUT);
+        }
+        finally {
+            System.setOut(previousOut);
+        }
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(String.format("1, 2, 32%n"));
+    }
 }
\ No newline at end of file
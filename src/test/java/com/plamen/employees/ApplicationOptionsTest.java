@@ -0,0 +1,116 @@
+package com.plamen.employees;
+
+import com.plamen.employees.enums.FileWorkDataType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link ApplicationOptions}
+ */
+public class ApplicationOptionsTest {
+
+    @Test
+    void parse_whenNoArguments_shouldUseDefaults() {
+        final ApplicationOptions options = ApplicationOptions.parse(new String[0]);
+
+        assertThat(options.fileNames()).containsExactly("work-data.csv");
+        assertThat(options.fileType()).isEqualTo(FileWorkDataType.CSV);
+        assertThat(options.top()).isEqualTo(1);
+        assertThat(options.binaryFileName()).isNull();
+        assertThat(options.memoryBudgetMb()).isZero();
+        assertThat(options.coalesce()).isFalse();
+        assertThat(options.serverPort()).isZero();
+        assertThat(options.metrics()).isFalse();
+        assertThat(options.sketchCapacity()).isZero();
+        assertThat(options.exactRecount()).isFalse();
+        assertThat(options.threads()).isZero();
+        assertThat(options.workers()).isZero();
+        assertThat(options.cacheDirectory()).isNull();
+        assertThat(options.cacheSizeMb()).isEqualTo(64);
+    }
+
+    @Test
+    void parse_shouldReadOptions() {
+        final ApplicationOptions options = ApplicationOptions.parse(
+                new String[]{"--top=100", "--file=data/x.bin", "--type=binary", "--write-binary=copy.bin", "--file=shards/*.bin",
+                        "--memory-budget=256", "--coalesce", "--serve=8080", "--metrics=true",
+                        "--approximate=1000", "--exact-recount"});
+
+        assertThat(options.fileNames()).containsExactly("data/x.bin", "shards/*.bin");
+        assertThat(options.fileType()).isEqualTo(FileWorkDataType.BINARY);
+        assertThat(options.top()).isEqualTo(100);
+        assertThat(options.binaryFileName()).isEqualTo("copy.bin");
+        assertThat(options.memoryBudgetMb()).isEqualTo(256);
+        assertThat(options.coalesce()).isTrue();
+        assertThat(options.serverPort()).isEqualTo(8080);
+        assertThat(options.metrics()).isTrue();
+        assertThat(options.sketchCapacity()).isEqualTo(1000);
+        assertThat(options.exactRecount()).isTrue();
+    }
+
+    @Test
+    void parse_whenWorkersAndCache_shouldReadThem() {
+        final ApplicationOptions options = ApplicationOptions.parse(
+                new String[]{"--workers=4", "--worker-heap=512", "--top=10", "--cache=.cache", "--cache-size=8"});
+
+        assertThat(options.workers()).isEqualTo(4);
+        assertThat(options.workerHeapMb()).isEqualTo(512);
+        assertThat(options.top()).isEqualTo(10);
+        assertThat(options.cacheDirectory()).isEqualTo(".cache");
+        assertThat(options.cacheSizeMb()).isEqualTo(8);
+    }
+
+    @Test
+    void parse_whenThreads_shouldReadThem() {
+        final ApplicationOptions options = ApplicationOptions.parse(new String[]{"--threads=32", "--coalesce"});
+
+        assertThat(options.threads()).isEqualTo(32);
+        assertThat(options.coalesce()).isTrue();
+    }
+
+    @Test
+    void parse_whenInvalidArguments_shouldThrowException() {
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--top=0"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --top must be a positive number: 0");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--unknown"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Unknown option: --unknown");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--type=xml"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --type must be one of [csv, mapped_csv, parallel_csv, binary]: xml");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--coalesce=yes"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --coalesce must be true or false: yes");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--serve=70000"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --serve must be a port number: 70000");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--top=10", "--approximate=5"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --approximate must be at least --top: 5");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--exact-recount"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --exact-recount requires --approximate");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--workers=4", "--memory-budget=64"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --workers cannot be combined with --approximate, --memory-budget or --metrics");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--workers=4", "--metrics"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --workers cannot be combined with --approximate, --memory-budget or --metrics");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--threads=8", "--workers=4"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --threads cannot be combined with --workers, --approximate, --memory-budget or "
+                        + "--serve");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--threads=0"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --threads must be a positive number: 0");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--worker-heap=512"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --worker-heap requires --workers");
+        assertThatCode(() -> ApplicationOptions.parse(new String[]{"--cache=.cache", "--serve=8080"}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Option --cache cannot be combined with --approximate, --serve or --write-binary");
+    }
+}
@@ -0,0 +1,145 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link PairOverlapAccumulator}
+ */
+public class PairOverlapAccumulatorTest {
+
+    @Test
+    void accept_whenSamePairInAnyOrder_shouldSumDays() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+
+        accumulator.accept(1, 2, 10);
+        accumulator.accept(2, 1, 5);
+        accumulator.accept(1, 3, 7);
+
+        assertThat(accumulator.size()).isEqualTo(2);
+        assertThat(accumulator.get(1, 2)).isEqualTo(15L);
+        assertThat(accumulator.get(3, 1)).isEqualTo(7L);
+        assertThat(accumulator.get(2, 3)).isZero();
+    }
+
+    @Test
+    void accept_whenManyPairs_shouldGrowAndMatchHashMap() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator(4);
+        final Map<EmployeePair, Long> expected = new HashMap<>();
+        final Random random = new Random(3);
+
+        for (int i = 0; i < 50_000; i++) {
+            final long emp1 = random.nextInt(1_000) - 500;
+            final long emp2 = random.nextInt(1_000) - 500;
+            if (emp1 != emp2) {
+                final long days = random.nextInt(100) + 1;
+                accumulator.accept(emp1, emp2, days);
+                expected.merge(new EmployeePair(emp1, emp2), days, Long::sum);
+            }
+        }
+
+        assertThat(accumulator.toMap()).isEqualTo(expected);
+    }
+
+    @Test
+    void accept_whenInvalidPair_shouldThrowException() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+
+        assertThatCode(() -> accumulator.accept(1, 1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatCode(() -> accumulator.accept(1, Integer.MAX_VALUE + 1L, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forEach_shouldReportSmallerEmployeeFirst() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+        accumulator.accept(9, 4, 3);
+
+        final Map<EmployeePair, Long> visited = new HashMap<>();
+        accumulator.forEach((emp1, emp2, days) -> {
+            assertThat(emp1).isLessThan(emp2);
+            visited.put(new EmployeePair(emp1, emp2), days);
+        });
+
+        assertThat(visited).containsExactly(Map.entry(new EmployeePair(4, 9), 3L));
+    }
+
+    @Test
+    void addAll_shouldSumBothAccumulators() {
+        final PairOverlapAccumulator first = new PairOverlapAccumulator();
+        first.accept(1, 2, 10);
+        final PairOverlapAccumulator second = new PairOverlapAccumulator();
+        second.accept(1, 2, 5);
+        second.accept(3, 4, 1);
+
+        first.addAll(second);
+
+        assertThat(first.toMap()).containsExactlyInAnyOrderEntriesOf(Map.of(
+                new EmployeePair(1, 2), 15L,
+                new EmployeePair(3, 4), 1L
+        ));
+    }
+
+    @Test
+    void addAll_whenLargeDisjointAccumulators_shouldKeepAllPairs() {
+        final PairOverlapAccumulator first = new PairOverlapAccumulator();
+        final PairOverlapAccumulator second = new PairOverlapAccumulator();
+        for (int emp = 1; emp <= 200_000; emp++) {
+            (emp % 2 == 0 ? first : second).accept(emp, -emp, emp);
+        }
+
+        first.addAll(second);
+
+        assertThat(first.size()).isEqualTo(200_000);
+        assertThat(first.get(7, -7)).isEqualTo(7L);
+        assertThat(first.get(200_000, -200_000)).isEqualTo(200_000L);
+    }
+
+    @Test
+    void findMaxPair_whenEmpty_shouldReturnEmptyOptional() {
+        assertThat(new PairOverlapAccumulator().findMaxPair()).isEmpty();
+    }
+
+    @Test
+    void findMaxPair_whenTie_shouldReturnSmallestPair() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+        accumulator.accept(3, 4, 30);
+        accumulator.accept(1, 2, 30);
+        accumulator.accept(2, 3, 20);
+
+        final Optional<Map.Entry<EmployeePair, Long>> result = accumulator.findMaxPair();
+
+        assertThat(result).contains(Map.entry(new EmployeePair(1, 2), 30L));
+    }
+
+    @Test
+    void computeOverlapAccumulator_shouldMatchComputeOverlaps() {
+        final List<WorkRecord> records = List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 3, 1)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 4, 1)),
+                new WorkRecord(3, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15)),
+                new WorkRecord(1, 200, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 1)),
+                new WorkRecord(2, 200, LocalDate.of(2021, 1, 15), LocalDate.of(2021, 2, 15))
+        );
+
+        final PairOverlapAccumulator accumulator =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(records, OverlapEngine.SWEEP_LINE);
+
+        assertThat(accumulator.toMap()).isEqualTo(EmployeeOverlapCalculator.computeOverlaps(records));
+        assertThat(accumulator.findMaxPair()).contains(Map.entry(new EmployeePair(1, 2), 48L));
+    }
+}
@@ -0,0 +1,89 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.ApproximatePairOverlap;
+import com.plamen.employees.dto.EmployeePair;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link SpaceSavingPairSketch}
+ */
+public class SpaceSavingPairSketchTest {
+
+    @Test
+    void accept_whenNotFull_shouldCountExactly() {
+        final SpaceSavingPairSketch sketch = new SpaceSavingPairSketch(4);
+
+        sketch.accept(1, 2, 10);
+        sketch.accept(2, 1, 5);
+        sketch.accept(1, 3, 7);
+
+        assertThat(sketch.size()).isEqualTo(2);
+        assertThat(sketch.getTotalDays()).isEqualTo(22L);
+        assertThat(sketch.getMaxError()).isZero();
+        assertThat(sketch.findTopPairs(5)).containsExactly(
+                new ApproximatePairOverlap(new EmployeePair(1, 2), 15L, 0L),
+                new ApproximatePairOverlap(new EmployeePair(1, 3), 7L, 0L));
+    }
+
+    @Test
+    void accept_whenFull_shouldReplaceSmallestCounter() {
+        final SpaceSavingPairSketch sketch = new SpaceSavingPairSketch(2);
+
+        sketch.accept(1, 2, 10);
+        sketch.accept(1, 3, 4);
+        sketch.accept(2, 3, 1);
+
+        assertThat(sketch.size()).isEqualTo(2);
+        assertThat(sketch.getMaxError()).isEqualTo(5L);
+        assertThat(sketch.findTopPairs(2)).containsExactly(
+                new ApproximatePairOverlap(new EmployeePair(1, 2), 10L, 0L),
+                new ApproximatePairOverlap(new EmployeePair(2, 3), 5L, 4L));
+    }
+
+    @Test
+    void accept_whenSkewedStream_shouldBoundEveryEstimate() {
+        final SpaceSavingPairSketch sketch = new SpaceSavingPairSketch(64);
+        final Map<EmployeePair, Long> expected = new HashMap<>();
+        final Random random = new Random(11);
+
+        for (int i = 0; i < 100_000; i++) {
+            // A few heavy pairs among many light ones
+            final boolean heavy = random.nextInt(10) == 0;
+            final long emp1 = heavy ? random.nextInt(4) : random.nextInt(2_000);
+            final long emp2 = heavy ? 100 : random.nextInt(2_000) + 2_000;
+            final long days = random.nextInt(30) + 1;
+            sketch.accept(emp1, emp2, days);
+            expected.merge(new EmployeePair(emp1, emp2), days, Long::sum);
+        }
+
+        final List<ApproximatePairOverlap> top = sketch.findTopPairs(64);
+        assertThat(sketch.getMaxError()).isLessThanOrEqualTo(sketch.getTotalDays() / 64);
+        for (final ApproximatePairOverlap estimate : top) {
+            final long actual = expected.get(estimate.pair());
+            assertThat(estimate.estimatedDays()).isGreaterThanOrEqualTo(actual);
+            assertThat(estimate.lowerBound()).isLessThanOrEqualTo(actual);
+        }
+        // Every pair longer than the error bound is monitored
+        expected.forEach((pair, days) -> {
+            if (days > sketch.getMaxError()) {
+                assertThat(top).anyMatch(estimate -> estimate.pair().equals(pair));
+            }
+        });
+        assertThat(top.subList(0, 4)).extracting(estimate -> estimate.pair().emp2()).containsOnly(100L);
+    }
+
+    @Test
+    void constructor_whenCapacityIsNotPositive_shouldThrowException() {
+        assertThatCode(() -> new SpaceSavingPairSketch(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The capacity must be between 1 and 268435456: 0");
+    }
+}
@@ -0,0 +1,95 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.EmployeePair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link SpillingPairOverlapAccumulator}
+ */
+public class SpillingPairOverlapAccumulatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void forEach_whenBudgetExceeded_shouldMergeRunsIntoSameTotals() throws IOException {
+        final Random random = new Random(3);
+        final PairOverlapAccumulator expected = new PairOverlapAccumulator();
+
+        try (SpillingPairOverlapAccumulator spilling = new SpillingPairOverlapAccumulator(16 * 1024, tempDir, 4)) {
+            for (int i = 0; i < 50_000; i++) {
+                final long emp1 = random.nextInt(400) - 200;
+                final long emp2 = random.nextInt(400) - 200;
+                if (emp1 != emp2) {
+                    final long days = random.nextInt(100) + 1;
+                    expected.accept(emp1, emp2, days);
+                    spilling.accept(emp1, emp2, days);
+                }
+            }
+
+            final List<Long> keys = new ArrayList<>();
+            final Map<EmployeePair, Long> totals = new HashMap<>();
+            spilling.forEach((emp1, emp2, days) -> {
+                keys.add(PairOverlapAccumulator.pairKey(emp1, emp2));
+                totals.put(new EmployeePair(emp1, emp2), days);
+            });
+
+            assertThat(spilling.getSpillCount()).isGreaterThan(100);
+            assertThat(totals).isEqualTo(expected.toMap());
+            assertThat(keys).isSortedAccordingTo(PairOverlapAccumulator::compareKeys);
+            assertThat(spilling.findTopPairs(5)).isEqualTo(expected.findTopPairs(5));
+            assertThat(spilling.findMaxPair()).isEqualTo(expected.findMaxPair());
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void close_whenDirectoryCreatedByAccumulator_shouldDeleteIt() {
+        final SpillingPairOverlapAccumulator spilling = new SpillingPairOverlapAccumulator(16 * 1024);
+        for (int i = 0; i < 2_000; i++) {
+            spilling.accept(i, i + 1, 1);
+        }
+        spilling.forEach((emp1, emp2, days) -> {
+        });
+        assertThat(spilling.getSpillCount()).isPositive();
+
+        spilling.close();
+
+        assertThat(spilling.getDirectory()).doesNotExist();
+    }
+
+    @Test
+    void forEach_whenWithinBudget_shouldNotSpill() {
+        try (SpillingPairOverlapAccumulator spilling = new SpillingPairOverlapAccumulator(1 << 20, tempDir)) {
+            spilling.accept(1, 2, 10);
+            spilling.accept(2, 1, 5);
+
+            assertThat(spilling.findMaxPair()).contains(Map.entry(new EmployeePair(1, 2), 15L));
+            assertThat(spilling.getSpillCount()).isZero();
+            assertThatCode(() -> spilling.accept(1, 3, 1)).isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void constructor_whenBudgetTooSmall_shouldThrowException() {
+        assertThatCode(() -> new SpillingPairOverlapAccumulator(100, tempDir))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Memory budget is too small: 100");
+    }
+}
@@ -0,0 +1,78 @@
+package com.plamen.employees.accumulators;
+
+import com.plamen.employees.dto.EmployeePair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TopPairSelector}
+ */
+public class TopPairSelectorTest {
+
+    @Test
+    void getTopPairs_shouldReturnLongestOverlapsFirst() {
+        final TopPairSelector selector = new TopPairSelector(2);
+
+        selector.accept(1, 2, 10);
+        selector.accept(3, 4, 25);
+        selector.accept(5, 6, 5);
+        selector.accept(7, 8, 20);
+
+        assertThat(selector.getTopPairs()).containsExactly(
+                Map.entry(new EmployeePair(3, 4), 25L),
+                Map.entry(new EmployeePair(7, 8), 20L));
+    }
+
+    @Test
+    void getTopPairs_whenTies_shouldPreferSmallerEmployeeIds() {
+        final TopPairSelector selector = new TopPairSelector(3);
+
+        selector.accept(3, 4, 30);
+        selector.accept(2, 9, 30);
+        selector.accept(-1, 5, 30);
+        selector.accept(2, -3, 30);
+
+        assertThat(selector.getTopPairs()).containsExactly(
+                Map.entry(new EmployeePair(-3, 2), 30L),
+                Map.entry(new EmployeePair(-1, 5), 30L),
+                Map.entry(new EmployeePair(2, 9), 30L));
+    }
+
+    @Test
+    void getTopPairs_whenFewerPairsThanK_shouldReturnAllPairs() {
+        final TopPairSelector selector = new TopPairSelector(10);
+        selector.accept(1, 2, 10);
+
+        assertThat(selector.getTopPairs()).containsExactly(Map.entry(new EmployeePair(1, 2), 10L));
+        assertThat(new TopPairSelector(0).getTopPairs()).isEmpty();
+
+        final TopPairSelector unbounded = new TopPairSelector(Integer.MAX_VALUE);
+        unbounded.accept(1, 2, 10);
+        assertThat(unbounded.getTopPairs()).containsExactly(Map.entry(new EmployeePair(1, 2), 10L));
+    }
+
+    @Test
+    void findTopPairs_shouldMatchFullSort() {
+        final PairOverlapAccumulator accumulator = new PairOverlapAccumulator();
+        final Random random = new Random(13);
+        for (int i = 0; i < 10_000; i++) {
+            final int emp1 = random.nextInt(300);
+            final int emp2 = random.nextInt(300);
+            if (emp1 != emp2) {
+                accumulator.accept(emp1, emp2, random.nextInt(50));
+            }
+        }
+
+        final List<Map.Entry<EmployeePair, Long>> expected = new ArrayList<>(accumulator.toMap().entrySet());
+        expected.sort(TopPairSelector.TOP_PAIRS_ORDER);
+
+        assertThat(accumulator.findTopPairs(100)).containsExactlyElementsOf(expected.subList(0, 100));
+        assertThat(accumulator.findMaxPair()).contains(expected.getFirst());
+    }
+}
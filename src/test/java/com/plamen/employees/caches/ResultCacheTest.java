@@ -0,0 +1,90 @@
+package com.plamen.employees.caches;
+
+import com.plamen.employees.dto.EmployeePair;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link ResultCache}
+ */
+public class ResultCacheTest {
+
+    private static final List<Map.Entry<EmployeePair, Long>> PAIRS = List.of(
+            Map.entry(new EmployeePair(1, 2), 30L),
+            Map.entry(new EmployeePair(-5, 7), 12L));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void get_whenResultWasStored_shouldReturnIt() {
+        final ResultCache cache = new ResultCache(directory.resolve("cache"), 1024);
+
+        assertThat(cache.get("abc123")).isEmpty();
+        cache.put("abc123", PAIRS);
+
+        assertThat(cache.get("abc123")).contains(PAIRS);
+        assertThat(new ResultCache(directory.resolve("cache"), 1024).get("abc123")).contains(PAIRS);
+        assertThat(cache.getSizeBytes()).isEqualTo(12 + 2 * 24);
+    }
+
+    @Test
+    void get_whenResultIsCorrupt_shouldTreatItAsMissing() throws IOException {
+        final ResultCache cache = new ResultCache(directory, 1024);
+        cache.put("abc", PAIRS);
+        Files.write(directory.resolve("abc.top"), new byte[]{1, 2, 3});
+
+        assertThat(cache.get("abc")).isEmpty();
+        assertThat(directory.resolve("abc.top")).doesNotExist();
+    }
+
+    @Test
+    void put_whenCacheIsFull_shouldEvictLeastRecentlyUsed() throws IOException {
+        // Room for two results of two pairs each
+        final ResultCache cache = new ResultCache(directory, 2 * (12 + 2 * 24));
+        cache.put("a1", PAIRS);
+        cache.put("b2", PAIRS);
+        Files.setLastModifiedTime(directory.resolve("a1.top"), FileTime.fromMillis(1_000));
+        Files.setLastModifiedTime(directory.resolve("b2.top"), FileTime.fromMillis(2_000));
+        // Reading the older result makes it the most recently used one
+        assertThat(cache.get("a1")).isPresent();
+
+        cache.put("c3", PAIRS);
+
+        assertThat(cache.get("a1")).isPresent();
+        assertThat(cache.get("b2")).isEmpty();
+        assertThat(cache.get("c3")).isPresent();
+    }
+
+    @Test
+    void fingerprint_shouldChangeWithContentAndParameters() throws IOException {
+        final Path file = directory.resolve("work-data.csv");
+        Files.writeString(file, "EmpID, ProjectID, DateFrom, DateTo\n1, 10, 2020-01-01, NULL\n");
+        final List<String> files = List.of(file.toString());
+
+        final String key = ResultCache.fingerprint(files, "today=2024-01-01");
+
+        assertThat(key).hasSize(32).matches("[0-9a-f]+");
+        assertThat(ResultCache.fingerprint(files, "today=2024-01-01")).isEqualTo(key);
+        assertThat(ResultCache.fingerprint(files, "today=2024-01-02")).isNotEqualTo(key);
+        Files.writeString(file, "EmpID, ProjectID, DateFrom, DateTo\n1, 10, 2020-01-02, NULL\n");
+        assertThat(ResultCache.fingerprint(files, "today=2024-01-01")).isNotEqualTo(key);
+    }
+
+    @Test
+    void constructor_whenSizeIsNotPositive_shouldThrowException() {
+        assertThatCode(() -> new ResultCache(directory, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The cache size must be positive: 0");
+    }
+}
@@ -0,0 +1,83 @@
+package com.plamen.employees.calculators;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.dto.ApproximateOverlapResult;
+import com.plamen.employees.dto.ApproximatePairOverlap;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.plamen.employees.calculators.EmployeeOverlapCalculatorTest.randomWorkRecords;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link ApproximateOverlapCalculator}
+ */
+public class ApproximateOverlapCalculatorTest {
+
+    private static final WorkRecordStore RECORDS =
+            WorkRecordStore.of(randomWorkRecords(new Random(7), 3_000, 30, 200));
+
+    @Test
+    void findTopPairs_whenCapacityFitsAllPairs_shouldBeExact() {
+        final PairOverlapAccumulator exact =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(RECORDS, OverlapEngine.SWEEP_LINE);
+
+        final ApproximateOverlapResult result =
+                ApproximateOverlapCalculator.findTopPairs(RECORDS, OverlapEngine.SWEEP_LINE, exact.size(), 10);
+
+        assertThat(result.exact()).isTrue();
+        assertThat(result.maxError()).isZero();
+        assertThat(toEntries(result)).isEqualTo(exact.findTopPairs(10));
+    }
+
+    @Test
+    void findTopPairs_whenCapacityIsSmall_shouldOverestimateWithinError() {
+        final PairOverlapAccumulator exact =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(RECORDS, OverlapEngine.SWEEP_LINE);
+
+        final ApproximateOverlapResult result =
+                ApproximateOverlapCalculator.findTopPairs(RECORDS, OverlapEngine.SWEEP_LINE, 500, 10);
+
+        assertThat(exact.size()).isGreaterThan(500);
+        assertThat(result.exact()).isFalse();
+        assertThat(result.pairs()).hasSize(10);
+        for (final ApproximatePairOverlap pair : result.pairs()) {
+            final long actual = exact.get(pair.pair().emp1(), pair.pair().emp2());
+            assertThat(actual).isBetween(pair.lowerBound(), pair.estimatedDays());
+        }
+    }
+
+    @Test
+    void findExactTopPairs_whenCapacityIsSmall_shouldMatchExactTopPairs() {
+        final PairOverlapAccumulator exact =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(RECORDS, OverlapEngine.SWEEP_LINE);
+
+        final ApproximateOverlapResult result =
+                ApproximateOverlapCalculator.findExactTopPairs(RECORDS, OverlapEngine.SWEEP_LINE, 2_000, 10);
+
+        assertThat(exact.size()).isGreaterThan(2_000);
+        assertThat(result.exact()).isTrue();
+        assertThat(result.maxError()).isPositive();
+        assertThat(toEntries(result)).isEqualTo(exact.findTopPairs(10));
+    }
+
+    @Test
+    void findTopPairs_whenTopExceedsCapacity_shouldThrowException() {
+        assertThatCode(() -> ApproximateOverlapCalculator.findTopPairs(RECORDS, OverlapEngine.SWEEP_LINE, 5, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The number of pairs must be between 1 and the capacity 5: 10");
+    }
+
+    private static List<Map.Entry<EmployeePair, Long>> toEntries(final ApproximateOverlapResult result) {
+        return result.pairs().stream()
+                .map(pair -> Map.entry(pair.pair(), pair.estimatedDays()))
+                .toList();
+    }
+}
@@ -1,16 +1,24 @@
 package com.plamen.employees.calculators;
 
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
 import com.plamen.employees.dto.EmployeePair;
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.stores.WorkRecordStore;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
 
 import static com.plamen.employees.calculators.EmployeeOverlapCalculator.computeOverlaps;
 import static com.plamen.employees.calculators.EmployeeOverlapCalculator.findMaxPair;
+import static com.plamen.employees.calculators.EmployeeOverlapCalculator.findTopPairs;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -110,6 +118,56 @@ public class EmployeeOverlapCalculatorTest {
         assertThat(result.get(pair)).isEqualTo(31L);
     }
 
+    @ParameterizedTest
+    @EnumSource(OverlapEngine.class)
+    void computeOverlaps_whenEngineSelected_shouldAccumulateOverlap(final OverlapEngine engine) {
+        final List<WorkRecord> records = List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 3, 1)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 4, 1)),
+                new WorkRecord(3, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15)),
+                new WorkRecord(1, 200, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 1)),
+                new WorkRecord(2, 200, LocalDate.of(2021, 1, 15), LocalDate.of(2021, 2, 15))
+        );
+
+        final Map<EmployeePair, Long> result = computeOverlaps(records, engine);
+
+        assertThat(result).containsExactlyInAnyOrderEntriesOf(Map.of(
+                new EmployeePair(1, 2), 30L + 18L,
+                new EmployeePair(1, 3), 15L
+        ));
+    }
+
+    @Test
+    void computeOverlaps_whenSweepLineEngine_shouldMatchPairwiseEngine() {
+        final List<WorkRecord> records = randomWorkRecords(new Random(42), 2_000, 20, 150);
+
+        final Map<EmployeePair, Long> pairwise = computeOverlaps(records, OverlapEngine.PAIRWISE);
+        final Map<EmployeePair, Long> sweepLine = computeOverlaps(records, OverlapEngine.SWEEP_LINE);
+
+        assertThat(pairwise).isNotEmpty();
+        assertThat(sweepLine).isEqualTo(pairwise);
+    }
+
+    @ParameterizedTest
+    @EnumSource(OverlapEngine.class)
+    void computeTileOverlaps_whenProjectSplitIntoRanges_shouldFindEveryPairOnce(final OverlapEngine engine) {
+        final WorkRecordStore store = WorkRecordStore.of(randomWorkRecords(new Random(5), 500, 1, 60));
+        final int[] boundaries = {0, 1, 17, 250, 251, 499, 500};
+
+        final PairOverlapAccumulator whole = new PairOverlapAccumulator();
+        final long overlapping = EmployeeOverlapCalculator.computeTileOverlaps(store, 0, 0, 500, engine, whole)
+                .overlapping();
+        final PairOverlapAccumulator tiled = new PairOverlapAccumulator();
+        long tiledOverlapping = 0;
+        for (int i = 1; i < boundaries.length; i++) {
+            tiledOverlapping += EmployeeOverlapCalculator.computeTileOverlaps(store, 0, boundaries[i - 1],
+                    boundaries[i], engine, tiled).overlapping();
+        }
+
+        assertThat(tiled.toMap()).isEqualTo(whole.toMap());
+        assertThat(tiledOverlapping).isEqualTo(overlapping);
+    }
+
     @Test
     void findMaxPair_whenMapIsEmpty_shouldReturnEmptyOptional() {
         final Map<EmployeePair, Long> input = Map.of();
@@ -169,4 +227,35 @@ public class EmployeeOverlapCalculatorTest {
         assertThat(result.get().getKey()).isIn(pair1, pair3);
     }
 
+    @Test
+    void findTopPairs_shouldReturnLongestOverlapsFirst() {
+        final Map<EmployeePair, Long> input = Map.of(
+                new EmployeePair(1, 2), 30L,
+                new EmployeePair(2, 3), 20L,
+                new EmployeePair(3, 4), 30L,
+                new EmployeePair(4, 5), 5L
+        );
+
+        final List<Map.Entry<EmployeePair, Long>> result = findTopPairs(input, 3);
+
+        assertThat(result).containsExactly(
+                Map.entry(new EmployeePair(1, 2), 30L),
+                Map.entry(new EmployeePair(3, 4), 30L),
+                Map.entry(new EmployeePair(2, 3), 20L));
+    }
+
+    /**
+     * Creates random records spread over a few years, including empty periods and repeated employees.
+     */
+    static List<WorkRecord> randomWorkRecords(final Random random, final int count, final int projects,
+                                              final int employees) {
+        final LocalDate start = LocalDate.of(2015, 1, 1);
+        final List<WorkRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final LocalDate from = start.plusDays(random.nextInt(3_000));
+            final LocalDate to = from.plusDays(random.nextInt(400) - 10);
+            records.add(new WorkRecord(random.nextInt(employees), random.nextInt(projects), from, to));
+        }
+        return records;
+    }
 }
\ No newline at end of file
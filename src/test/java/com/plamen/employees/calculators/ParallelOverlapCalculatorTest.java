@@ -0,0 +1,99 @@
+package com.plamen.employees.calculators;
+
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.metrics.PipelineMetrics;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.plamen.employees.calculators.EmployeeOverlapCalculatorTest.randomWorkRecords;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ParallelOverlapCalculator}
+ */
+public class ParallelOverlapCalculatorTest {
+
+    @AfterEach
+    void tearDown() {
+        PipelineMetrics.disable();
+        PipelineMetrics.reset();
+    }
+
+    @ParameterizedTest
+    @EnumSource(OverlapEngine.class)
+    void computeOverlaps_shouldMatchSequentialResult(final OverlapEngine engine) {
+        final List<WorkRecord> records = randomWorkRecords(new Random(7), 3_000, 40, 200);
+
+        final Map<EmployeePair, Long> expected = EmployeeOverlapCalculator.computeOverlaps(records);
+        final Map<EmployeePair, Long> result = ParallelOverlapCalculator.computeOverlaps(records, engine);
+
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    void computeOverlaps_whenCustomExecutor_shouldMatchSequentialResult() {
+        final List<WorkRecord> records = randomWorkRecords(new Random(11), 1_000, 5, 50);
+
+        try (final ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            final Map<EmployeePair, Long> result =
+                    ParallelOverlapCalculator.computeOverlaps(records, OverlapEngine.SWEEP_LINE, executor);
+
+            assertThat(result).isEqualTo(EmployeeOverlapCalculator.computeOverlaps(records));
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(OverlapEngine.class)
+    void computeOverlaps_whenGiantProject_shouldSplitItAndMatchSequentialResult(final OverlapEngine engine) {
+        // One project with most of the records, which is split into tiles, and many small ones
+        final List<WorkRecord> records = new ArrayList<>(randomWorkRecords(new Random(13), 1_000, 50, 300));
+        randomWorkRecords(new Random(17), 3_000, 1, 300).forEach(record -> records.add(
+                new WorkRecord(record.empId(), 1_000, record.dateFrom(), record.dateTo())));
+        final WorkRecordStore store = WorkRecordStore.of(records);
+        final Map<EmployeePair, Long> expected = EmployeeOverlapCalculator.computeOverlaps(records);
+
+        PipelineMetrics.reset();
+        PipelineMetrics.enable();
+        try (final ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            final Map<EmployeePair, Long> result =
+                    ParallelOverlapCalculator.computeOverlapAccumulator(store, engine, executor).toMap();
+
+            assertThat(result).isEqualTo(expected);
+            // The tiles of the giant project are recorded as a single project
+            assertThat(PipelineMetrics.getProjectCount()).isEqualTo(store.projectCount());
+            assertThat(PipelineMetrics.getLargestProject()).isEqualTo(3_000);
+        }
+    }
+
+    @Test
+    void computeOverlaps_whenCachedThreadPool_shouldMatchSequentialResult() {
+        // A cached pool reports an unbounded maximum pool size, which must not be taken as its parallelism
+        final List<WorkRecord> records = new ArrayList<>(randomWorkRecords(new Random(19), 500, 10, 100));
+        randomWorkRecords(new Random(23), 1_000, 1, 100).forEach(record -> records.add(
+                new WorkRecord(record.empId(), 1_000, record.dateFrom(), record.dateTo())));
+
+        try (final ExecutorService executor = Executors.newCachedThreadPool()) {
+            final Map<EmployeePair, Long> result =
+                    ParallelOverlapCalculator.computeOverlaps(records, OverlapEngine.SWEEP_LINE, executor);
+
+            assertThat(result).isEqualTo(EmployeeOverlapCalculator.computeOverlaps(records));
+        }
+    }
+
+    @Test
+    void computeOverlaps_whenNoRecords_shouldReturnEmptyMap() {
+        assertThat(ParallelOverlapCalculator.computeOverlaps(List.of(), OverlapEngine.PAIRWISE)).isEmpty();
+    }
+}
@@ -7,7 +7,10 @@ import org.junit.jupiter.params.provider.MethodSource;
 import java.time.LocalDate;
 import java.util.stream.Stream;
 
+import static com.plamen.employees.dates.DateFormatter.INVALID_EPOCH_DAY;
 import static com.plamen.employees.dates.DateFormatter.parseDate;
+import static com.plamen.employees.dates.DateFormatter.parseEpochDay;
+import static com.plamen.employees.dates.DateFormatter.toEpochDay;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
@@ -32,6 +35,34 @@ public class DateFormatterTest {
         assertThat(result).isEqualTo(EXPECTED_DATE);
     }
 
+    @ParameterizedTest
+    @MethodSource("dateStrings")
+    void parseEpochDay_whenValidFormat_shouldReturnEpochDay(final String rawDate) {
+        assertThat(parseEpochDay(rawDate)).isEqualTo(LocalDate.of(2024, 5, 18).toEpochDay());
+    }
+
+    @Test
+    void parseDate_whenDayOutOfMonth_shouldAdjustLikeFormatter() {
+        assertThat(parseDate("2023-02-30")).isEqualTo(LocalDate.of(2023, 2, 28));
+        assertThat(parseDate(" 31/04/2024 ")).isEqualTo(LocalDate.of(2024, 4, 30));
+    }
+
+    @Test
+    void toEpochDay_whenValidDate_shouldMatchLocalDate() {
+        for (LocalDate date = LocalDate.of(1896, 1, 1); date.getYear() < 2104; date = date.plusDays(1)) {
+            assertThat(toEpochDay(date.getYear(), date.getMonthValue(), date.getDayOfMonth()))
+                    .isEqualTo(date.toEpochDay());
+        }
+    }
+
+    @Test
+    void toEpochDay_whenInvalidDate_shouldReturnInvalidEpochDay() {
+        assertThat(toEpochDay(2023, 2, 29)).isEqualTo(INVALID_EPOCH_DAY);
+        assertThat(toEpochDay(2024, 13, 1)).isEqualTo(INVALID_EPOCH_DAY);
+        assertThat(toEpochDay(2024, 4, 31)).isEqualTo(INVALID_EPOCH_DAY);
+        assertThat(toEpochDay(0, 1, 1)).isEqualTo(INVALID_EPOCH_DAY);
+    }
+
     private static Stream<String> dateStrings() {
         return Stream.of(
                 "2024-05-18",     // yyyy-MM-dd
@@ -0,0 +1,71 @@
+package com.plamen.employees.dates;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link DetectingDateParser}
+ */
+public class DetectingDateParserTest {
+
+    @Test
+    void parseDate_whenSameFormat_shouldDetectFormat() {
+        final DetectingDateParser parser = new DetectingDateParser(3, 16);
+
+        parser.parseDate("01 Jan 2020");
+        parser.parseDate("02 Feb 2020");
+        assertThat(parser.getDetectedPattern()).isEmpty();
+
+        parser.parseDate("03 Mar 2020");
+        assertThat(parser.getDetectedPattern()).contains("dd MMM yyyy");
+        assertThat(parser.parseDate("18 May 2024")).isEqualTo(LocalDate.of(2024, 5, 18));
+    }
+
+    @Test
+    void parseDate_whenDateDiffersFromDetectedFormat_shouldFallBackToAllFormats() {
+        final DetectingDateParser parser = new DetectingDateParser(1, 16);
+        parser.parseDate("18/05/2024");
+        assertThat(parser.getDetectedPattern()).contains("dd/MM/yyyy");
+
+        assertThat(parser.parseDate("2024-05-19")).isEqualTo(LocalDate.of(2024, 5, 19));
+        assertThat(parser.parseDate("20 May 2024")).isEqualTo(LocalDate.of(2024, 5, 20));
+        assertThat(parser.parseDate("30/02/2024")).isEqualTo(LocalDate.of(2024, 2, 29));
+    }
+
+    @Test
+    void parseDate_whenMixedFormats_shouldNotDetectFormat() {
+        final DetectingDateParser parser = new DetectingDateParser(2, 16);
+
+        parser.parseDate("2024-05-18");
+        parser.parseDate("18 May 2024");
+        parser.parseDate("2024-05-18");
+        parser.parseDate("2024-05-18");
+
+        assertThat(parser.getDetectedPattern()).isEmpty();
+        assertThat(parser.parseDate("18 May 2024")).isEqualTo(LocalDate.of(2024, 5, 18));
+    }
+
+    @Test
+    void parseEpochDay_whenCacheIsFull_shouldStillParse() {
+        final DetectingDateParser parser = new DetectingDateParser(1, 2);
+
+        for (int day = 1; day <= 28; day++) {
+            final String rawDate = "%02d Feb 2021".formatted(day);
+            assertThat(parser.parseEpochDay(rawDate)).isEqualTo(LocalDate.of(2021, 2, day).toEpochDay());
+            assertThat(parser.parseEpochDay(rawDate)).isEqualTo(LocalDate.of(2021, 2, day).toEpochDay());
+        }
+    }
+
+    @Test
+    void parseDate_whenInvalid_shouldThrowException() {
+        final DetectingDateParser parser = new DetectingDateParser();
+
+        assertThatCode(() -> parser.parseDate("invalid-date"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported date format: invalid-date");
+    }
+}
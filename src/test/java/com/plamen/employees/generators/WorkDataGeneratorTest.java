@@ -0,0 +1,119 @@
+package com.plamen.employees.generators;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.parsers.binary.BinaryWorkDataParser;
+import com.plamen.employees.registries.FileWorkDataParserRegistry;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.plamen.employees.enums.FileWorkDataType.BINARY;
+import static com.plamen.employees.enums.FileWorkDataType.CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link WorkDataGenerator}
+ */
+public class WorkDataGeneratorTest {
+
+    private static final WorkDataGeneratorSettings SETTINGS = WorkDataGeneratorSettings.of(5_000)
+            .withProjectCount(200)
+            .withProjectSkew(1.2)
+            .withMixedDateFormats(true)
+            .withNullEndRatio(0.1)
+            .withRepeatRatio(0.2);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeCsv_whenSameSeed_shouldWriteSameData() {
+        final StringWriter first = new StringWriter();
+        final StringWriter second = new StringWriter();
+        final StringWriter otherSeed = new StringWriter();
+
+        new WorkDataGenerator(SETTINGS).writeCsv(first);
+        new WorkDataGenerator(SETTINGS).writeCsv(second);
+        new WorkDataGenerator(SETTINGS.withSeed(7)).writeCsv(otherSeed);
+
+        assertThat(first.toString()).isEqualTo(second.toString()).isNotEqualTo(otherSeed.toString());
+        assertThat(first.toString().lines()).hasSize(5_000);
+    }
+
+    @Test
+    void forEachRow_shouldFollowSettings() {
+        final List<String[]> rows = new ArrayList<>();
+        new WorkDataGenerator(SETTINGS).forEachRow(rows::add);
+
+        final Map<String, Integer> projectSizes = new HashMap<>();
+        final Set<String> assignments = new HashSet<>();
+        int nullEnds = 0;
+        int repeats = 0;
+        for (final String[] row : rows) {
+            projectSizes.merge(row[1], 1, Integer::sum);
+            nullEnds += "NULL".equals(row[3]) ? 1 : 0;
+            repeats += assignments.add(row[0] + "/" + row[1]) ? 0 : 1;
+        }
+
+        assertThat(projectSizes.get("1")).isGreaterThan(projectSizes.getOrDefault("200", 0) * 10);
+        assertThat(nullEnds).isBetween(400, 600);
+        assertThat(repeats).isGreaterThan(800);
+        assertThat(rows).extracting(row -> row[2].length()).contains(10, 11);
+    }
+
+    @Test
+    void main_whenRecordsGivenLast_shouldKeepTheOtherOptions() throws IOException {
+        final Path output = tempDir.resolve("generated.csv");
+
+        WorkDataGenerator.main(new String[]{"--output=" + output, "--projects=3", "--null-ratio=1", "--seed=7",
+                "--records=2000"});
+
+        final List<String> lines = Files.readAllLines(output);
+        assertThat(lines).hasSize(2_000);
+        assertThat(lines).extracting(line -> line.split(",")[1]).containsOnly("1", "2", "3");
+        assertThat(lines).allMatch(line -> line.endsWith(",NULL"));
+    }
+
+    @Test
+    void write_shouldProduceSameRecordsInEveryFormat() {
+        final Path csv = tempDir.resolve("work-data.csv");
+        final Path binary = tempDir.resolve("work-data.bin");
+        final WorkDataGenerator generator = new WorkDataGenerator(SETTINGS);
+
+        generator.write(csv, CSV);
+        generator.write(binary, BINARY);
+
+        final FileWorkDataParserRegistry registry = new FileWorkDataParserRegistry();
+        final List<WorkRecord> fromCsv = registry.getFileWorkDataParser(CSV).getWorkRecordStore(csv.toString())
+                .toWorkRecords();
+        final WorkRecordStore fromBinary = BinaryWorkDataParser.read(binary);
+        final WorkRecordStore.Builder fromSink = WorkRecordStore.builder();
+        generator.generate(fromSink);
+
+        assertThat(fromCsv).hasSize(5_000);
+        assertThat(fromBinary.toWorkRecords()).isEqualTo(fromCsv);
+        assertThat(fromSink.build().toWorkRecords()).isEqualTo(fromCsv);
+    }
+
+    @Test
+    void settings_whenInvalid_shouldThrowException() {
+        assertThatCode(() -> WorkDataGeneratorSettings.of(10).withNullEndRatio(1.5))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("NULL end date ratio must be between 0 and 1: 1.5");
+        assertThatCode(() -> WorkDataGeneratorSettings.of(10).withProjectCount(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("There must be at least one employee and one project.");
+    }
+}
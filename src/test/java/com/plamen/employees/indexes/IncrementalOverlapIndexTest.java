@@ -0,0 +1,73 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IncrementalOverlapIndex}
+ */
+public class IncrementalOverlapIndexTest {
+
+    @Test
+    void add_shouldUpdateTotalsAndMaxPair() {
+        final IncrementalOverlapIndex index = new IncrementalOverlapIndex();
+        assertThat(index.findMaxPair()).isEmpty();
+
+        index.add(new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 3, 1)));
+        index.add(new WorkRecord(2, 100, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 4, 1)));
+        assertThat(index.findMaxPair()).contains(Map.entry(new EmployeePair(1, 2), 30L));
+
+        index.add(new WorkRecord(3, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 3, 31)));
+        assertThat(index.findMaxPair()).contains(Map.entry(new EmployeePair(1, 3), 61L));
+        assertThat(index.getOverlap(3, 2)).isEqualTo(60L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void add_whenRecordsArriveInBatches_shouldMatchFullRecomputation() {
+        final Random random = new Random(17);
+        final List<WorkRecord> records = new ArrayList<>();
+        final IncrementalOverlapIndex index = new IncrementalOverlapIndex();
+
+        for (int batch = 0; batch < 5; batch++) {
+            for (int i = 0; i < 400; i++) {
+                final LocalDate from = LocalDate.of(2018, 1, 1).plusDays(random.nextInt(1_500));
+                final WorkRecord record = new WorkRecord(random.nextInt(60), random.nextInt(8), from,
+                        from.plusDays(random.nextInt(200) - 5));
+                records.add(record);
+                index.add(record);
+            }
+
+            final Map<EmployeePair, Long> expected = EmployeeOverlapCalculator.computeOverlaps(records);
+            assertThat(index.toMap()).isEqualTo(expected);
+            assertThat(index.findMaxPair()).isEqualTo(EmployeeOverlapCalculator.findTopPairs(expected, 1).stream()
+                    .findFirst());
+            assertThat(index.findTopPairs(10)).isEqualTo(EmployeeOverlapCalculator.findTopPairs(expected, 10));
+        }
+    }
+
+    @Test
+    void of_shouldContainAllRecordsOfStore() {
+        final WorkRecordStore store = WorkRecordStore.of(List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+                new WorkRecord(3, 200, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31))));
+
+        final IncrementalOverlapIndex index = IncrementalOverlapIndex.of(store);
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.projectCount()).isEqualTo(2);
+        assertThat(index.findTopPairs(5)).containsExactly(Map.entry(new EmployeePair(1, 2), 31L));
+    }
+}
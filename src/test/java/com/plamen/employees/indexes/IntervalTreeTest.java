@@ -0,0 +1,56 @@
+package com.plamen.employees.indexes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IntervalTree}
+ */
+public class IntervalTreeTest {
+
+    private record Period(long empId, int from, int to) {
+    }
+
+    @Test
+    void forEachOverlapping_shouldMatchLinearScanInStartOrder() {
+        final Random random = new Random(23);
+        final IntervalTree tree = new IntervalTree(1);
+        final List<Period> periods = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            final int from = random.nextInt(5_000);
+            final Period period = new Period(i, from, from + random.nextInt(300));
+            periods.add(period);
+            tree.add(period.empId(), period.from(), period.to());
+        }
+
+        for (int query = 0; query < 200; query++) {
+            final int from = random.nextInt(5_500) - 250;
+            final int to = from + random.nextInt(400);
+
+            final List<Period> found = new ArrayList<>();
+            tree.forEachOverlapping(from, to, (empId, periodFrom, periodTo) ->
+                    found.add(new Period(empId, periodFrom, periodTo)));
+
+            final List<Period> expected = periods.stream()
+                    .filter(period -> period.from() <= to && period.to() >= from)
+                    .toList();
+            assertThat(found).containsExactlyInAnyOrderElementsOf(expected);
+            assertThat(found).isSortedAccordingTo((a, b) -> Integer.compare(a.from(), b.from()));
+        }
+        assertThat(tree.size()).isEqualTo(2_000);
+    }
+
+    @Test
+    void forEachOverlapping_whenEmpty_shouldFindNothing() {
+        final List<Long> found = new ArrayList<>();
+
+        new IntervalTree().forEachOverlapping(0, 100, (empId, from, to) -> found.add(empId));
+
+        assertThat(found).isEmpty();
+    }
+}
@@ -0,0 +1,78 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.dto.PartnerOverlap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link PartnerIndex}
+ */
+public class PartnerIndexTest {
+
+    @Test
+    void findTopPartners_shouldReturnPartnersWithMostDaysFirst() {
+        final PairOverlapAccumulator overlaps = new PairOverlapAccumulator();
+        overlaps.accept(143, 218, 501);
+        overlaps.accept(143, 7, 20);
+        overlaps.accept(9, 143, 20);
+        overlaps.accept(7, 9, 300);
+
+        final PartnerIndex index = PartnerIndex.of(overlaps);
+
+        assertThat(index.employeeCount()).isEqualTo(4);
+        assertThat(index.partnerCount(143)).isEqualTo(3);
+        assertThat(index.findTopPartners(143, 2)).containsExactly(
+                new PartnerOverlap(218, 501), new PartnerOverlap(7, 20));
+        assertThat(index.findPartners(143)).containsExactly(
+                new PartnerOverlap(218, 501), new PartnerOverlap(7, 20), new PartnerOverlap(9, 20));
+        assertThat(index.findPartners(218)).containsExactly(new PartnerOverlap(143, 501));
+        assertThat(index.findPartners(1)).isEmpty();
+        assertThat(index.partnerCount(1)).isZero();
+    }
+
+    @Test
+    void findPartners_shouldMatchScanOfAllPairs() {
+        final Random random = new Random(31);
+        final PairOverlapAccumulator overlaps = new PairOverlapAccumulator();
+        for (int i = 0; i < 5_000; i++) {
+            final int emp1 = random.nextInt(300);
+            final int emp2 = random.nextInt(300);
+            if (emp1 != emp2) {
+                overlaps.accept(emp1, emp2, 1 + random.nextInt(50));
+            }
+        }
+
+        final PartnerIndex index = PartnerIndex.of(overlaps);
+
+        for (int empId = 0; empId < 300; empId++) {
+            final long employee = empId;
+            final List<PartnerOverlap> expected = new ArrayList<>();
+            overlaps.forEach((emp1, emp2, days) -> {
+                if (emp1 == employee || emp2 == employee) {
+                    expected.add(new PartnerOverlap(emp1 == employee ? emp2 : emp1, days));
+                }
+            });
+            expected.sort(Comparator.comparingLong(PartnerOverlap::days).reversed()
+                    .thenComparingLong(PartnerOverlap::partnerId));
+
+            assertThat(index.findPartners(employee)).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void findTopPartners_whenCountIsNotPositive_shouldThrowException() {
+        final PartnerIndex index = PartnerIndex.of(new PairOverlapAccumulator());
+
+        assertThatCode(() -> index.findTopPartners(1, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The number of partners must be positive: 0");
+    }
+}
@@ -0,0 +1,79 @@
+package com.plamen.employees.indexes;
+
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.EmployeePair;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link WindowOverlapIndex}
+ */
+public class WindowOverlapIndexTest {
+
+    @Test
+    void computeOverlaps_shouldClipOverlapsToTheWindow() {
+        final WindowOverlapIndex index = WindowOverlapIndex.of(WorkRecordStore.of(List.of(
+                new WorkRecord(1, 100, LocalDate.of(2021, 6, 1), LocalDate.of(2022, 6, 30)),
+                new WorkRecord(2, 100, LocalDate.of(2021, 1, 1), LocalDate.of(2023, 1, 31)),
+                new WorkRecord(3, 100, LocalDate.of(2019, 1, 1), LocalDate.of(2021, 12, 31)),
+                new WorkRecord(1, 200, LocalDate.of(2022, 12, 1), LocalDate.of(2023, 3, 1)),
+                new WorkRecord(4, 200, LocalDate.of(2022, 12, 15), LocalDate.of(2023, 3, 1)))));
+
+        final Map<EmployeePair, Long> overlaps =
+                index.computeOverlaps(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 12, 31)).toMap();
+
+        assertThat(overlaps).containsExactlyInAnyOrderEntriesOf(Map.of(
+                new EmployeePair(1, 2), 181L,
+                new EmployeePair(1, 4), 17L));
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    @Test
+    void computeOverlaps_shouldMatchRecomputationOfClippedRecords() {
+        final Random random = new Random(23);
+        final List<WorkRecord> records = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            final LocalDate from = LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3_000));
+            records.add(new WorkRecord(random.nextInt(200), random.nextInt(30), from,
+                    from.plusDays(random.nextInt(400))));
+        }
+        final WindowOverlapIndex index = WindowOverlapIndex.of(WorkRecordStore.of(records));
+
+        for (int query = 0; query < 20; query++) {
+            final LocalDate windowFrom = LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3_500));
+            final LocalDate windowTo = windowFrom.plusDays(random.nextInt(500));
+
+            final List<WorkRecord> clipped = new ArrayList<>();
+            for (final WorkRecord record : records) {
+                final LocalDate from = record.dateFrom().isBefore(windowFrom) ? windowFrom : record.dateFrom();
+                final LocalDate to = record.dateTo().isAfter(windowTo) ? windowTo : record.dateTo();
+                if (!to.isBefore(from)) {
+                    clipped.add(new WorkRecord(record.empId(), record.projectId(), from, to));
+                }
+            }
+
+            assertThat(index.computeOverlaps(windowFrom, windowTo).toMap())
+                    .isEqualTo(EmployeeOverlapCalculator.computeOverlaps(clipped));
+        }
+    }
+
+    @Test
+    void computeOverlaps_whenWindowEndsBeforeItStarts_shouldThrowException() {
+        final WindowOverlapIndex index = WindowOverlapIndex.of(WorkRecordStore.of(List.of()));
+
+        assertThat(index.computeOverlaps(LocalDate.of(2022, 1, 1), LocalDate.of(2022, 1, 1)).isEmpty()).isTrue();
+        assertThatCode(() -> index.computeOverlaps(LocalDate.of(2022, 1, 2), LocalDate.of(2022, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The window must not end before it starts: 2022-01-02 - 2022-01-01");
+    }
+}
@@ -0,0 +1,103 @@
+package com.plamen.employees.loaders;
+
+import com.plamen.employees.dto.FileLoadError;
+import com.plamen.employees.dto.WorkDataLoadResult;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.FileWorkDataType;
+import com.plamen.employees.registries.FileWorkDataParserRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static com.plamen.employees.enums.FileWorkDataType.CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WorkDataLoader}
+ */
+public class WorkDataLoaderTest {
+
+    private final WorkDataLoader loader =
+            new WorkDataLoader(new FileWorkDataParserRegistry().getFileWorkDataParser(CSV), 2);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void load_whenDirectoryAndGlob_shouldMergeAllShards() throws IOException {
+        final Path sales = Files.createDirectories(tempDir.resolve("sales"));
+        final Path support = Files.createDirectories(tempDir.resolve("support"));
+        Files.writeString(sales.resolve("part-1.csv"), "1,10,2020-01-01,2020-01-31\n");
+        Files.writeString(sales.resolve("part-2.csv"), "2,10,2020-01-11,2020-02-29\n");
+        Files.writeString(support.resolve("part-1.csv"), "3,20,2021-01-01,2021-12-31\n");
+        Files.writeString(support.resolve("notes.txt"), "not work data");
+
+        final WorkDataLoadResult result = loader.load(sales.toString(), tempDir + "/support/*.csv");
+
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result.loadedFiles()).containsExactly(
+                sales.resolve("part-1.csv").toString(),
+                sales.resolve("part-2.csv").toString(),
+                support.resolve("part-1.csv").toString());
+        assertThat(result.records().toWorkRecords()).containsExactly(
+                new WorkRecord(1, 10, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+                new WorkRecord(2, 10, LocalDate.of(2020, 1, 11), LocalDate.of(2020, 2, 29)),
+                new WorkRecord(3, 20, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 12, 31)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = FileWorkDataType.class, names = {"CSV", "MAPPED_CSV", "PARALLEL_CSV"})
+    void load_whenCompressedResource_shouldMatchPlainResource(final FileWorkDataType type) {
+        final WorkDataLoader typedLoader =
+                new WorkDataLoader(new FileWorkDataParserRegistry().getFileWorkDataParser(type));
+
+        final WorkDataLoadResult plain = typedLoader.load("work-data/work-data-it.csv");
+        final WorkDataLoadResult compressed = typedLoader.load("work-data/work-data-it.csv.gz");
+
+        assertThat(compressed.hasErrors()).isFalse();
+        assertThat(compressed.records().toWorkRecords()).isEqualTo(plain.records().toWorkRecords()).isNotEmpty();
+    }
+
+    @Test
+    void load_whenSomeFilesFail_shouldReportEachErrorAndKeepOtherFiles() throws IOException {
+        final Path valid = Files.writeString(tempDir.resolve("a.csv"), "1,10,2020-01-01,2020-01-31\n");
+        final Path invalidDate = Files.writeString(tempDir.resolve("b.csv"), "2,10,31.01.2020,NULL\n");
+        final Path missing = tempDir.resolve("missing.csv");
+
+        final WorkDataLoadResult result = loader.load(valid.toString(), invalidDate.toString(), missing.toString(),
+                "work-data/malformed.csv");
+
+        assertThat(result.loadedFiles()).containsExactly(valid.toString());
+        assertThat(result.records().size()).isEqualTo(1);
+        assertThat(result.errors()).extracting(FileLoadError::fileName)
+                .containsExactlyInAnyOrder(missing.toString(), invalidDate.toString(), "work-data/malformed.csv");
+        assertThat(result.errors()).filteredOn(error -> error.fileName().equals(missing.toString()))
+                .extracting(FileLoadError::describe)
+                .containsExactly(missing + ": File not found: " + missing);
+    }
+
+    @Test
+    void load_whenAllFilesFail_shouldReportErrorsWithoutRecords() {
+        final Path missing = tempDir.resolve("missing.csv");
+
+        final WorkDataLoadResult result = loader.load(missing.toString(), "work-data/malformed.csv");
+
+        assertThat(result.hasErrors()).isTrue();
+        assertThat(result.loadedFiles()).isEmpty();
+        assertThat(result.records().isEmpty()).isTrue();
+    }
+
+    @Test
+    void load_whenClasspathResource_shouldLoadIt() {
+        final WorkDataLoadResult result = loader.load("work-data.csv");
+
+        assertThat(result.hasErrors()).isFalse();
+        assertThat(result.records().size()).isEqualTo(5);
+    }
+}
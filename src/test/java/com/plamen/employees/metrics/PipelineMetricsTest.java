@@ -0,0 +1,90 @@
+package com.plamen.employees.metrics;
+
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.parsers.csv.CsvWorkRecordsParser;
+import com.plamen.employees.stores.WorkRecordStore;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PipelineMetrics}
+ */
+public class PipelineMetricsTest {
+
+    private static final List<String[]> ROWS = List.of(
+            new String[]{"1", "10", "2020-01-01", "2020-01-31"},
+            new String[]{"2", "10", "2020-01-15", "2020-02-15"},
+            new String[]{"3", "10", "2020-03-01", "2020-03-31"},
+            new String[]{"4", "", "2020-01-01", "2020-01-31"},
+            new String[]{"1", "20", "01 Jan 2020", "NULL"},
+            new String[]{"5", "20", "2020-06-01", "2020-06-30"});
+
+    @BeforeEach
+    void setUp() {
+        PipelineMetrics.reset();
+        PipelineMetrics.enable();
+    }
+
+    @AfterEach
+    void tearDown() {
+        PipelineMetrics.disable();
+        PipelineMetrics.reset();
+    }
+
+    @Test
+    void pipeline_shouldCountRowsProjectsAndPairs() {
+        final WorkRecordStore store =
+                PipelineMetrics.time("load", () -> CsvWorkRecordsParser.createWorkRecordStore(ROWS));
+        final int pairCount =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(store, OverlapEngine.SWEEP_LINE).size();
+        PipelineMetrics.recordPairCount(pairCount);
+
+        assertThat(PipelineMetrics.getRowsRead()).isEqualTo(6);
+        assertThat(PipelineMetrics.getRowsSkipped()).isEqualTo(1);
+        assertThat(PipelineMetrics.getDateFallbacks()).isEqualTo(1);
+        assertThat(PipelineMetrics.getProjectCount()).isEqualTo(2);
+        assertThat(PipelineMetrics.getLargestProject()).isEqualTo(3);
+        assertThat(PipelineMetrics.getPairsVisited()).isEqualTo(4);
+        assertThat(PipelineMetrics.getPairsOverlapping()).isEqualTo(2);
+        assertThat(PipelineMetrics.getPairCount()).isEqualTo(2);
+        assertThat(PipelineMetrics.getSummary())
+                .contains("Phase load (ms)", "Phase sort records (ms)", "Rows skipped", "Distinct employee pairs");
+    }
+
+    @Test
+    void time_shouldEmitFlightRecorderEvents(@TempDir final Path tempDir) throws Exception {
+        final Path file = tempDir.resolve("pipeline.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PhaseEvent.class);
+            recording.enable(ProjectOverlapEvent.class);
+            recording.start();
+
+            PipelineMetrics.time("compute overlaps", () -> EmployeeOverlapCalculator.computeOverlapAccumulator(
+                    CsvWorkRecordsParser.createWorkRecordStore(ROWS), OverlapEngine.PAIRWISE));
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.plamen.employees.Phase"))
+                .extracting(event -> event.getString("phase"))
+                .contains("compute overlaps", "sort records");
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.plamen.employees.ProjectOverlap"))
+                .extracting(event -> event.getLong("projectId"))
+                .containsExactlyInAnyOrder(10L, 20L);
+    }
+}
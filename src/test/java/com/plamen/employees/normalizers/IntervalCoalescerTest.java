@@ -0,0 +1,59 @@
+package com.plamen.employees.normalizers;
+
+import com.plamen.employees.dto.CoalesceResult;
+import com.plamen.employees.dto.WorkRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link IntervalCoalescer}
+ */
+public class IntervalCoalescerTest {
+
+    @Test
+    void coalesce_whenPeriodsOverlapOrTouch_shouldMergeThem() {
+        final CoalesceResult result = IntervalCoalescer.coalesce(List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 15), LocalDate.of(2020, 1, 20)),
+                new WorkRecord(1, 100, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 2, 10)),
+                new WorkRecord(1, 100, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 10))));
+
+        assertThat(result.mergedRecords()).isEqualTo(2);
+        assertThat(result.records().toWorkRecords()).containsExactly(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 10)),
+                new WorkRecord(1, 100, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 10)));
+    }
+
+    @Test
+    void coalesce_whenPeriodsBelongToOtherEmployeesOrProjects_shouldKeepThem() {
+        final List<WorkRecord> records = List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 10), LocalDate.of(2020, 2, 10)),
+                new WorkRecord(1, 200, LocalDate.of(2020, 1, 10), LocalDate.of(2020, 2, 10)));
+
+        final CoalesceResult result = IntervalCoalescer.coalesce(records);
+
+        assertThat(result.mergedRecords()).isZero();
+        assertThat(result.records().toWorkRecords()).containsExactlyInAnyOrderElementsOf(records);
+    }
+
+    @Test
+    void coalesce_whenEmployeesAlternate_shouldMergeEachEmployeeSeparately() {
+        final CoalesceResult result = IntervalCoalescer.coalesce(List.of(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 10)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 5), LocalDate.of(2020, 1, 6)),
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 8), LocalDate.of(2020, 1, 20)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 7), LocalDate.of(2020, 1, 9)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 30), LocalDate.of(2020, 2, 5))));
+
+        assertThat(result.mergedRecords()).isEqualTo(2);
+        assertThat(result.records().toWorkRecords()).containsExactlyInAnyOrder(
+                new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 20)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 5), LocalDate.of(2020, 1, 9)),
+                new WorkRecord(2, 100, LocalDate.of(2020, 1, 30), LocalDate.of(2020, 2, 5)));
+    }
+}
@@ -0,0 +1,121 @@
+package com.plamen.employees.parsers.binary;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.registries.FileWorkDataParserRegistry;
+import com.plamen.employees.stores.WorkRecordStore;
+import com.plamen.employees.writers.BinaryWorkDataWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.plamen.employees.enums.FileWorkDataType.BINARY;
+import static com.plamen.employees.enums.FileWorkDataType.CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link BinaryWorkDataParser}
+ */
+public class BinaryWorkDataParserTest {
+
+    private final FileWorkDataParserRegistry registry = new FileWorkDataParserRegistry();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void getWorkRecordStore_whenWrittenFromCsv_shouldLoadSameRecords() throws IOException {
+        final WorkRecordStore csv = registry.getFileWorkDataParser(CSV).getWorkRecordStore("work-data.csv");
+        final Path file = tempDir.resolve("work-data.bin");
+
+        BinaryWorkDataWriter.write(csv, file);
+        final WorkRecordStore binary = registry.getFileWorkDataParser(BINARY).getWorkRecordStore(file.toString());
+
+        assertThat(Files.size(file)).isEqualTo(BinaryWorkDataFormat.fileSize(csv.size()));
+        assertThat(binary.toWorkRecords()).isEqualTo(csv.toWorkRecords());
+        assertThat(binary.projectCount()).isEqualTo(csv.projectCount());
+    }
+
+    @Test
+    void getWorkRecordStore_whenCompressed_shouldStreamSameRecords() throws IOException {
+        final WorkRecordStore csv = registry.getFileWorkDataParser(CSV).getWorkRecordStore("work-data.csv");
+        final Path file = tempDir.resolve("work-data.bin");
+        final Path compressed = tempDir.resolve("work-data.bin.gz");
+        BinaryWorkDataWriter.write(csv, file);
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            Files.copy(file, outputStream);
+        }
+
+        final WorkRecordStore binary =
+                registry.getFileWorkDataParser(BINARY).getWorkRecordStore(compressed.toString());
+
+        assertThat(binary.toWorkRecords()).isEqualTo(csv.toWorkRecords());
+    }
+
+    @Test
+    void read_whenStreamIsTruncated_shouldThrowException() throws IOException {
+        final Path file = tempDir.resolve("records.bin");
+        BinaryWorkDataWriter.write(WorkRecordStore.of(List.of(
+                new WorkRecord(1, 2, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1)))), file);
+        final byte[] bytes = Files.readAllBytes(file);
+        final byte[] truncated = Arrays.copyOf(bytes, bytes.length - 1);
+        final byte[] padded = Arrays.copyOf(bytes, bytes.length + 1);
+
+        assertThatCode(() -> BinaryWorkDataParser.read(new ByteArrayInputStream(truncated)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Binary work data file is truncated or corrupt.");
+        assertThatCode(() -> BinaryWorkDataParser.read(new ByteArrayInputStream(padded)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Binary work data file is truncated or corrupt.");
+        assertThat(BinaryWorkDataParser.read(new ByteArrayInputStream(bytes)).size()).isEqualTo(1);
+    }
+
+    @Test
+    void read_whenInMemory_shouldLoadSameRecordsAsMappedFile() throws IOException {
+        final WorkRecordStore store = WorkRecordStore.of(List.of(
+                new WorkRecord(Long.MAX_VALUE, 2, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1)),
+                new WorkRecord(-1, 1, LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31))));
+        final Path file = tempDir.resolve("records.bin");
+        BinaryWorkDataWriter.write(store, file);
+
+        final WorkRecordStore mapped = BinaryWorkDataParser.read(file);
+        final WorkRecordStore inMemory = BinaryWorkDataParser.read(ByteBuffer.wrap(Files.readAllBytes(file)));
+
+        assertThat(mapped.toWorkRecords()).isEqualTo(store.toWorkRecords());
+        assertThat(inMemory.toWorkRecords()).isEqualTo(store.toWorkRecords());
+    }
+
+    @Test
+    void read_whenEmptyStore_shouldLoadEmptyStore() {
+        final Path file = tempDir.resolve("empty.bin");
+        BinaryWorkDataWriter.write(WorkRecordStore.builder().build(), file);
+
+        assertThat(BinaryWorkDataParser.read(file).isEmpty()).isTrue();
+    }
+
+    @Test
+    void read_whenInvalidFile_shouldThrowException() throws IOException {
+        final Path text = Files.writeString(tempDir.resolve("text.bin"), "143,12,2013-11-01,2014-01-05");
+        final Path truncated = tempDir.resolve("truncated.bin");
+        BinaryWorkDataWriter.write(WorkRecordStore.of(List.of(
+                new WorkRecord(1, 1, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 1)))), truncated);
+        Files.write(truncated, Arrays.copyOf(Files.readAllBytes(truncated), 30));
+
+        assertThatCode(() -> BinaryWorkDataParser.read(text))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Not a binary work data file.");
+        assertThatCode(() -> BinaryWorkDataParser.read(truncated))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Binary work data file is truncated or corrupt.");
+    }
+}
@@ -1,12 +1,17 @@
 package com.plamen.employees.parsers.csv;
 
 import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordStore;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
+import static com.plamen.employees.parsers.csv.CsvWorkRecordsParser.createRowConsumer;
+import static com.plamen.employees.parsers.csv.CsvWorkRecordsParser.createWorkRecordStore;
 import static com.plamen.employees.parsers.csv.CsvWorkRecordsParser.createWorkRecords;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
@@ -82,4 +87,35 @@ public class CsvWorkRecordsParserTest {
 
         assertThat(workRecords).isEmpty();
     }
+
+    @Test
+    void createWorkRecordStore_shouldMatchCreateWorkRecords() {
+        final List<String[]> input = List.of(
+                new String[]{"143", "12", "2013-11-01", "2014-01-05"},
+                new String[]{"2", "12", "2013-11-01", ""},
+                new String[]{" 218", "10 ", "16/05/2012", "NULL"}
+        );
+
+        final WorkRecordStore store = createWorkRecordStore(input);
+
+        assertThat(store.toWorkRecords()).containsExactly(
+                new WorkRecord(218, 10, LocalDate.of(2012, 5, 16), LocalDate.now()),
+                new WorkRecord(143, 12, LocalDate.of(2013, 11, 1), LocalDate.of(2014, 1, 5)));
+    }
+
+    @Test
+    void createRowConsumer_shouldPassOnValidRowsOneAtATime() {
+        final List<WorkRecord> workRecords = new ArrayList<>();
+        final Consumer<String[]> rowConsumer = createRowConsumer(workRecords::add);
+
+        rowConsumer.accept(new String[]{"143", "12", "2013-11-01", "2014-01-05"});
+        assertThat(workRecords).hasSize(1);
+
+        rowConsumer.accept(new String[]{""});
+        rowConsumer.accept(new String[]{"218", "10", "2012-05-16", "NULL"});
+
+        assertThat(workRecords).containsExactly(
+                new WorkRecord(143, 12, LocalDate.of(2013, 11, 1), LocalDate.of(2014, 1, 5)),
+                new WorkRecord(218, 10, LocalDate.of(2012, 5, 16), LocalDate.now()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+package com.plamen.employees.parsers.csv;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.registries.FileWorkDataParserRegistry;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.plamen.employees.enums.FileWorkDataType.CSV;
+import static com.plamen.employees.enums.FileWorkDataType.MAPPED_CSV;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link MappedCsvWorkRecordsParser}
+ */
+public class MappedCsvWorkRecordsParserTest {
+
+    private final FileWorkDataParserRegistry registry = new FileWorkDataParserRegistry();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parse_whenIsoDates_shouldParseAllRows() throws IOException {
+        final Path file = write("""
+                143,12,2013-11-01,2014-01-05
+                 218 , 10 ,2012-05-16 , null\r
+                
+                2,12,2013-11-01,
+                -7,+8,2024-02-29,2024-03-01""");
+
+        final List<WorkRecord> records = parse(file, false);
+
+        assertThat(records).containsExactly(
+                new WorkRecord(143, 12, LocalDate.of(2013, 11, 1), LocalDate.of(2014, 1, 5)),
+                new WorkRecord(218, 10, LocalDate.of(2012, 5, 16), LocalDate.now()),
+                new WorkRecord(-7, 8, LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1)));
+    }
+
+    @Test
+    void parse_whenOtherDateFormats_shouldFallBackPerLine() {
+        final List<WorkRecord> mapped =
+                registry.getFileWorkDataParser(MAPPED_CSV).getWorkRecords("work-data/work-data-it.csv");
+        final List<WorkRecord> expected =
+                registry.getFileWorkDataParser(CSV).getWorkRecords("work-data/work-data-it.csv");
+
+        assertThat(mapped).isNotEmpty().isEqualTo(expected);
+    }
+
+    @Test
+    void parse_whenHeader_shouldSkipFirstLine() throws IOException {
+        final Path file = write("EmpID,ProjectID,DateFrom,DateTo\n143,12,2013-11-01,2014-01-05\n");
+
+        assertThat(parse(file, true)).containsExactly(
+                new WorkRecord(143, 12, LocalDate.of(2013, 11, 1), LocalDate.of(2014, 1, 5)));
+    }
+
+    @Test
+    void parse_whenQuotedFields_shouldFallBackForTheRestOfTheFile() throws IOException {
+        final Path file = write("""
+                1,100,2020-01-01,2020-02-01
+                "2",100,"2020-01-15","2020-03-01
+                "
+                3,100,2020-01-01,2020-02-01
+                """);
+
+        final List<WorkRecord> records = parse(file, false);
+
+        assertThat(records).hasSize(3);
+        assertThat(records.get(1).empId()).isEqualTo(2);
+        assertThat(records.get(2).empId()).isEqualTo(3);
+    }
+
+    @Test
+    void parse_whenInvalidDate_shouldThrowLikeCsvParser() throws IOException {
+        final Path file = write("143,12,2012-13-02,2014-01-05\n");
+
+        assertThatCode(() -> parse(file, false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported date format: 2012-13-02");
+    }
+
+    @Test
+    void parse_whenSplitIntoRanges_shouldParseEveryLineOnce() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            content.append(i).append(',').append(i % 7).append(",2020-01-01,2020-12-31\n");
+        }
+        final Path file = write(content.toString());
+
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder();
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MappedCsvWorkRecordsParser parser = new MappedCsvWorkRecordsParser(',', builder);
+            final long size = channel.size();
+            for (long start = 0; start < size; start += 997) {
+                assertThat(parser.parse(channel, start, Math.min(start + 997, size), false))
+                        .isEqualTo(MappedCsvWorkRecordsParser.COMPLETED);
+            }
+        }
+
+        final WorkRecordStore store = builder.build();
+        assertThat(store.size()).isEqualTo(1_000);
+        assertThat(store.projectCount()).isEqualTo(7);
+    }
+
+    private List<WorkRecord> parse(final Path file, final boolean hasHeader) {
+        final List<WorkRecord> records = new ArrayList<>();
+        MappedCsvWorkRecordsParser.parse(file, ',', hasHeader, (empId, projectId, from, to) -> records.add(
+                new WorkRecord(empId, projectId, LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to))));
+        return records;
+    }
+
+    private Path write(final String content) throws IOException {
+        return Files.writeString(tempDir.resolve("work-data.csv"), content);
+    }
+}
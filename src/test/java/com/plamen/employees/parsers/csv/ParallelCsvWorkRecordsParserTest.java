@@ -0,0 +1,118 @@
+package com.plamen.employees.parsers.csv;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.generators.WorkDataGenerator;
+import com.plamen.employees.generators.WorkDataGeneratorSettings;
+import com.plamen.employees.stores.WorkRecordSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Unit tests for {@link ParallelCsvWorkRecordsParser}
+ */
+public class ParallelCsvWorkRecordsParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void parse_whenManySmallRanges_shouldMatchSequentialParse() throws IOException {
+        final Path file = tempDir.resolve("work-data.csv");
+        new WorkDataGenerator(WorkDataGeneratorSettings.of(20_000)
+                .withMixedDateFormats(true)
+                .withNullEndRatio(0.1))
+                .writeCsv(file);
+
+        assertThat(parseInRanges(file, false, 4, 4_096))
+                .hasSize(20_000)
+                .containsExactlyInAnyOrderElementsOf(parseSequentially(file, false));
+    }
+
+    @Test
+    void parse_whenQuotedFieldSpansLines_shouldFallBackFromThatRange() throws IOException {
+        final StringBuilder content = new StringBuilder("EmpID,ProjectID,DateFrom,DateTo\n");
+        for (int i = 0; i < 3_000; i++) {
+            content.append(i).append(',').append(i % 11).append(",2020-01-01,2020-12-31\n");
+            if (i == 1_500) {
+                content.append("\"1500\",3,\"2020-01-01\",\"2020-06-30\n\"\n");
+            }
+        }
+        final Path file = Files.writeString(tempDir.resolve("quoted.csv"), content);
+
+        final List<WorkRecord> records = parseInRanges(file, true, 3, 1_024);
+
+        assertThat(records)
+                .hasSize(3_001)
+                .containsExactlyInAnyOrderElementsOf(parseSequentially(file, true));
+    }
+
+    @Test
+    void parse_whenSinkFails_shouldRethrowError() throws IOException {
+        final Path file = Files.writeString(tempDir.resolve("invalid.csv"),
+                "1,1,2020-01-01,2020-02-01\n".repeat(500) + "2,1,2020-13-01,2020-02-01\n");
+
+        assertThatCode(() -> parseInRanges(file, false, 2, 1_024))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unsupported date format: 2020-13-01");
+    }
+
+    @Test
+    void parse_whenInterrupted_shouldStopTheStagesAndRethrow() throws IOException {
+        // More records than fit into the batches, so the parsers wait for batches the interrupted thread never returns
+        final Path file = Files.writeString(tempDir.resolve("large.csv"),
+                "1,1,2020-01-01,2020-02-01\n".repeat(200_000));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                assertThatCode(() -> ParallelCsvWorkRecordsParser.parse(channel, ',', false,
+                        (empId, projectId, from, to) -> Thread.currentThread().interrupt(), 2, 65_536))
+                        .isInstanceOf(RuntimeException.class)
+                        .hasMessage("CSV parsing was interrupted.");
+                assertThat(Thread.interrupted()).isTrue();
+            }
+        });
+    }
+
+    @Test
+    void parse_whenSmallFile_shouldParseSequentially() {
+        final List<WorkRecord> records = new ArrayList<>();
+
+        new ParallelCsvWorkDataParser().forEachWorkRecord("work-data/work-data-it.csv", records::add);
+
+        assertThat(records).isEqualTo(new CsvWorkDataParser().getWorkRecords("work-data/work-data-it.csv"));
+    }
+
+    private static List<WorkRecord> parseInRanges(final Path file, final boolean hasHeader, final int parallelism,
+                                                  final long rangeSize) throws IOException {
+        final List<WorkRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ParallelCsvWorkRecordsParser.parse(channel, ',', hasHeader, collect(records), parallelism, rangeSize);
+        }
+        return records;
+    }
+
+    private static List<WorkRecord> parseSequentially(final Path file, final boolean hasHeader) {
+        final List<WorkRecord> records = new ArrayList<>();
+        MappedCsvWorkRecordsParser.parse(file, ',', hasHeader, collect(records));
+        return records;
+    }
+
+    private static WorkRecordSink collect(final List<WorkRecord> records) {
+        return (empId, projectId, from, to) -> records.add(
+                new WorkRecord(empId, projectId, LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to)));
+    }
+}
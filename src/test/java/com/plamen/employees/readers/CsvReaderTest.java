@@ -2,6 +2,7 @@ package com.plamen.employees.readers;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static com.plamen.employees.readers.CsvReader.readCSV;
@@ -41,6 +42,17 @@ public class CsvReaderTest {
         assertThat(rows.getFirst()).isEqualTo(new String[]{"143", "12", "2013-11-01", "2014-01-05"});
     }
 
+    @Test
+    void readCSV_whenRowConsumer_shouldStreamAllRows() {
+        final List<String[]> rows = new ArrayList<>();
+
+        readCSV(WORK_DATA + "work-data-header.csv", ',', true, rows::add);
+
+        assertThat(rows).containsExactly(
+                new String[]{"143", "12", "2013-11-01", "2014-01-05"},
+                new String[]{"218", "10", "2012-05-16", "NULL"});
+    }
+
     @Test
     void readCSV_whenCsvMalformed_shouldThrowException() {
         assertThatCode(() -> readCSV(WORK_DATA + "malformed.csv", ',', false))
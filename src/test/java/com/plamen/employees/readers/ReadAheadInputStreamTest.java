@@ -0,0 +1,74 @@
+package com.plamen.employees.readers;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link ReadAheadInputStream}
+ */
+public class ReadAheadInputStreamTest {
+
+    @Test
+    void read_shouldReturnSameBytesAsSource() throws IOException {
+        final byte[] data = new byte[100_000];
+        new Random(5).nextBytes(data);
+
+        try (InputStream inputStream = new ReadAheadInputStream(new ByteArrayInputStream(data), 999, 3)) {
+            final ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            copy.write(inputStream.read());
+            inputStream.transferTo(copy);
+
+            assertThat(copy.toByteArray()).isEqualTo(data);
+            assertThat(inputStream.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void read_whenSourceFails_shouldThrowAfterDataReadBefore() throws IOException {
+        final InputStream failingSource = new InputStream() {
+            private int remaining = 10;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining == 0) {
+                    throw new IOException("Disk error");
+                }
+                remaining--;
+                return 'x';
+            }
+        };
+
+        try (InputStream inputStream = new ReadAheadInputStream(failingSource, 4, 2)) {
+            assertThat(inputStream.readNBytes(8)).hasSize(8);
+            assertThatCode(inputStream::readAllBytes)
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Disk error");
+        }
+    }
+
+    @Test
+    void close_whenSourceIsNotExhausted_shouldStopReadingAhead() throws IOException {
+        final InputStream endlessSource = new InputStream() {
+            @Override
+            public int read() {
+                return 0;
+            }
+        };
+
+        final InputStream inputStream = new ReadAheadInputStream(endlessSource, 16, 2);
+        assertThat(inputStream.readNBytes(100)).hasSize(100);
+        inputStream.close();
+
+        assertThatCode(inputStream::read)
+                .isInstanceOf(IOException.class)
+                .hasMessage("Stream closed.");
+    }
+}
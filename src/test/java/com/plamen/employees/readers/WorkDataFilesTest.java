@@ -0,0 +1,74 @@
+package com.plamen.employees.readers;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link WorkDataFiles}
+ */
+public class WorkDataFilesTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void expand_shouldResolveFilesDirectoriesAndGlobs() throws IOException {
+        final Path nested = Files.createDirectories(tempDir.resolve("2024/q1"));
+        final Path top = Files.writeString(tempDir.resolve("b.csv"), "");
+        final Path other = Files.writeString(tempDir.resolve("a.txt"), "");
+        final Path deep = Files.writeString(nested.resolve("c.csv"), "");
+
+        assertThat(WorkDataFiles.expand(top.toString())).containsExactly(top.toString());
+        assertThat(WorkDataFiles.expand(tempDir.toString())).containsExactly(other.toString(), top.toString());
+        assertThat(WorkDataFiles.expand(tempDir + "/*.csv")).containsExactly(top.toString());
+        assertThat(WorkDataFiles.expand(tempDir + "/**.csv")).containsExactly(deep.toString(), top.toString());
+        assertThat(WorkDataFiles.expand(tempDir + "/*/q?/*.csv")).containsExactly(deep.toString());
+    }
+
+    @Test
+    void expand_whenNothingMatches_shouldReturnEmptyList() {
+        assertThat(WorkDataFiles.expand(tempDir.resolve("missing.csv").toString())).isEmpty();
+        assertThat(WorkDataFiles.expand(tempDir + "/missing/*.csv")).isEmpty();
+    }
+
+    @Test
+    void openInputStream_whenCompressed_shouldDecompress() throws IOException {
+        final Path file = tempDir.resolve("work-data.csv.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(file))) {
+            outputStream.write("1,10,2020-01-01,NULL\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (InputStream inputStream = WorkDataFiles.openInputStream(file.toString())) {
+            assertThat(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("1,10,2020-01-01,NULL\n");
+        }
+        assertThat(WorkDataFiles.isCompressed(file.toString())).isTrue();
+        assertThat(WorkDataFiles.resolvePath(file.toString())).isEmpty();
+    }
+
+    @Test
+    void openInputStream_whenNotValidGzip_shouldThrowException() throws IOException {
+        final Path file = Files.writeString(tempDir.resolve("plain.csv.GZ"), "1,10,2020-01-01,NULL\n");
+
+        assertThatCode(() -> WorkDataFiles.openInputStream(file.toString()))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessage("Could not open compressed file: " + file);
+    }
+
+    @Test
+    void expand_whenClasspathResource_shouldKeepName() {
+        assertThat(WorkDataFiles.expand("work-data/work-data-it.csv")).containsExactly("work-data/work-data-it.csv");
+    }
+}
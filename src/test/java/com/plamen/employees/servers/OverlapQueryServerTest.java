@@ -0,0 +1,117 @@
+package com.plamen.employees.servers;
+
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link OverlapQueryServer}
+ */
+public class OverlapQueryServerTest {
+
+    private final AtomicReference<List<WorkRecord>> records = new AtomicReference<>(List.of(
+            new WorkRecord(1, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31)),
+            new WorkRecord(2, 100, LocalDate.of(2020, 1, 11), LocalDate.of(2020, 2, 10)),
+            new WorkRecord(3, 100, LocalDate.of(2020, 1, 21), LocalDate.of(2020, 1, 25))));
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    private OverlapQueryServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = OverlapQueryServer.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+                () -> WorkRecordStore.of(records.get()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        client.close();
+    }
+
+    @Test
+    void queries_shouldAnswerFromTheLoadedOverlaps() throws Exception {
+        assertThat(get("/max").body()).isEqualTo(lines("1, 2, 21"));
+        assertThat(get("/top?k=2").body()).isEqualTo(lines("1, 2, 21", "1, 3, 5"));
+        assertThat(get("/top?k=1000").body()).isEqualTo(lines("1, 2, 21", "1, 3, 5", "2, 3, 5"));
+        assertThat(get("/pair?emp1=3&emp2=1").body()).isEqualTo(lines("1, 3, 5"));
+        assertThat(get("/pair?emp1=1&emp2=99").body()).isEqualTo(lines("1, 99, 0"));
+        assertThat(get("/partners?emp=3").body()).isEqualTo(lines("3, 1, 5", "3, 2, 5"));
+        assertThat(get("/partners?emp=2&k=1").body()).isEqualTo(lines("2, 1, 21"));
+        assertThat(get("/partners?emp=99").statusCode()).isEqualTo(404);
+    }
+
+    @Test
+    void queries_whenWindowIsGiven_shouldCountOnlyDaysInTheWindow() throws Exception {
+        assertThat(get("/max?from=2020-01-20&to=2020-01-24").body()).isEqualTo(lines("1, 2, 5"));
+        assertThat(get("/top?k=5&from=2020-01-23").body()).isEqualTo(lines("1, 2, 9", "1, 3, 3", "2, 3, 3"));
+        assertThat(get("/max?to=2020-01-10").statusCode()).isEqualTo(404);
+        assertThat(get("/max?from=2020-02-30").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void queries_whenInvalid_shouldReturnClientErrors() throws Exception {
+        final HttpResponse<String> missing = get("/pair?emp1=1");
+        assertThat(missing.statusCode()).isEqualTo(400);
+        assertThat(missing.body()).isEqualTo("Missing parameter: emp2");
+
+        assertThat(get("/top?k=0").statusCode()).isEqualTo(400);
+        assertThat(get("/reload").statusCode()).isEqualTo(405);
+    }
+
+    @Test
+    void queries_whenKExceedsThePairs_shouldReturnAllPairs() throws Exception {
+        final String allPairs = lines("1, 2, 21", "1, 3, 5", "2, 3, 5");
+
+        assertThat(get("/top?k=" + Integer.MAX_VALUE).body()).isEqualTo(allPairs);
+        assertThat(get("/top?k=" + Integer.MAX_VALUE + "&from=2020-01-01").body()).isEqualTo(allPairs);
+        assertThat(get("/partners?emp=1&k=" + Integer.MAX_VALUE).body()).isEqualTo(lines("1, 2, 21", "1, 3, 5"));
+    }
+
+    @Test
+    void reload_shouldReplaceTheOverlaps() throws Exception {
+        records.set(List.of(
+                new WorkRecord(4, 200, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 10)),
+                new WorkRecord(5, 200, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 1, 10))));
+
+        final HttpResponse<String> reload = client.send(
+                HttpRequest.newBuilder(uri("/reload")).POST(HttpRequest.BodyPublishers.noBody()).build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertThat(reload.body()).isEqualTo(lines("Loaded 2 records with 1 overlapping pairs."));
+        assertThat(get("/max").body()).isEqualTo(lines("4, 5, 10"));
+        assertThat(get("/pair?emp1=1&emp2=2").body()).isEqualTo(lines("1, 2, 0"));
+
+        records.set(List.of());
+        server.reload();
+        assertThat(get("/max").statusCode()).isEqualTo(404);
+    }
+
+    private HttpResponse<String> get(final String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://localhost:" + server.getPort() + path);
+    }
+
+    private static String lines(final String... lines) {
+        return String.join(System.lineSeparator(), lines) + System.lineSeparator();
+    }
+}
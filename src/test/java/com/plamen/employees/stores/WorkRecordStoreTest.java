@@ -0,0 +1,93 @@
+package com.plamen.employees.stores;
+
+import com.plamen.employees.dto.WorkRecord;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link WorkRecordStore}
+ */
+public class WorkRecordStoreTest {
+
+    @Test
+    void of_shouldSortByProjectAndStartDate() {
+        final WorkRecord first = new WorkRecord(1, 200, LocalDate.of(2021, 1, 1), LocalDate.of(2021, 2, 1));
+        final WorkRecord second = new WorkRecord(2, 100, LocalDate.of(2020, 2, 1), LocalDate.of(2020, 4, 1));
+        final WorkRecord third = new WorkRecord(3, 100, LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 15));
+
+        final WorkRecordStore store = WorkRecordStore.of(List.of(first, second, third));
+
+        assertThat(store.toWorkRecords()).containsExactly(third, second, first);
+        assertThat(store.projectCount()).isEqualTo(2);
+        assertThat(store.projectStart(0)).isZero();
+        assertThat(store.projectEnd(0)).isEqualTo(2);
+        assertThat(store.projectStart(1)).isEqualTo(2);
+        assertThat(store.projectEnd(1)).isEqualTo(3);
+        assertThat(store.projectId(2)).isEqualTo(200L);
+        assertThat(store.fromEpochDay(0)).isEqualTo(LocalDate.of(2020, 1, 1).toEpochDay());
+    }
+
+    @Test
+    void of_whenManyRecords_shouldMatchSortedList() {
+        final Random random = new Random(5);
+        final List<WorkRecord> records = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Few distinct keys, so the sort has to deal with many duplicates
+            final LocalDate from = LocalDate.of(2020, 1, 1).plusDays(random.nextInt(10));
+            records.add(new WorkRecord(i, random.nextInt(5), from, from.plusDays(3)));
+        }
+
+        final WorkRecordStore store = WorkRecordStore.of(records);
+
+        final List<WorkRecord> expected = new ArrayList<>(records);
+        expected.sort(Comparator.comparingLong(WorkRecord::projectId).thenComparing(WorkRecord::dateFrom));
+        assertThat(store.toWorkRecords())
+                .usingElementComparator(Comparator.comparingLong(WorkRecord::projectId)
+                        .thenComparing(WorkRecord::dateFrom))
+                .containsExactlyElementsOf(expected);
+        assertThat(store.toWorkRecords()).containsExactlyInAnyOrderElementsOf(records);
+        assertThat(store.projectCount()).isEqualTo(5);
+    }
+
+    @Test
+    void ofColumns_whenUnsorted_shouldSortColumns() {
+        final WorkRecordStore store = WorkRecordStore.ofColumns(
+                new long[]{1, 2, 3}, new long[]{20, 10, 10}, new int[]{5, 9, 7}, new int[]{6, 10, 8});
+
+        assertThat(store.toWorkRecords()).containsExactly(
+                new WorkRecord(3, 10, LocalDate.ofEpochDay(7), LocalDate.ofEpochDay(8)),
+                new WorkRecord(2, 10, LocalDate.ofEpochDay(9), LocalDate.ofEpochDay(10)),
+                new WorkRecord(1, 20, LocalDate.ofEpochDay(5), LocalDate.ofEpochDay(6)));
+        assertThat(store.projectCount()).isEqualTo(2);
+    }
+
+    @Test
+    void builder_whenEmpty_shouldBuildEmptyStore() {
+        final WorkRecordStore store = WorkRecordStore.builder().build();
+
+        assertThat(store.isEmpty()).isTrue();
+        assertThat(store.projectCount()).isZero();
+    }
+
+    @Test
+    void builder_shouldGrowAndKeepAllRecords() {
+        final WorkRecordStore.Builder builder = WorkRecordStore.builder(1);
+        for (int i = 0; i < 100; i++) {
+            builder.accept(i, 100 - i, i, i + 10);
+        }
+
+        final WorkRecordStore store = builder.build();
+
+        assertThat(store.size()).isEqualTo(100);
+        assertThat(store.projectCount()).isEqualTo(100);
+        assertThat(store.empId(0)).isEqualTo(99L);
+        assertThat(store.toEpochDay(0)).isEqualTo(109);
+    }
+}
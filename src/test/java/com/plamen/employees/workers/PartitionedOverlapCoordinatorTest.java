@@ -0,0 +1,95 @@
+package com.plamen.employees.workers;
+
+import com.plamen.employees.accumulators.PairOverlapAccumulator;
+import com.plamen.employees.calculators.EmployeeOverlapCalculator;
+import com.plamen.employees.dto.WorkRecord;
+import com.plamen.employees.enums.OverlapEngine;
+import com.plamen.employees.stores.WorkRecordStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+
+/**
+ * Unit tests for {@link PartitionedOverlapCoordinator}
+ */
+public class PartitionedOverlapCoordinatorTest {
+
+    @Test
+    void computeOverlaps_whenSeveralWorkers_shouldMatchInProcessTotals() {
+        final WorkRecordStore store = WorkRecordStore.of(randomWorkRecords(new Random(5), 2_000, 40, 120));
+        final PairOverlapAccumulator expected =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(store, OverlapEngine.SWEEP_LINE);
+
+        final PairOverlapAccumulator actual = new PairOverlapAccumulator();
+        PartitionedOverlapCoordinator.computeOverlaps(store, OverlapEngine.SWEEP_LINE, 3, actual);
+
+        assertThat(actual.toMap()).isEqualTo(expected.toMap());
+        assertThat(PartitionedOverlapCoordinator.findTopPairs(store, OverlapEngine.PAIRWISE, 2, 5))
+                .isEqualTo(expected.findTopPairs(5));
+    }
+
+    @Test
+    void computeOverlaps_whenWorkerHeapIsGiven_shouldStartTheWorkersWithIt() {
+        final WorkRecordStore store = WorkRecordStore.of(randomWorkRecords(new Random(9), 500, 10, 50));
+        final PairOverlapAccumulator expected =
+                EmployeeOverlapCalculator.computeOverlapAccumulator(store, OverlapEngine.SWEEP_LINE);
+
+        final PairOverlapAccumulator actual = new PairOverlapAccumulator();
+        PartitionedOverlapCoordinator.computeOverlaps(store, OverlapEngine.SWEEP_LINE, 2, 64, actual);
+
+        assertThat(actual.toMap()).isEqualTo(expected.toMap());
+        // A JVM refuses to start with a heap that small, which shows the heap is passed on
+        assertThatCode(() -> PartitionedOverlapCoordinator.findTopPairs(store, OverlapEngine.SWEEP_LINE, 1, 1, 1))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageStartingWith("Worker 0 failed with exit code");
+    }
+
+    @Test
+    void computeOverlaps_whenNoRecords_shouldReportNothing() {
+        final PairOverlapAccumulator actual = new PairOverlapAccumulator();
+
+        PartitionedOverlapCoordinator.computeOverlaps(WorkRecordStore.of(List.of()), OverlapEngine.SWEEP_LINE, 2,
+                actual);
+
+        assertThat(actual.isEmpty()).isTrue();
+    }
+
+    @Test
+    void partitionOf_shouldSpreadSequentialProjects() {
+        final int[] sizes = new int[4];
+        for (long projectId = 0; projectId < 4_000; projectId++) {
+            sizes[PartitionedOverlapCoordinator.partitionOf(projectId, 4)]++;
+        }
+
+        for (final int size : sizes) {
+            assertThat(size).isBetween(800, 1_200);
+        }
+        assertThat(PartitionedOverlapCoordinator.partitionOf(-7, 3)).isBetween(0, 2);
+    }
+
+    @Test
+    void computeOverlaps_whenWorkersIsNotPositive_shouldThrowException() {
+        assertThatCode(() -> PartitionedOverlapCoordinator.findTopPairs(WorkRecordStore.of(List.of()),
+                OverlapEngine.SWEEP_LINE, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The number of workers must be positive: 0");
+    }
+
+    private static List<WorkRecord> randomWorkRecords(final Random random, final int count, final int projects,
+                                                      final int employees) {
+        final LocalDate start = LocalDate.of(2015, 1, 1);
+        final List<WorkRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final LocalDate from = start.plusDays(random.nextInt(3_000));
+            records.add(new WorkRecord(random.nextInt(employees), random.nextInt(projects), from,
+                    from.plusDays(random.nextInt(400))));
+        }
+        return records;
+    }
+}